@@ -3,103 +3,97 @@ package org.example.healthcare.aspect;
 import org.example.healthcare.aspect.annotation.LogAppointment;
 import org.example.healthcare.aspect.annotation.LogDoctor;
 import org.example.healthcare.aspect.annotation.LogPrescription;
-import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare.aspect.audit.AuditEvent;
+import org.example.healthcare.aspect.audit.AuditLogger;
+import org.example.healthcare.aspect.audit.AuditPlan;
+import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Audit trail for the annotated service methods.
+ * <p>
+ * Only the fields named in the annotation are recorded — never whole argument or result
+ * objects — and the event is handed to {@link AuditLogger}, which formats and writes it off the
+ * request thread. The field plan for each method is resolved once and cached.
+ */
 @Aspect
 @Component
-@Slf4j
+@RequiredArgsConstructor
 public class LoggingAspect {
 
+    private final AuditLogger auditLogger;
+    private final Map<Method, AuditPlan> plans = new ConcurrentHashMap<>();
+
     // ==================== APPOINTMENT ====================
 
     @Around("@annotation(logAppointment)")
     public Object logAppointmentAction(ProceedingJoinPoint joinPoint, LogAppointment logAppointment) throws Throwable {
-        String action = logAppointment.action();
-        Object[] args = joinPoint.getArgs();
-
-        log.info("[APPOINTMENT] Attempting to {} | Args: {}", action, args);
-
-        try {
-            Object result = joinPoint.proceed();
-            log.info("[APPOINTMENT] {} successful | Result: {}", action, result);
-            return result;
-        } catch (Exception e) {
-            log.error("[APPOINTMENT] {} failed | Error: {}", action, e.getMessage());
-            throw e;
-        }
+        return audit(joinPoint, "APPOINTMENT", logAppointment.action(), logAppointment.fields());
     }
 
     // ==================== PRESCRIPTION ====================
 
     @Around("@annotation(logPrescription)")
     public Object logPrescriptionAction(ProceedingJoinPoint joinPoint, LogPrescription logPrescription) throws Throwable {
-        String action = logPrescription.action();
-        Object[] args = joinPoint.getArgs();
-
-        log.info("[PRESCRIPTION] Attempting to {} | Args: {}", action, args);
-
-        try {
-            Object result = joinPoint.proceed();
-            log.info("[PRESCRIPTION] {} successful | Result: {}", action, result);
-            return result;
-        } catch (Exception e) {
-            log.error("[PRESCRIPTION] {} failed | Error: {}", action, e.getMessage());
-            throw e;
-        }
+        return audit(joinPoint, "PRESCRIPTION", logPrescription.action(), logPrescription.fields());
     }
 
     // ==================== DOCTOR ====================
 
+    // Cached reads only reach here on a miss, so cacheAction doubles as the cache outcome
     @Around("@annotation(logDoctor)")
     public Object logDoctorAction(ProceedingJoinPoint joinPoint, LogDoctor logDoctor) throws Throwable {
-        String action = logDoctor.action();
-        String cacheAction = logDoctor.cacheAction();
-        Object[] args = joinPoint.getArgs();
+        String action = "NONE".equals(logDoctor.cacheAction())
+                ? logDoctor.action()
+                : logDoctor.action() + "/CACHE_" + logDoctor.cacheAction();
+        return audit(joinPoint, "DOCTOR", action, logDoctor.fields());
+    }
 
-        // Log cache context BEFORE executing
-        if ("MISS".equals(cacheAction)) {
-            log.info("[DOCTOR] [CACHE MISS] {} — fetching from database | Args: {}", action, args);
-        } else if ("EVICT".equals(cacheAction)) {
-            log.info("[DOCTOR] [CACHE EVICT] {} — cache will be cleared | Args: {}", action, args);
-        } else {
-            log.info("[DOCTOR] Attempting to {} | Args: {}", action, args);
-        }
+    // ==================== HELPERS ====================
 
+    private Object audit(ProceedingJoinPoint joinPoint, String category, String action, String[] fields) throws Throwable {
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
         try {
-            Object result = joinPoint.proceed();
-            log.info("[DOCTOR] {} successful | Result: {}", action, result);
+            result = joinPoint.proceed();
             return result;
-        } catch (Exception e) {
-            log.error("[DOCTOR] {} failed | Error: {}", action, e.getMessage());
-            throw e;
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            AuditPlan plan = plan((MethodSignature) joinPoint.getSignature(), fields);
+            auditLogger.record(new AuditEvent(
+                    System.currentTimeMillis(),
+                    category,
+                    action,
+                    failure == null ? "success" : "failure",
+                    currentActor(),
+                    System.nanoTime() - start,
+                    plan.names(),
+                    plan.extract(joinPoint.getArgs(), result),
+                    // Type only: exception messages can carry emails, names and ids the field plan never lets through
+                    failure == null ? null : failure.getClass().getSimpleName()));
         }
     }
-    // ==================== PERFORMANCE (All Services) ====================
-
-    @Around("execution(* org.example.healthcare.service.*.*(..))")
-    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        long start = System.currentTimeMillis();
 
-        Object result = joinPoint.proceed();
-
-        long duration = System.currentTimeMillis() - start;
-
-        if (duration > 500) {
-            log.warn("[PERFORMANCE] {}.{}() took {}ms (SLOW)",
-                    joinPoint.getSignature().getDeclaringType().getSimpleName(),
-                    joinPoint.getSignature().getName(),
-                    duration);
-        } else {
-            log.debug("[PERFORMANCE] {}.{}() took {}ms",
-                    joinPoint.getSignature().getDeclaringType().getSimpleName(),
-                    joinPoint.getSignature().getName(),
-                    duration);
-        }
+    private AuditPlan plan(MethodSignature signature, String[] fields) {
+        return plans.computeIfAbsent(signature.getMethod(),
+                method -> AuditPlan.compile(method, signature.getParameterNames(), fields));
+    }
 
-        return result;
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
     }
-}
\ No newline at end of file
+}
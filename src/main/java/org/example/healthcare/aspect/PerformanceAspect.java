@@ -0,0 +1,74 @@
+package org.example.healthcare.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.healthcare.config.PerformanceProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public service method into the {@code healthcare.service} timer, tagged by service,
+ * method and outcome, with p50/p95/p99 and a percentile histogram for Prometheus.
+ * <p>
+ * Timings use {@link System#nanoTime()}, which is monotonic, unlike the wall clock. Timers are
+ * built once per (service, method, outcome) and reused, so the hot path is a map lookup and a
+ * record. Calls over their {@link PerformanceProperties} threshold are also logged at WARN.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PerformanceAspect {
+
+    private static final String METRIC = "healthcare.service";
+
+    private final MeterRegistry meterRegistry;
+    private final PerformanceProperties properties;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Duration> thresholds = new ConcurrentHashMap<>();
+
+    @Around("org.example.healthcare.aspect.ServicePointcuts.serviceMethods()")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = "error";
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+            String method = joinPoint.getSignature().getName();
+            timer(service, method, outcome).record(elapsed, TimeUnit.NANOSECONDS);
+
+            Duration threshold = thresholds.computeIfAbsent(service + "." + method,
+                    key -> properties.thresholdFor(service, method));
+            if (elapsed > threshold.toNanos()) {
+                log.warn("[PERFORMANCE] {}.{}() took {}ms (SLOW, threshold {}ms, {})",
+                        service, method, TimeUnit.NANOSECONDS.toMillis(elapsed), threshold.toMillis(), outcome);
+            }
+        }
+    }
+
+    private Timer timer(String service, String method, String outcome) {
+        return timers.computeIfAbsent(service + "." + method + "." + outcome, key -> Timer.builder(METRIC)
+                .description("Service method latency")
+                .tag("service", service)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
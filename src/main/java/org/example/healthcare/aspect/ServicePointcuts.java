@@ -0,0 +1,14 @@
+package org.example.healthcare.aspect;
+
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Join points shared by the service-wide aspects, so tracing and timing always cover the same
+ * methods.
+ */
+public class ServicePointcuts {
+
+    @Pointcut("execution(public * org.example.healthcare.service.*.*(..))")
+    public void serviceMethods() {
+    }
+}
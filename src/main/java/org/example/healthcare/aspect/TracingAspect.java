@@ -0,0 +1,80 @@
+package org.example.healthcare.aspect;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.healthcare.monitoring.IdBuckets;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a span around every public service method, named {@code Service.method}, so a trace
+ * shows which call inside a request spent the time and which JDBC statements and Mongo
+ * commands it issued. {@code doctorId}/{@code patientId} parameters are attached as
+ * {@link IdBuckets} rather than raw ids. Runs outermost so the timing and audit aspects are
+ * inside the span.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private static final Map<String, String> ID_ATTRIBUTES = Map.of(
+            "doctorId", "healthcare.doctor.bucket",
+            "patientId", "healthcare.patient.bucket");
+
+    private final Tracer tracer;
+
+    // Parameter positions of doctorId/patientId, resolved once per method
+    private final Map<Method, List<IdParameter>> idParameters = new ConcurrentHashMap<>();
+
+    @Around("org.example.healthcare.aspect.ServicePointcuts.serviceMethods()")
+    public Object traceServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Span span = tracer.nextSpan()
+                .name(signature.getDeclaringType().getSimpleName() + "." + signature.getName());
+
+        Object[] args = joinPoint.getArgs();
+        for (IdParameter parameter : idParameters.computeIfAbsent(signature.getMethod(),
+                method -> resolve(signature.getParameterNames()))) {
+            if (args[parameter.index()] instanceof Long id) {
+                span.tag(parameter.attribute(), IdBuckets.of(id));
+            }
+        }
+
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span.start())) {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            span.error(ex);
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static List<IdParameter> resolve(String[] parameterNames) {
+        List<IdParameter> parameters = new ArrayList<>(2);
+        for (int i = 0; parameterNames != null && i < parameterNames.length; i++) {
+            String attribute = ID_ATTRIBUTES.get(parameterNames[i]);
+            if (attribute != null) {
+                parameters.add(new IdParameter(i, attribute));
+            }
+        }
+        return parameters;
+    }
+
+    private record IdParameter(int index, String attribute) {
+    }
+}
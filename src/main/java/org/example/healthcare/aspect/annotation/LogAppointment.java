@@ -9,4 +9,5 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface LogAppointment {
     String action();  // "BOOK", "CANCEL", "COMPLETE"
+    String[] fields() default {};  // audited values: "param", "param.property", "result.property"
 }
\ No newline at end of file
@@ -10,4 +10,5 @@ import java.lang.annotation.Target;
 public @interface LogDoctor {
     String action();       // "GET_ALL", "GET_BY_ID", "GET_BY_SPECIALTY", "UPDATE", "DELETE"
     String cacheAction() default "NONE";  // "MISS", "EVICT", "NONE"
+    String[] fields() default {};  // audited values: "param", "param.property", "result.property"
 }
\ No newline at end of file
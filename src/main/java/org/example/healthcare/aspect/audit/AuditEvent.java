@@ -0,0 +1,21 @@
+package org.example.healthcare.aspect.audit;
+
+/**
+ * One audited service call. Field values are captured on the calling thread but only rendered
+ * to text by the {@link AuditLogger} writer thread.
+ */
+public record AuditEvent(
+        long timestamp,
+        String category,
+        String action,
+        String outcome,
+        String actor,
+        long durationNanos,
+        String[] fieldNames,
+        Object[] fieldValues,
+        String error) {
+
+    public boolean failed() {
+        return error != null;
+    }
+}
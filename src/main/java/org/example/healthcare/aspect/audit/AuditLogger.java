@@ -0,0 +1,167 @@
+package org.example.healthcare.aspect.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous, bounded writer for {@link AuditEvent}s.
+ * <p>
+ * The calling thread only offers the event to a fixed-size queue and never blocks. Under
+ * pressure — the queue past its high-water mark — only one in {@code sample-rate} successful
+ * events is kept, while failures are always kept. A full queue drops the event. Every drop is
+ * counted in {@code audit.events}, so a gap in the log shows up as a metric. A single writer
+ * thread renders each event as one {@code key=value} line on the {@code AUDIT} logger.
+ */
+@Component
+@Slf4j
+public class AuditLogger {
+
+    private static final Logger AUDIT = LoggerFactory.getLogger("AUDIT");
+    private static final int MAX_VALUE_LENGTH = 200;
+    private static final int WRITE_BATCH = 256;
+
+    private final BlockingQueue<AuditEvent> queue;
+    private final int highWaterMark;
+    private final int sampleRate;
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    private final Counter queued;
+    private final Counter sampledOut;
+    private final Counter dropped;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public AuditLogger(
+            MeterRegistry meterRegistry,
+            @Value("${application.audit.queue-capacity:10000}") int capacity,
+            @Value("${application.audit.high-water-mark:0.8}") double highWaterMark,
+            @Value("${application.audit.sample-rate:10}") int sampleRate) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.highWaterMark = (int) (capacity * highWaterMark);
+        this.sampleRate = Math.max(1, sampleRate);
+
+        this.queued = counter(meterRegistry, "queued");
+        this.sampledOut = counter(meterRegistry, "sampled_out");
+        this.dropped = counter(meterRegistry, "dropped");
+        meterRegistry.gauge("audit.queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::drainLoop);
+    }
+
+    // Flushes whatever is queued before the context closes
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        List<AuditEvent> rest = new ArrayList<>(queue.size());
+        queue.drainTo(rest);
+        rest.forEach(this::write);
+    }
+
+    // ==================== RECORD (calling thread) ====================
+
+    public void record(AuditEvent event) {
+        if (!event.failed() && queue.size() >= highWaterMark
+                && sampleSequence.incrementAndGet() % sampleRate != 0) {
+            sampledOut.increment();
+            return;
+        }
+        if (queue.offer(event)) {
+            queued.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    // ==================== WRITE (writer thread) ====================
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(WRITE_BATCH);
+        while (running) {
+            try {
+                AuditEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, WRITE_BATCH - 1);
+                batch.forEach(this::write);
+                batch.clear();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // A bad event must not stop the writer
+                log.error("[AUDIT] Failed to write audit events: {}", ex.getMessage(), ex);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(AuditEvent event) {
+        AUDIT.info(format(event));
+    }
+
+    static String format(AuditEvent event) {
+        StringBuilder line = new StringBuilder(160)
+                .append("ts=").append(Instant.ofEpochMilli(event.timestamp()))
+                .append(" category=").append(event.category())
+                .append(" action=").append(event.action())
+                .append(" outcome=").append(event.outcome())
+                .append(" actor=").append(event.actor())
+                .append(" durationMs=").append(TimeUnit.NANOSECONDS.toMillis(event.durationNanos()));
+        String[] names = event.fieldNames();
+        Object[] values = event.fieldValues();
+        for (int i = 0; i < names.length; i++) {
+            line.append(' ').append(names[i]).append('=');
+            appendValue(line, values[i]);
+        }
+        if (event.failed()) {
+            line.append(" error=");
+            appendValue(line, event.error());
+        }
+        return line.toString();
+    }
+
+    private static void appendValue(StringBuilder line, Object value) {
+        String text = String.valueOf(value);
+        if (text.length() > MAX_VALUE_LENGTH) {
+            text = text.substring(0, MAX_VALUE_LENGTH) + "...";
+        }
+        // One event per line, whatever the value contains
+        text = text.replace('\n', ' ').replace('\r', ' ');
+        boolean quote = text.indexOf(' ') >= 0 || text.indexOf('"') >= 0 || text.isEmpty();
+        if (quote) {
+            line.append('"').append(text.replace("\"", "\\\"")).append('"');
+        } else {
+            line.append(text);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("audit.events")
+                .description("Audit events by what happened to them on the calling thread")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.healthcare.aspect.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The fields to audit for one annotated method, resolved once from the annotation's
+ * {@code fields} and the method's parameter names.
+ * <p>
+ * A field is a dotted path rooted at a parameter name or at {@code result}, e.g.
+ * {@code request.doctorId} or {@code result.id}. Each step reads a bean property. Collections
+ * and maps are recorded as their size, never their contents.
+ */
+@Slf4j
+public final class AuditPlan {
+
+    private static final int RESULT = -1;
+    private static final int UNKNOWN = -2;
+
+    private final String[] names;
+    private final int[] roots;
+    private final String[][] paths;
+
+    private AuditPlan(String[] names, int[] roots, String[][] paths) {
+        this.names = names;
+        this.roots = roots;
+        this.paths = paths;
+    }
+
+    public static AuditPlan compile(Method method, String[] parameterNames, String[] fields) {
+        int[] roots = new int[fields.length];
+        String[][] paths = new String[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            String[] parts = fields[i].split("\\.");
+            roots[i] = "result".equals(parts[0])
+                    ? RESULT
+                    : parameterNames == null ? UNKNOWN : Arrays.asList(parameterNames).indexOf(parts[0]);
+            if (roots[i] < RESULT) {
+                // Misconfigured audit fields must not break the business call
+                roots[i] = UNKNOWN;
+                log.warn("[AUDIT] {}.{}() has no parameter '{}' for audit field '{}'",
+                        method.getDeclaringClass().getSimpleName(), method.getName(), parts[0], fields[i]);
+            }
+            paths[i] = Arrays.copyOfRange(parts, 1, parts.length);
+        }
+        return new AuditPlan(fields.clone(), roots, paths);
+    }
+
+    public String[] names() {
+        return names;
+    }
+
+    // Runs on the calling thread, so it only walks getters; rendering happens on the writer thread
+    public Object[] extract(Object[] args, Object result) {
+        Object[] values = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Object value = switch (roots[i]) {
+                case RESULT -> result;
+                case UNKNOWN -> null;
+                default -> args[roots[i]];
+            };
+            for (String property : paths[i]) {
+                if (value == null) {
+                    break;
+                }
+                value = read(value, property);
+            }
+            if (value instanceof Collection<?> collection) {
+                value = collection.size();
+            } else if (value instanceof Map<?, ?> map) {
+                value = map.size();
+            }
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private static Object read(Object target, String property) {
+        // BeanUtils caches the introspection per class
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(target.getClass(), property);
+        if (descriptor == null || descriptor.getReadMethod() == null) {
+            return null;
+        }
+        try {
+            return descriptor.getReadMethod().invoke(target);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.healthcare.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare.dto.response.DoctorResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Adds a newly registered doctor to the cached doctor lists instead of evicting them.
+ * <p>
+ * Each cached list is replaced copy-on-write with a compare-and-set ({@code replace(key, old, new)})
+ * on the native JCache, retried if another writer got there first, so readers only ever see
+ * the complete old list or the complete new one. Lists that are not cached are left alone —
+ * the next read loads them from the database as before. Updates run after commit, so a
+ * rolled-back registration never shows up in the cache.
+ * <p>
+ * The lists are read through {@link #cachedList} rather than {@code @Cacheable}. A read that
+ * missed and loaded before a registration committed would otherwise cache its stale list
+ * after the update above had found nothing to extend. Every registration bumps a generation
+ * first, and a load that sees the generation move drops the entry it just cached.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorCacheUpdater {
+
+    private final CacheManager cacheManager;
+
+    // Bumped after each committed registration, before the cached lists are extended
+    private final AtomicLong generation = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public List<DoctorResponse> cachedList(String cacheName, Object key, Supplier<List<DoctorResponse>> loader) {
+        javax.cache.Cache<Object, Object> cache = nativeCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        long seen = generation.get();
+        if (cache.get(key) instanceof List<?> cached) {
+            return (List<DoctorResponse>) cached;
+        }
+
+        List<DoctorResponse> loaded = List.copyOf(loader.get());
+        cache.putIfAbsent(key, loaded);
+        // The load may predate a registration whose update already ran; drop it unless the update extended it since
+        if (generation.get() != seen) {
+            cache.remove(key, loaded);
+        }
+        return loaded;
+    }
+
+    public void doctorAdded(DoctorResponse doctor) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(doctor);
+                }
+            });
+        } else {
+            apply(doctor);
+        }
+    }
+
+    private void apply(DoctorResponse doctor) {
+        generation.incrementAndGet();
+
+        // getAllDoctors() takes no arguments, so Spring caches it under SimpleKey.EMPTY
+        javax.cache.Cache<Object, Object> allDoctors = nativeCache("allDoctors");
+        if (allDoctors != null) {
+            append(allDoctors, SimpleKey.EMPTY, doctor);
+        }
+
+        // Keys are lower-cased search terms matched with "specialty contains term, ignoring case"
+        javax.cache.Cache<Object, Object> bySpecialty = nativeCache("doctorsBySpecialty");
+        if (bySpecialty != null && doctor.getSpecialty() != null) {
+            String specialty = doctor.getSpecialty().toLowerCase(Locale.ROOT);
+            for (javax.cache.Cache.Entry<Object, Object> entry : bySpecialty) {
+                if (entry.getKey() instanceof String term && specialty.contains(term)) {
+                    append(bySpecialty, term, doctor);
+                }
+            }
+        }
+
+        Cache byId = cacheManager.getCache("doctorById");
+        if (byId != null) {
+            byId.put(doctor.getId(), doctor);
+        }
+        log.debug("[CACHE] Added doctor {} to cached doctor lists", doctor.getId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void append(javax.cache.Cache<Object, Object> cache, Object key, DoctorResponse doctor) {
+        while (true) {
+            Object current = cache.get(key);
+            if (!(current instanceof List<?> list)) {
+                return;
+            }
+            if (list.stream().anyMatch(d -> doctor.getId().equals(((DoctorResponse) d).getId()))) {
+                return;
+            }
+            List<DoctorResponse> updated = new ArrayList<>(list.size() + 1);
+            updated.addAll((List<DoctorResponse>) list);
+            updated.add(doctor);
+            if (cache.replace(key, current, List.copyOf(updated))) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private javax.cache.Cache<Object, Object> nativeCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        return cache != null && cache.getNativeCache() instanceof javax.cache.Cache<?, ?> jcache
+                ? (javax.cache.Cache<Object, Object>) jcache
+                : null;
+    }
+}
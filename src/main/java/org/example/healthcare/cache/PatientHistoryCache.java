@@ -0,0 +1,134 @@
+package org.example.healthcare.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare.dto.response.PatientHistoryResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assembled {@link PatientHistoryResponse} snapshots, validated by version on every read.
+ * <p>
+ * Each patient has a version counter, bumped after commit by any appointment, prescription or
+ * medical-record change for that patient; a global epoch covers changes that touch many
+ * patients at once (e.g. deleting a doctor). A snapshot is stored with the {@link Stamp}
+ * read <em>before</em> it was assembled, so a snapshot built while a write was in flight
+ * carries the old stamp and is discarded on the next read instead of being served stale.
+ * <p>
+ * Memory is bounded by weight (roughly the number of rows in a snapshot), not entry count, so
+ * a few very long histories cannot crowd out the heap. The snapshot holds no caller-specific
+ * data; callers must run their authorization check before {@link #get}.
+ */
+@Component
+@Slf4j
+public class PatientHistoryCache {
+
+    public record Stamp(long epoch, long version) { }
+
+    private record Snapshot(Stamp stamp, PatientHistoryResponse history) { }
+
+    private final Cache<Long, Snapshot> snapshots;
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final int maxTrackedPatients;
+
+    public PatientHistoryCache(
+            MeterRegistry meterRegistry,
+            @Value("${application.history.cache.max-weight:200000}") long maxWeight,
+            @Value("${application.history.cache.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${application.history.cache.max-tracked-patients:100000}") int maxTrackedPatients) {
+        this.maxTrackedPatients = maxTrackedPatients;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long patientId, Snapshot snapshot) -> weigh(snapshot.history()))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "patientHistory");
+    }
+
+    // ==================== READ ====================
+
+    // Take the stamp before assembling a history, then pass it to put()
+    public Stamp stamp(Long patientId) {
+        // Epoch first: a concurrent invalidateAll() then leaves this stamp stale, never falsely fresh
+        long currentEpoch = epoch.get();
+        return new Stamp(currentEpoch, versions.getOrDefault(patientId, 0L));
+    }
+
+    // Null when nothing is cached or the cached snapshot predates a change
+    public PatientHistoryResponse get(Long patientId, Stamp current) {
+        Snapshot snapshot = snapshots.getIfPresent(patientId);
+        if (snapshot == null) {
+            return null;
+        }
+        if (!snapshot.stamp().equals(current)) {
+            snapshots.asMap().remove(patientId, snapshot);
+            return null;
+        }
+        return snapshot.history();
+    }
+
+    public void put(Long patientId, Stamp stamp, PatientHistoryResponse history) {
+        snapshots.put(patientId, new Snapshot(stamp, history));
+    }
+
+    // ==================== INVALIDATE ====================
+
+    public void patientChanged(Long patientId) {
+        afterCommit(() -> bump(patientId));
+    }
+
+    public void invalidateAll() {
+        afterCommit(this::bumpEpoch);
+    }
+
+    private void bump(Long patientId) {
+        versions.merge(patientId, 1L, Long::sum);
+        snapshots.invalidate(patientId);
+        // Versions are only needed to tell snapshots apart; past the cap, start a new epoch instead
+        if (versions.size() > maxTrackedPatients) {
+            bumpEpoch();
+        }
+    }
+
+    private void bumpEpoch() {
+        epoch.incrementAndGet();
+        versions.clear();
+        snapshots.invalidateAll();
+        log.debug("[CACHE] Patient history cache invalidated (epoch {})", epoch.get());
+    }
+
+    // Mongo writes are not part of the JPA transaction; without one the change is already visible
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int weigh(PatientHistoryResponse history) {
+        return 1 + size(history.getEntries()) + size(history.getAppointments()) + size(history.getPrescriptions());
+    }
+
+    private static int size(List<?> rows) {
+        return rows != null ? rows.size() : 0;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.healthcare.config;
+
+import io.micrometer.tracing.Tracer;
+import org.example.healthcare.monitoring.QueryCountingExecutorService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Virtual thread per task for I/O-bound fan-out (history sections). Wrapped so each task
+    // runs with the submitting request's SecurityContext, which CallerGuard and auditing read,
+    // counts its queries towards that request and keeps its spans in the request's trace.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService historyExecutor(Tracer tracer) {
+        return new DelegatingSecurityContextExecutorService(tracer.currentTraceContext().wrap(
+                new QueryCountingExecutorService(
+                        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("history-", 0).factory()))));
+    }
+
+    // Bulk patient import hashes passwords with BCrypt, which is CPU-bound: one platform thread per core
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService importHashingExecutor() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("patient-import-hash-", 0).daemon(true).factory());
+    }
+}
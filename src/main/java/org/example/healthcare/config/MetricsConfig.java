@@ -0,0 +1,9 @@
+package org.example.healthcare.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PerformanceProperties.class)
+public class MetricsConfig {
+}
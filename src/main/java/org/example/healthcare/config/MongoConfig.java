@@ -1,11 +1,33 @@
 package org.example.healthcare.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableMongoAuditing
 @EnableMongoRepositories(basePackages = "org.example.healthcare.repository.nosql")
 public class MongoConfig {
-}
\ No newline at end of file
+
+    // Pool sizing lives next to Hikari's in application.yml and the pool-* profiles. A short
+    // max-wait makes a saturated pool fail fast and show up in mongodb.driver.pool.acquire
+    // instead of holding request threads for the driver's two-minute default.
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolSettings(
+            @Value("${application.mongo.pool.max-size:100}") int maxSize,
+            @Value("${application.mongo.pool.min-size:0}") int minSize,
+            @Value("${application.mongo.pool.max-wait:5s}") Duration maxWait,
+            @Value("${application.mongo.pool.max-connecting:2}") int maxConnecting) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnecting(maxConnecting));
+    }
+}
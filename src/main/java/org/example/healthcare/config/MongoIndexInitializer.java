@@ -0,0 +1,164 @@
+package org.example.healthcare.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
+import org.example.healthcare.util.MongoExplainPlan;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on the Mongo documents (auto-index-creation is off) before
+ * the web server accepts traffic, then checks they exist and that the hot history queries
+ * are served in index order. Single-field indexes left over from before the compound ones
+ * are dropped. Problems are logged as warnings, except for unique indexes: writes rely on
+ * those instead of checking first, so startup fails if one cannot be created or confirmed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer implements SmartInitializingSingleton {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(MedicalRecord.class, Prescription.class);
+
+    // Indexes replaced by the declared ones: the old @Indexed single-field indexes (named after the
+    // property) and the doctor indexes from before the _id tiebreak; each is a prefix of a current index
+    private static final Map<Class<?>, List<String>> SUPERSEDED_INDEXES = Map.of(
+            MedicalRecord.class, List.of("patientId", "doctorId", "doctor_recordDate"),
+            Prescription.class, List.of("patientId", "doctorId", "doctor_prescriptionDate"));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${application.mongo.verify-query-plans:true}")
+    private boolean verifyQueryPlans;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(
+                (MongoMappingContext) mongoTemplate.getConverter().getMappingContext());
+
+        for (Class<?> type : INDEXED_DOCUMENTS) {
+            List<IndexDefinition> declared = new ArrayList<>();
+            resolver.resolveIndexFor(type).forEach(declared::add);
+            ensureIndexes(type, declared);
+            dropSupersededIndexes(type);
+        }
+        if (verifyQueryPlans) {
+            verifyQueryPlans();
+        }
+    }
+
+    private void ensureIndexes(Class<?> type, List<IndexDefinition> declared) {
+        IndexOperations indexOps = mongoTemplate.indexOps(type);
+        for (IndexDefinition index : declared) {
+            String name = indexName(index);
+            try {
+                if (isUnique(index)) {
+                    dropIfNotUnique(indexOps, type, name);
+                }
+                indexOps.createIndex(index);
+            } catch (DataAccessException ex) {
+                if (isUnique(index)) {
+                    // Writes rely on the unique index instead of checking first, so running without it loses the invariant
+                    throw new IllegalStateException("Failed to create unique index " + name + " on "
+                            + type.getSimpleName() + "; resolve duplicate values and restart", ex);
+                }
+                // e.g. an index with the same keys but different options already exists
+                log.error("[MONGO] Failed to create index {} on {}: {}", name, type.getSimpleName(), ex.getMessage());
+            }
+        }
+
+        Map<String, IndexInfo> existing;
+        try {
+            existing = indexOps.getIndexInfo().stream()
+                    .collect(Collectors.toMap(IndexInfo::getName, info -> info));
+        } catch (DataAccessException ex) {
+            if (declared.stream().anyMatch(MongoIndexInitializer::isUnique)) {
+                throw new IllegalStateException("Could not confirm the unique indexes on " + type.getSimpleName(), ex);
+            }
+            log.warn("[MONGO] Could not list indexes on {}: {}", type.getSimpleName(), ex.getMessage());
+            return;
+        }
+        for (IndexDefinition index : declared) {
+            String name = indexName(index);
+            IndexInfo info = name != null ? existing.get(name) : null;
+            if (isUnique(index) && (info == null || !info.isUnique())) {
+                throw new IllegalStateException("Unique index " + name + " is missing on " + type.getSimpleName());
+            }
+            if (name != null && info == null) {
+                log.warn("[MONGO] Expected index {} is missing on {}", name, type.getSimpleName());
+            }
+        }
+    }
+
+    // An index created before the unique flag was declared has the same name, and createIndex rejects the changed options
+    private void dropIfNotUnique(IndexOperations indexOps, Class<?> type, String name) {
+        boolean stale = indexOps.getIndexInfo().stream()
+                .anyMatch(info -> info.getName().equals(name) && !info.isUnique());
+        if (stale) {
+            indexOps.dropIndex(name);
+            log.info("[MONGO] Dropped non-unique index {} on {} to recreate it as unique", name, type.getSimpleName());
+        }
+    }
+
+    private static String indexName(IndexDefinition index) {
+        return (String) index.getIndexOptions().get("name");
+    }
+
+    private static boolean isUnique(IndexDefinition index) {
+        return Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+    }
+
+    // Runs after ensureIndexes, so the compound replacement already exists when the old index goes
+    private void dropSupersededIndexes(Class<?> type) {
+        IndexOperations indexOps = mongoTemplate.indexOps(type);
+        try {
+            for (IndexInfo info : indexOps.getIndexInfo()) {
+                if (SUPERSEDED_INDEXES.getOrDefault(type, List.of()).contains(info.getName())) {
+                    indexOps.dropIndex(info.getName());
+                    log.info("[MONGO] Dropped index {} on {}, superseded by a compound index", info.getName(), type.getSimpleName());
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.warn("[MONGO] Could not drop superseded indexes on {}: {}", type.getSimpleName(), ex.getMessage());
+        }
+    }
+
+    // The queries behind patient history and the doctor views; each must read in index order
+    private void verifyQueryPlans() {
+        explain("medical_records", new Document("patientId", -1L), new Document("recordDate", -1).append("_id", -1));
+        explain("medical_records", new Document("doctorId", -1L), new Document("recordDate", -1).append("_id", -1));
+        explain("prescriptions", new Document("patientId", -1L), new Document("prescriptionDate", -1).append("_id", -1));
+        explain("prescriptions", new Document("doctorId", -1L), new Document("prescriptionDate", -1).append("_id", -1));
+    }
+
+    private void explain(String collection, Document filter, Document sort) {
+        try {
+            MongoExplainPlan plan = MongoExplainPlan.of(
+                    mongoTemplate.getCollection(collection).find(filter).sort(sort).explain());
+            if (plan.hasBlockingSort() || plan.hasCollectionScan()) {
+                log.warn("[MONGO] {} find {} sort {} is not served by an index (indexes used: {})",
+                        collection, filter.keySet(), sort.toJson(), plan.indexNames());
+            } else {
+                log.debug("[MONGO] {} find {} sort {} uses {}", collection, filter.keySet(), sort.toJson(), plan.indexNames());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[MONGO] Could not explain {} query: {}", collection, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.healthcare.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Slow-call thresholds for {@code PerformanceAspect}. A call over its threshold is logged at WARN;
+ * every call is recorded in the service timers regardless.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.performance")
+public class PerformanceProperties {
+
+    // Applies to every service method without its own entry
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    // Keyed by "ServiceName.methodName", e.g. PatientImportService.importPatients: 30s
+    private Map<String, Duration> thresholds = new HashMap<>();
+
+    public Duration thresholdFor(String service, String method) {
+        return thresholds.getOrDefault(service + "." + method, slowThreshold);
+    }
+}
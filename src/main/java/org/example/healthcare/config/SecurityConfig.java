@@ -40,6 +40,8 @@ public class SecurityConfig {
     private static final String APPOINTMENTS_API = "/api/appointments/**";
     private static final String PRESCRIPTIONS_API = "/api/prescriptions/**";
     private static final String MEDICAL_RECORDS_API = "/api/medical-records/**";
+    private static final String ACTUATOR_HEALTH = "/actuator/health/**";
+    private static final String ACTUATOR_PROMETHEUS = "/actuator/prometheus";
 
     // Specific appointment actions (order matters — must match before broad patterns)
     private static final String APPOINTMENT_COMPLETE = "/api/appointments/*/complete";
@@ -84,9 +86,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
 
                         // ── PUBLIC ──────────────────────────────────────────
-                        .requestMatchers(AUTH + "/login").permitAll()
+                        .requestMatchers(AUTH + "/login", AUTH + "/refresh").permitAll()
+                        // Probes carry no token
+                        .requestMatchers(HttpMethod.GET, ACTUATOR_HEALTH).permitAll()
 
                         // ── ADMIN ONLY ─────────────────────────────────────
+                        // Metrics expose endpoint names, pool sizes and traffic volumes; the scraper sends an admin token
+                        .requestMatchers(HttpMethod.GET, ACTUATOR_PROMETHEUS).hasAuthority(ADMIN)
                         .requestMatchers(AUTH + "/register/**").hasAuthority(ADMIN)
                         .requestMatchers(ADMIN_API).hasAuthority(ADMIN)
 
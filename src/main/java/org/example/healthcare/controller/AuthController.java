@@ -1,31 +1,56 @@
 package org.example.healthcare.controller;
 
 import org.example.healthcare.dto.request.LoginRequest;
+import org.example.healthcare.dto.request.RefreshTokenRequest;
 import org.example.healthcare.dto.request.RegisterAdminRequest;
 import org.example.healthcare.dto.request.RegisterDoctorRequest;
 import org.example.healthcare.dto.request.RegisterPatientRequest;
 import org.example.healthcare.dto.response.JwtResponse;
 import org.example.healthcare.dto.response.MessageResponse;
 import org.example.healthcare.service.AuthService;
+import org.example.healthcare.service.PatientImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService authService;
+    private final PatientImportService patientImportService;
 
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest request,
+                                             HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(authService.login(request, httpRequest.getRemoteAddr()));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        authService.logout(authorization.substring("Bearer ".length()),
+                request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok(MessageResponse.builder().message("Logged out successfully").build());
     }
 
     @PostMapping("/register/admin")
@@ -48,4 +73,20 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(MessageResponse.builder().message("Patient registered successfully").build());
     }
-}
\ No newline at end of file
+
+    // Streams one NDJSON result line per input row; each batch is flushed as soon as it commits
+    @PostMapping(value = "/register/patients/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public void importPatients(HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws IOException {
+        PatientImportService.Format format = MediaType.parseMediaType(httpRequest.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? PatientImportService.Format.CSV
+                : PatientImportService.Format.NDJSON;
+        // The status and content type are set only once the header is accepted; a bad header becomes a JSON 400
+        patientImportService.importPatients(httpRequest.getInputStream(), format, () -> {
+            httpResponse.setStatus(HttpStatus.OK.value());
+            httpResponse.setContentType("application/x-ndjson");
+            httpResponse.setCharacterEncoding("UTF-8");
+            return httpResponse.getOutputStream();
+        });
+    }
+}
@@ -2,21 +2,30 @@ package org.example.healthcare.controller;
 
 import org.example.healthcare.dto.request.MedicalRecordRequest;
 import org.example.healthcare.dto.response.MedicalRecordResponse;
+import org.example.healthcare.dto.response.MedicalRecordSummaryResponse;
+import org.example.healthcare.dto.response.MedicalSearchHitResponse;
 import org.example.healthcare.dto.response.MessageResponse;
+import org.example.healthcare.dto.response.PatientHistoryPageResponse;
 import org.example.healthcare.dto.response.PatientHistoryResponse;
+import org.example.healthcare.models.enums.HistorySection;
 import org.example.healthcare.service.MedicalRecordService;
+import org.example.healthcare.service.MedicalSearchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/medical-records")
 @RequiredArgsConstructor
 public class MedicalRecordController {
 
     private final MedicalRecordService medicalRecordService;
+    private final MedicalSearchService medicalSearchService;
 
     // ==================== CREATE (Doctor) ====================
 
@@ -39,6 +48,46 @@ public class MedicalRecordController {
         return ResponseEntity.ok(medicalRecordService.getPatientHistory(patientId));
     }
 
+    @GetMapping("/patient/{patientId}/summary")
+    public ResponseEntity<List<MedicalRecordSummaryResponse>> getPatientRecordSummaries(@PathVariable Long patientId) {
+        return ResponseEntity.ok(medicalRecordService.getPatientRecordSummaries(patientId));
+    }
+
+    @GetMapping("/doctor/{doctorId}/summary")
+    public ResponseEntity<List<MedicalRecordSummaryResponse>> getDoctorRecordSummaries(@PathVariable Long doctorId) {
+        return ResponseEntity.ok(medicalRecordService.getDoctorRecordSummaries(doctorId));
+    }
+
+    @GetMapping("/patient/{patientId}/page")
+    public ResponseEntity<PatientHistoryPageResponse> getPatientHistoryPage(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) Set<HistorySection> sections,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String recordsCursor,
+            @RequestParam(required = false) String appointmentsCursor,
+            @RequestParam(required = false) String prescriptionsCursor) {
+        return ResponseEntity.ok(medicalRecordService.getPatientHistoryPage(
+                patientId, sections, size, recordsCursor, appointmentsCursor, prescriptionsCursor));
+    }
+
+    // ==================== SEARCH ====================
+
+    @GetMapping("/patient/{patientId}/search")
+    public ResponseEntity<List<MedicalSearchHitResponse>> searchPatient(
+            @PathVariable Long patientId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(medicalSearchService.searchPatient(patientId, q, limit));
+    }
+
+    @GetMapping("/doctor/{doctorId}/search")
+    public ResponseEntity<List<MedicalSearchHitResponse>> searchDoctor(
+            @PathVariable Long doctorId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(medicalSearchService.searchDoctor(doctorId, q, limit));
+    }
+
     // ==================== UPDATE (Doctor) ====================
 
     @PutMapping("/{id}")
@@ -0,0 +1,86 @@
+package org.example.healthcare.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.healthcare.dto.response.FlightRecordingResponse;
+import org.example.healthcare.dto.response.LatencyDashboardResponse;
+import org.example.healthcare.dto.response.SlowQueryResponse;
+import org.example.healthcare.monitoring.CacheHitWindow;
+import org.example.healthcare.monitoring.EndpointLatencyWindow;
+import org.example.healthcare.monitoring.SlowQueryLog;
+import org.example.healthcare.monitoring.jfr.FlightRecordings;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/monitoring")
+@RequiredArgsConstructor
+public class MonitoringController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final EndpointLatencyWindow latencyWindow;
+    private final CacheHitWindow cacheHitWindow;
+    private final SlowQueryLog slowQueryLog;
+    private final FlightRecordings flightRecordings;
+
+    // ==================== DASHBOARD ====================
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<LatencyDashboardResponse> getDashboard(@RequestParam(required = false) Integer minutes) {
+        int window = minutes == null ? latencyWindow.windowMinutes() : Math.clamp(minutes, 1, latencyWindow.windowMinutes());
+        return ResponseEntity.ok(LatencyDashboardResponse.builder()
+                .windowMinutes(window)
+                .generatedAt(Instant.now())
+                .endpoints(latencyWindow.summarize(window))
+                .caches(cacheHitWindow.summarize(window))
+                .build());
+    }
+
+    // ==================== SLOW QUERIES ====================
+
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQueryResponse>> getSlowQueries(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(slowQueryLog.top(Math.clamp(limit, 1, MAX_LIMIT)));
+    }
+
+    // ==================== FLIGHT RECORDER ====================
+
+    @PostMapping("/jfr/start")
+    public ResponseEntity<FlightRecordingResponse> startRecording(@RequestParam(defaultValue = "default") String settings) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(flightRecordings.start(settings));
+    }
+
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<FlightRecordingResponse> stopRecording() {
+        return ResponseEntity.ok(flightRecordings.stop());
+    }
+
+    @GetMapping("/jfr")
+    public ResponseEntity<FlightRecordingResponse> getRecording() {
+        return ResponseEntity.ok(flightRecordings.status());
+    }
+
+    @GetMapping("/jfr/download")
+    public ResponseEntity<Resource> downloadRecording() {
+        Path file = flightRecordings.download();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
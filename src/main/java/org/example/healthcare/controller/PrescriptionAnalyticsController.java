@@ -0,0 +1,31 @@
+package org.example.healthcare.controller;
+
+import org.example.healthcare.dto.response.MedicineRankingResponse;
+import org.example.healthcare.models.enums.AnalyticsGrouping;
+import org.example.healthcare.service.PrescriptionAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/analytics/prescriptions")
+@RequiredArgsConstructor
+public class PrescriptionAnalyticsController {
+
+    private final PrescriptionAnalyticsService prescriptionAnalyticsService;
+
+    // groupBy omitted → one overall ranking
+    @GetMapping("/top-medicines")
+    public ResponseEntity<List<MedicineRankingResponse>> topMedicines(
+            @RequestParam(required = false) AnalyticsGrouping groupBy,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(prescriptionAnalyticsService.topMedicines(groupBy, doctorId, from, to, top));
+    }
+}
@@ -1,8 +1,11 @@
 package org.example.healthcare.controller;
 
+import org.example.healthcare.dto.request.BatchPrescriptionRequest;
 import org.example.healthcare.dto.request.PrescriptionRequest;
+import org.example.healthcare.dto.response.BatchItemResultResponse;
 import org.example.healthcare.dto.response.MessageResponse;
 import org.example.healthcare.dto.response.PrescriptionResponse;
+import org.example.healthcare.dto.response.PrescriptionSummaryResponse;
 import org.example.healthcare.service.PrescriptionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +31,13 @@ public class PrescriptionController {
                 .body(prescriptionService.createPrescription(request));
     }
 
+    // One result per item, in request order; 200 even when some items were rejected
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResultResponse>> createPrescriptions(
+            @Valid @RequestBody BatchPrescriptionRequest request) {
+        return ResponseEntity.ok(prescriptionService.createPrescriptions(request));
+    }
+
     // ==================== GET ====================
 
     @GetMapping("/search")
@@ -50,6 +60,16 @@ public class PrescriptionController {
         return ResponseEntity.ok(prescriptionService.getDoctorPrescriptions(doctorId));
     }
 
+    @GetMapping("/patient/{patientId}/summary")
+    public ResponseEntity<List<PrescriptionSummaryResponse>> getPatientPrescriptionSummaries(@PathVariable Long patientId) {
+        return ResponseEntity.ok(prescriptionService.getPatientPrescriptionSummaries(patientId));
+    }
+
+    @GetMapping("/doctor/{doctorId}/summary")
+    public ResponseEntity<List<PrescriptionSummaryResponse>> getDoctorPrescriptionSummaries(@PathVariable Long doctorId) {
+        return ResponseEntity.ok(prescriptionService.getDoctorPrescriptionSummaries(doctorId));
+    }
+
     // ==================== UPDATE (Doctor) ====================
 
     @PutMapping("/{id}")
@@ -0,0 +1,22 @@
+package org.example.healthcare.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchPrescriptionRequest {
+
+    @NotEmpty(message = "At least one prescription is required")
+    @Size(max = 200, message = "At most 200 prescriptions per batch")
+    private List<@Valid PrescriptionRequest> prescriptions;
+}
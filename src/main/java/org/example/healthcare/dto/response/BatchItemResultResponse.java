@@ -0,0 +1,21 @@
+package org.example.healthcare.dto.response;
+
+import org.example.healthcare.models.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchItemResultResponse {
+
+    // Position in the request list
+    private int index;
+    private Long appointmentId;
+    private BatchItemStatus status;
+    private PrescriptionResponse prescription;
+    private String message;
+}
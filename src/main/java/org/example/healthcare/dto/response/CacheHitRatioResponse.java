@@ -0,0 +1,18 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheHitRatioResponse {
+
+    private String cache;
+    private long hits;
+    private long misses;
+    private Double hitRatio;
+}
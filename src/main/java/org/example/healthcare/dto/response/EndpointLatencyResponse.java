@@ -0,0 +1,25 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One endpoint over the dashboard window; "app" time is total minus time waiting on the databases
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EndpointLatencyResponse {
+
+    private String endpoint;
+    private long requests;
+    private double requestsPerSecond;
+    private double errorRate;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double maxMillis;
+    private double avgDbMillis;
+    private double avgAppMillis;
+}
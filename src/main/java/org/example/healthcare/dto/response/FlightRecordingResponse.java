@@ -0,0 +1,22 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightRecordingResponse {
+
+    private long id;
+    private String state;
+    private String settings;
+    private Instant startedAt;
+    private Instant stoppedAt;
+    private Long sizeBytes;
+}
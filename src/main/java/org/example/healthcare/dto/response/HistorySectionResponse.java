@@ -0,0 +1,19 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistorySectionResponse<T> {
+
+    private List<T> items;
+    // Pass back as this section's cursor to get older items; null when there are none
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package org.example.healthcare.dto.response;
+
+import org.example.healthcare.models.enums.ImportRowStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowResultResponse {
+
+    private int row;
+    private String username;
+    private ImportRowStatus status;
+    private Long patientId;
+    private String message;
+}
@@ -14,6 +14,11 @@ public class JwtResponse {
 
     private String token;
 
+    private String refreshToken;
+
+    // Access token lifetime in seconds — clients refresh before it runs out
+    private Long expiresIn;
+
     @Builder.Default
     private String type = "Bearer";
 
@@ -0,0 +1,21 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LatencyDashboardResponse {
+
+    private int windowMinutes;
+    private Instant generatedAt;
+    private List<EndpointLatencyResponse> endpoints;
+    private List<CacheHitRatioResponse> caches;
+}
@@ -0,0 +1,23 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// List row for a medical record; the description comes from the detail endpoint
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MedicalRecordSummaryResponse {
+
+    private String id;
+    private Long patientId;
+    private String patientName;
+    private String doctorName;
+    private LocalDate recordDate;
+    private String title;
+}
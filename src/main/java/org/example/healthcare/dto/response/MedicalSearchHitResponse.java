@@ -0,0 +1,30 @@
+package org.example.healthcare.dto.response;
+
+import org.example.healthcare.models.enums.SearchHitType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MedicalSearchHitResponse {
+
+    private SearchHitType type;
+    private String id;
+    private Long patientId;
+    private String patientName;
+    private Long doctorId;
+    private String doctorName;
+    private LocalDate date;
+    // Record title, or prescription diagnosis
+    private String title;
+    // Prescriptions only
+    private List<String> medicines;
+    private float score;
+}
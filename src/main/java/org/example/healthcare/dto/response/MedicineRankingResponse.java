@@ -0,0 +1,21 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MedicineRankingResponse {
+
+    // Doctor id, "yyyy-MM" month or lower-cased diagnosis; "all" when ungrouped
+    private String group;
+    // Doctor name or diagnosis as written; null when ungrouped
+    private String groupName;
+    private List<MedicineCountResponse> medicines;
+}
@@ -0,0 +1,20 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientHistoryPageResponse {
+
+    private Long patientId;
+    private String patientName;
+    // Sections that were not requested are null
+    private HistorySectionResponse<MedicalRecordResponse> entries;
+    private HistorySectionResponse<AppointmentResponse> appointments;
+    private HistorySectionResponse<PrescriptionResponse> prescriptions;
+}
@@ -0,0 +1,24 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// List row for a prescription; medicines and instructions come from the detail endpoint
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrescriptionSummaryResponse {
+
+    private String id;
+    private Long appointmentId;
+    private String patientName;
+    private String doctorName;
+    private LocalDate prescriptionDate;
+    private LocalDate appointmentDate;
+    private String diagnosis;
+}
@@ -0,0 +1,24 @@
+package org.example.healthcare.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One statement shape from the slow-query log, aggregated over its captured executions
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlowQueryResponse {
+
+    private String database;
+    private String shape;
+    private int count;
+    private double maxMillis;
+    private double avgMillis;
+    private long maxRows;
+    private Instant lastSeen;
+}
@@ -0,0 +1,8 @@
+package org.example.healthcare.exception;
+
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.healthcare.mapper;
 
 import org.example.healthcare.dto.response.MedicalRecordResponse;
+import org.example.healthcare.dto.response.MedicalRecordSummaryResponse;
 import org.example.healthcare.models.nosql.MedicalRecord;
 import org.springframework.stereotype.Component;
 
@@ -18,4 +19,16 @@ public class MedicalRecordMapper {
                 .description(record.getDescription())
                 .build();
     }
+
+    // Expects a document loaded with the summary projection
+    public MedicalRecordSummaryResponse toSummary(MedicalRecord record) {
+        return MedicalRecordSummaryResponse.builder()
+                .id(record.getId())
+                .patientId(record.getPatientId())
+                .patientName(record.getPatientName())
+                .doctorName(record.getDoctorName())
+                .recordDate(record.getRecordDate())
+                .title(record.getTitle())
+                .build();
+    }
 }
@@ -1,6 +1,7 @@
 package org.example.healthcare.mapper;
 
 import org.example.healthcare.dto.response.PrescriptionResponse;
+import org.example.healthcare.dto.response.PrescriptionSummaryResponse;
 import org.example.healthcare.models.nosql.Prescription;
 import org.springframework.stereotype.Component;
 
@@ -20,4 +21,17 @@ public class PrescriptionMapper {
                 .instructions(prescription.getInstructions())
                 .build();
     }
+
+    // Expects a document loaded with the summary projection
+    public PrescriptionSummaryResponse toSummary(Prescription prescription) {
+        return PrescriptionSummaryResponse.builder()
+                .id(prescription.getId())
+                .appointmentId(prescription.getAppointmentId())
+                .patientName(prescription.getPatientName())
+                .doctorName(prescription.getDoctorName())
+                .prescriptionDate(prescription.getPrescriptionDate())
+                .appointmentDate(prescription.getAppointmentDate())
+                .diagnosis(prescription.getDiagnosis())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package org.example.healthcare.models.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    REJECTED,
+    DUPLICATE,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package org.example.healthcare.models.enums;
+
+public enum HistorySection {
+    RECORDS,
+    APPOINTMENTS,
+    PRESCRIPTIONS
+}
@@ -0,0 +1,6 @@
+package org.example.healthcare.models.enums;
+
+public enum SearchHitType {
+    MEDICAL_RECORD,
+    PRESCRIPTION
+}
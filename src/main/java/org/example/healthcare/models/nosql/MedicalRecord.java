@@ -4,14 +4,23 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Document(collection = "medical_records")
+// Equality on the owner, then the sort key: history reads and keyset pages are a single index range scan.
+// The compound indexes also serve plain patientId/doctorId lookups, so no single-field indexes are kept.
+@CompoundIndexes({
+        @CompoundIndex(name = "patient_recordDate_id", def = "{'patientId': 1, 'recordDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "doctor_recordDate_id", def = "{'doctorId': 1, 'recordDate': -1, '_id': -1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,10 +30,8 @@ public class MedicalRecord {
     @Id
     private String id;
 
-    @Indexed
     private Long patientId;
 
-    @Indexed
     private Long doctorId;
 
     private String doctorName;
@@ -32,11 +39,18 @@ public class MedicalRecord {
 
     private LocalDate recordDate;
 
+    // Full-text search: a title match ranks above a match in the body
+    @TextIndexed(weight = 3)
     private String title;
 
+    @TextIndexed
     @Field("description")
     private String description;
 
+    // Relevance of a text search hit; read-only, never stored
+    @TextScore
+    private Float score;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
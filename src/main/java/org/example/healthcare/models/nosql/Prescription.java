@@ -5,8 +5,12 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,6 +18,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "prescriptions")
+// Same layout as medical_records: owner first, then the history sort key
+@CompoundIndexes({
+        @CompoundIndex(name = "patient_prescriptionDate_id", def = "{'patientId': 1, 'prescriptionDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "doctor_prescriptionDate_id", def = "{'doctorId': 1, 'prescriptionDate': -1, '_id': -1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,29 +32,36 @@ public class Prescription {
     @Id
     private String id;
 
-    @Indexed
+    // At most one prescription per appointment, enforced by the database
+    @Indexed(unique = true)
     private Long appointmentId;
 
-    @Indexed
     private Long patientId;
 
-    @Indexed
     private Long doctorId;
 
     private String doctorName;
     private String patientName;
 
+    // Date-range $match in prescription analytics
+    @Indexed
     private LocalDate prescriptionDate;
 
     private LocalDate appointmentDate;
 
+    @TextIndexed
     @Builder.Default
     private List<String> medicines = new ArrayList<>();
 
+    @TextIndexed(weight = 3)
     private String diagnosis;
 
     private String instructions;
 
+    // Relevance of a text search hit; read-only, never stored
+    @TextScore
+    private Float score;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -0,0 +1,56 @@
+package org.example.healthcare.models.sql;
+
+import org.example.healthcare.models.enums.NameChangeStatus;
+import org.example.healthcare.models.enums.NameSubjectType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Outbox row written in the same transaction as a doctor/patient rename
+@Entity
+@Table(name = "name_change_events",
+        indexes = @Index(name = "idx_name_change_events_due", columnList = "status, nextAttemptAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NameChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private NameSubjectType subjectType;
+
+    @Column(nullable = false)
+    private Long subjectId;
+
+    // Name at the time of the rename, for auditing; the worker copies the current name
+    @Column(nullable = false)
+    private String newName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private NameChangeStatus status = NameChangeStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+}
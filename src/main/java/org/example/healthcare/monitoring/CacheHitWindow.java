@@ -0,0 +1,115 @@
+package org.example.healthcare.monitoring;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.healthcare.dto.response.CacheHitRatioResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache hit ratios over the dashboard window.
+ * <p>
+ * The {@code cache.gets} meters (Spring's JCache caches, with Ehcache statistics enabled, and
+ * the patient history cache) only count since startup. A snapshot is taken every minute, and
+ * a window's ratio is the difference between the live counts and the snapshot from the start
+ * of the window.
+ */
+@Component
+public class CacheHitWindow {
+
+    private static final String METRIC = "cache.gets";
+
+    private final MeterRegistry meterRegistry;
+    private final int windowMinutes;
+    private final LongSupplier clock;
+    private final Deque<Snapshot> snapshots = new ArrayDeque<>();
+
+    @Autowired
+    public CacheHitWindow(MeterRegistry meterRegistry,
+                          @Value("${application.monitoring.dashboard.window-minutes:15}") int windowMinutes) {
+        this(meterRegistry, windowMinutes, System::currentTimeMillis);
+    }
+
+    CacheHitWindow(MeterRegistry meterRegistry, int windowMinutes, LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.windowMinutes = windowMinutes;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+    public synchronized void snapshot() {
+        snapshots.addLast(new Snapshot(clock.getAsLong(), read()));
+        while (snapshots.size() > windowMinutes + 1) {
+            snapshots.removeFirst();
+        }
+    }
+
+    public synchronized List<CacheHitRatioResponse> summarize(int minutes) {
+        long since = clock.getAsLong() - TimeUnit.MINUTES.toMillis(minutes);
+        // Latest snapshot taken no later than the window start, else the oldest one kept
+        Map<String, long[]> baseline = null;
+        for (Snapshot snapshot : snapshots) {
+            if (snapshot.takenAt() > since && baseline != null) {
+                break;
+            }
+            baseline = snapshot.counts();
+        }
+        if (baseline == null) {
+            baseline = Map.of();
+        }
+
+        List<CacheHitRatioResponse> ratios = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : read().entrySet()) {
+            long[] start = baseline.getOrDefault(entry.getKey(), new long[2]);
+            long hits = entry.getValue()[0] - start[0];
+            long misses = entry.getValue()[1] - start[1];
+            ratios.add(CacheHitRatioResponse.builder()
+                    .cache(entry.getKey())
+                    .hits(hits)
+                    .misses(misses)
+                    .hitRatio(hits + misses == 0 ? null : (double) hits / (hits + misses))
+                    .build());
+        }
+        ratios.sort(Comparator.comparing(CacheHitRatioResponse::getCache));
+        return ratios;
+    }
+
+    // cache name -> {hits, misses}
+    private Map<String, long[]> read() {
+        Map<String, long[]> counts = new HashMap<>();
+        for (Meter meter : meterRegistry.find(METRIC).meters()) {
+            String cache = meter.getId().getTag("cache");
+            String result = meter.getId().getTag("result");
+            if (cache == null || result == null) {
+                continue;
+            }
+            long value = 0;
+            for (Measurement measurement : meter.measure()) {
+                value += (long) measurement.getValue();
+            }
+            long[] pair = counts.computeIfAbsent(cache, key -> new long[2]);
+            if ("hit".equals(result)) {
+                pair[0] += value;
+            } else if ("miss".equals(result)) {
+                pair[1] += value;
+            }
+        }
+        return counts;
+    }
+
+    private record Snapshot(long takenAt, Map<String, long[]> counts) {
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.healthcare.monitoring;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.ConnectionPoolListener;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Hooks the monitoring listeners into both databases: every {@link QueryExecutionListener} bean
+ * sees each JDBC statement through a datasource-proxy wrapper, and every {@link CommandListener}
+ * bean sees each Mongo command; {@link MethodExecutionListener} beans also see calls on result
+ * sets, and {@link ConnectionPoolListener} beans see the Mongo pool. New listeners only need to
+ * be declared as beans.
+ */
+@Configuration
+public class DataSourceMonitoringConfig {
+
+    // Static: a BeanPostProcessor is created before regular beans; listeners are resolved lazily
+    @Bean
+    public static BeanPostProcessor monitoredDataSourcePostProcessor(ObjectProvider<QueryExecutionListener> listeners,
+                                                                     ObjectProvider<MethodExecutionListener> methodListeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                listeners.orderedStream().forEach(builder::listener);
+                List<MethodExecutionListener> onMethods = methodListeners.orderedStream().toList();
+                if (!onMethods.isEmpty()) {
+                    // Result sets are only proxied when something needs to watch them being read
+                    builder.proxyResultSet();
+                    onMethods.forEach(builder::methodListener);
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer monitoredMongoClient(ObjectProvider<CommandListener> listeners,
+                                                                     ObjectProvider<ConnectionPoolListener> poolListeners) {
+        return settings -> {
+            listeners.orderedStream().forEach(settings::addCommandListener);
+            settings.applyToConnectionPoolSettings(pool ->
+                    poolListeners.orderedStream().forEach(pool::addConnectionPoolListener));
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.healthcare.monitoring;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SynchronizedHistogram;
+import org.example.healthcare.dto.response.EndpointLatencyResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process latency history per endpoint for the admin dashboard, independent of any external
+ * monitoring stack.
+ * <p>
+ * Each endpoint keeps one slot per minute in a ring of {@code window-minutes} slots. A slot
+ * holds an HDR histogram of request latency (microseconds, two significant digits, grown on
+ * demand) plus request, error and database-time counters. A stale slot is replaced rather than
+ * cleared, so recording never waits on a reader; a request that read the clock just before the
+ * ring moved past its minute is dropped rather than replacing the newer slot. A summary merges
+ * the slots inside the requested window.
+ */
+@Component
+public class EndpointLatencyWindow {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final int windowMinutes;
+    private final LongSupplier clock;
+    private final Map<String, AtomicReferenceArray<Minute>> endpoints = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EndpointLatencyWindow(@Value("${application.monitoring.dashboard.window-minutes:15}") int windowMinutes) {
+        this(windowMinutes, System::currentTimeMillis);
+    }
+
+    EndpointLatencyWindow(int windowMinutes, LongSupplier clock) {
+        this.windowMinutes = windowMinutes;
+        this.clock = clock;
+    }
+
+    public int windowMinutes() {
+        return windowMinutes;
+    }
+
+    public void record(String endpoint, long elapsedNanos, long databaseNanos, boolean error) {
+        long minute = TimeUnit.MILLISECONDS.toMinutes(clock.getAsLong());
+        AtomicReferenceArray<Minute> slots = endpoints.computeIfAbsent(endpoint,
+                key -> new AtomicReferenceArray<>(windowMinutes));
+        int index = (int) (minute % windowMinutes);
+
+        Minute slot = slots.get(index);
+        while (slot == null || slot.minute < minute) {
+            Minute fresh = new Minute(minute);
+            if (slots.compareAndSet(index, slot, fresh)) {
+                slot = fresh;
+            } else {
+                slot = slots.get(index);
+            }
+        }
+        if (slot.minute == minute) {
+            slot.record(elapsedNanos, databaseNanos, error);
+        }
+    }
+
+    // Busiest endpoints first
+    public List<EndpointLatencyResponse> summarize(int minutes) {
+        int window = Math.clamp(minutes, 1, windowMinutes);
+        long now = clock.getAsLong();
+        long currentMinute = TimeUnit.MILLISECONDS.toMinutes(now);
+        // The current minute is only partly over
+        double seconds = (window - 1) * 60.0 + (now % 60_000) / 1000.0;
+
+        List<EndpointLatencyResponse> summaries = new ArrayList<>();
+        endpoints.forEach((endpoint, slots) -> {
+            Histogram latency = new Histogram(SIGNIFICANT_DIGITS);
+            long errors = 0;
+            long totalNanos = 0;
+            long databaseNanos = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                Minute slot = slots.get(i);
+                if (slot == null || slot.minute <= currentMinute - window) {
+                    continue;
+                }
+                latency.add(slot.latency.copy());
+                errors += slot.errors.sum();
+                totalNanos += slot.totalNanos.sum();
+                databaseNanos += slot.databaseNanos.sum();
+            }
+            long requests = latency.getTotalCount();
+            if (requests > 0) {
+                summaries.add(summarize(endpoint, latency, requests, errors, totalNanos, databaseNanos, seconds));
+            }
+        });
+        summaries.sort(Comparator.comparingLong(EndpointLatencyResponse::getRequests).reversed());
+        return summaries;
+    }
+
+    private static EndpointLatencyResponse summarize(String endpoint, Histogram latency, long requests, long errors,
+                                                     long totalNanos, long databaseNanos, double seconds) {
+        double avgDb = databaseNanos / 1e6 / requests;
+        double avgTotal = totalNanos / 1e6 / requests;
+        return EndpointLatencyResponse.builder()
+                .endpoint(endpoint)
+                .requests(requests)
+                .requestsPerSecond(requests / Math.max(seconds, 1.0))
+                .errorRate((double) errors / requests)
+                .p50Millis(latency.getValueAtPercentile(50) / 1000.0)
+                .p95Millis(latency.getValueAtPercentile(95) / 1000.0)
+                .p99Millis(latency.getValueAtPercentile(99) / 1000.0)
+                .maxMillis(latency.getMaxValue() / 1000.0)
+                .avgDbMillis(avgDb)
+                // History fan-out overlaps database calls, so database time can exceed the total
+                .avgAppMillis(Math.max(avgTotal - avgDb, 0))
+                .build();
+    }
+
+    // ==================== MINUTE ====================
+
+    private static final class Minute {
+
+        private final long minute;
+        private final SynchronizedHistogram latency = new SynchronizedHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder databaseNanos = new LongAdder();
+
+        private Minute(long minute) {
+            this.minute = minute;
+        }
+
+        private void record(long elapsedNanos, long dbNanos, boolean error) {
+            latency.recordValue(Math.max(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), 1));
+            totalNanos.add(elapsedNanos);
+            databaseNanos.add(dbNanos);
+            if (error) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.healthcare.monitoring;
+
+/**
+ * Maps doctor and patient ids onto a fixed set of buckets for span attributes and events.
+ * <p>
+ * A raw id would give every patient its own attribute value, which tracing backends index and
+ * bill per distinct value; a bucket still shows whether slowness follows particular
+ * subjects (e.g. one doctor with a huge schedule) while keeping the value set at {@value #BUCKETS}.
+ */
+public final class IdBuckets {
+
+    public static final int BUCKETS = 64;
+
+    private static final String[] NAMES = new String[BUCKETS];
+
+    static {
+        for (int i = 0; i < BUCKETS; i++) {
+            NAMES[i] = String.format("b%02d", i);
+        }
+    }
+
+    private IdBuckets() {
+    }
+
+    public static String of(Long id) {
+        return id == null ? "none" : NAMES[Math.floorMod(Long.hashCode(id), BUCKETS)];
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.healthcare.monitoring;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Time spent waiting for a Mongo connection, the counterpart of Hikari's
+ * {@code hikaricp.connections.acquire}. Spring Boot already publishes the pool's size,
+ * checked-out count and wait-queue length ({@code mongodb.driver.pool.*}); this adds how long
+ * each checkout waited and how many gave up, tagged {@code outcome} = success, timeout or error.
+ */
+@Component
+public class MongoPoolMetrics implements ConnectionPoolListener {
+
+    private static final String METRIC = "mongodb.driver.pool.acquire";
+
+    private final Timer acquired;
+    private final Timer timedOut;
+    private final Timer failed;
+
+    // Live pool state for the readiness check
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger checkedOut = new AtomicInteger();
+
+    public MongoPoolMetrics(MeterRegistry meterRegistry) {
+        this.acquired = timer(meterRegistry, "success");
+        this.timedOut = timer(meterRegistry, "timeout");
+        this.failed = timer(meterRegistry, "error");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Time waited to check out a connection from the Mongo pool")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+
+    public int checkedOut() {
+        return checkedOut.get();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waiting.decrementAndGet();
+        checkedOut.incrementAndGet();
+        acquired.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waiting.decrementAndGet();
+        Timer timer = event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT ? timedOut : failed;
+        timer.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.healthcare.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Opens a {@link QueryCounter} scope around each HTTP request — ahead of Spring Security, so the
+ * token's user lookup counts too — and records the totals as {@code http.server.requests.queries}
+ * per route and database. A statement repeated {@code n-plus-one-threshold} times in one request
+ * is logged as a likely N+1. The request's latency, outcome and database time also go to the
+ * {@link EndpointLatencyWindow} behind the admin dashboard.
+ * <p>
+ * With {@code headers} enabled (the dev profile) the counts are also returned as
+ * {@code X-Sql-Count} / {@code X-Mongo-Count}; {@link QueryCountHeaderAdvice} sets them
+ * just before the body is written, since the response is usually committed by the time this
+ * filter regains control.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String SQL_HEADER = "X-Sql-Count";
+    static final String MONGO_HEADER = "X-Mongo-Count";
+    static final String SCOPE_ATTRIBUTE = QueryCountFilter.class.getName() + ".scope";
+
+    private final MeterRegistry meterRegistry;
+    private final EndpointLatencyWindow latencyWindow;
+    private final boolean headers;
+    private final int nPlusOneThreshold;
+
+    public QueryCountFilter(
+            MeterRegistry meterRegistry,
+            EndpointLatencyWindow latencyWindow,
+            @Value("${application.monitoring.query-count.headers:false}") boolean headers,
+            @Value("${application.monitoring.query-count.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.latencyWindow = latencyWindow;
+        this.headers = headers;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            if (headers) {
+                request.setAttribute(SCOPE_ATTRIBUTE, scope);
+            }
+            try {
+                filterChain.doFilter(request, response);
+                failed = false;
+            } finally {
+                if (headers && !response.isCommitted()) {
+                    writeHeaders(response, scope);
+                }
+                String endpoint = record(request, scope);
+                latencyWindow.record(endpoint, System.nanoTime() - start, scope.databaseNanos(),
+                        failed || response.getStatus() >= 500);
+            }
+        }
+    }
+
+    static void writeHeaders(HttpServletResponse response, QueryCounter.Scope scope) {
+        response.setHeader(SQL_HEADER, Integer.toString(scope.sqlCount()));
+        response.setHeader(MONGO_HEADER, Integer.toString(scope.mongoCount()));
+    }
+
+    // Returns the endpoint as "METHOD /route/{pattern}"
+    private String record(HttpServletRequest request, QueryCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Unmatched paths share one tag so scanners cannot blow up the metric's cardinality
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summary("sql", request.getMethod(), uri).record(scope.sqlCount());
+        summary("mongo", request.getMethod(), uri).record(scope.mongoCount());
+
+        Map<String, Integer> repeated = scope.repeatedStatements(nPlusOneThreshold);
+        repeated.forEach((sql, times) -> log.warn("[QUERY-COUNT] {} {} ran the same statement {} times (possible N+1): {}",
+                request.getMethod(), uri, times, sql));
+        return request.getMethod() + " " + uri;
+    }
+
+    private DistributionSummary summary(String database, String method, String uri) {
+        return DistributionSummary.builder("http.server.requests.queries")
+                .description("Database round trips per HTTP request")
+                .tag("db", database)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
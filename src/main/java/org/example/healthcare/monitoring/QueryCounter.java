@@ -0,0 +1,132 @@
+package org.example.healthcare.monitoring;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request count of SQL statements and Mongo commands, and the time spent in them.
+ * <p>
+ * {@link #open()} starts counting on the current thread; the JDBC and Mongo listeners add to
+ * whatever scope is active on the thread that runs the statement. Work handed to another thread
+ * must be wrapped with {@link #wrap(Runnable)} to count towards the same request — the history
+ * executor does this. Statements outside any scope (schedulers, startup) are not counted.
+ * <p>
+ * Identical SQL strings are tallied too, so a statement repeated once per row — the classic
+ * N+1 — stands out from a request that simply needs many different queries.
+ */
+public final class QueryCounter {
+
+    // Distinct SQL strings tracked per request; enough for any real request, bounded for safety
+    private static final int MAX_TRACKED_STATEMENTS = 256;
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Scope open() {
+        Counts previous = CURRENT.get();
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return new Scope(counts, previous);
+    }
+
+    static Counts current() {
+        return CURRENT.get();
+    }
+
+    public static Runnable wrap(Runnable task) {
+        Counts counts = CURRENT.get();
+        if (counts == null) {
+            return task;
+        }
+        return () -> {
+            Counts previous = CURRENT.get();
+            CURRENT.set(counts);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(Counts previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    // ==================== COUNTS ====================
+
+    static final class Counts {
+
+        private final AtomicInteger sql = new AtomicInteger();
+        private final AtomicInteger mongo = new AtomicInteger();
+        private final AtomicLong databaseNanos = new AtomicLong();
+        private final Map<String, AtomicInteger> statements = new ConcurrentHashMap<>();
+
+        void recordSql(String statement) {
+            sql.incrementAndGet();
+            if (statement == null) {
+                return;
+            }
+            AtomicInteger seen = statements.get(statement);
+            if (seen == null && statements.size() >= MAX_TRACKED_STATEMENTS) {
+                return;
+            }
+            (seen != null ? seen : statements.computeIfAbsent(statement, key -> new AtomicInteger())).incrementAndGet();
+        }
+
+        void recordMongo() {
+            mongo.incrementAndGet();
+        }
+
+        void recordDatabaseTime(long nanos) {
+            databaseNanos.addAndGet(nanos);
+        }
+    }
+
+    // ==================== SCOPE ====================
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Counts counts;
+        private final Counts previous;
+
+        private Scope(Counts counts, Counts previous) {
+            this.counts = counts;
+            this.previous = previous;
+        }
+
+        public int sqlCount() {
+            return counts.sql.get();
+        }
+
+        public int mongoCount() {
+            return counts.mongo.get();
+        }
+
+        // Time spent waiting on MySQL and MongoDB; fan-out work can make it exceed wall-clock time
+        public long databaseNanos() {
+            return counts.databaseNanos.get();
+        }
+
+        // SQL strings executed at least {@code threshold} times in this scope, with their counts
+        public Map<String, Integer> repeatedStatements(int threshold) {
+            return counts.statements.entrySet().stream()
+                    .filter(entry -> entry.getValue().get() >= threshold)
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get()));
+        }
+
+        @Override
+        public void close() {
+            restore(previous);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.healthcare.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds {@link QueryCounter}: one JDBC round trip (a whole batch counts once) and one Mongo
+ * command each add one to the active request's scope, along with the time they took.
+ */
+@Configuration
+public class QueryCountingListeners {
+
+    private static final String START_KEY = "queryCounter.start";
+
+    @Bean
+    public QueryExecutionListener queryCountingListener() {
+        return new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                // datasource-proxy only times in milliseconds, too coarse for most statements
+                if (QueryCounter.current() != null) {
+                    execInfo.addCustomValue(START_KEY, System.nanoTime());
+                }
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                QueryCounter.Counts counts = QueryCounter.current();
+                if (counts == null) {
+                    return;
+                }
+                counts.recordSql(queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery());
+                Long start = execInfo.getCustomValue(START_KEY, Long.class);
+                if (start != null) {
+                    counts.recordDatabaseTime(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public CommandListener mongoCountingListener() {
+        return new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                QueryCounter.Counts counts = QueryCounter.current();
+                if (counts != null) {
+                    counts.recordMongo();
+                }
+            }
+
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+                recordTime(event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+
+            @Override
+            public void commandFailed(CommandFailedEvent event) {
+                recordTime(event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+
+            private void recordTime(long nanos) {
+                QueryCounter.Counts counts = QueryCounter.current();
+                if (counts != null) {
+                    counts.recordDatabaseTime(nanos);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.healthcare.monitoring;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces statements to their shape, so executions that differ only in values group together
+ * and no patient data ends up in the slow-query log.
+ * <p>
+ * SQL: string and numeric literals become {@code ?}, IN lists of any length become
+ * {@code in (?)} and whitespace is collapsed — Hibernate already binds parameters, so this
+ * mostly folds batch-fetch IN lists and native queries. Mongo: the command name and collection
+ * are kept with the filter's field names and operators; every value becomes {@code ?}.
+ */
+public final class QueryShapes {
+
+    // Longest shape kept; statements past this are truncated, they are still distinct enough
+    static final int MAX_LENGTH = 1000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.?])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Command fields that hold the query predicate, per command
+    private static final Map<String, String> FILTER_FIELDS = Map.of(
+            "find", "filter",
+            "count", "query",
+            "distinct", "query",
+            "delete", "deletes",
+            "update", "updates",
+            "findAndModify", "query");
+
+    private QueryShapes() {
+    }
+
+    public static String sql(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return truncate(WHITESPACE.matcher(shape).replaceAll(" ").strip());
+    }
+
+    public static String mongo(String commandName, BsonDocument command) {
+        StringBuilder shape = new StringBuilder(commandName);
+        BsonValue collection = command.get(commandName);
+        if (collection != null && collection.isString()) {
+            shape.append(' ').append(collection.asString().getValue());
+        }
+
+        if ("aggregate".equals(commandName) && command.isArray("pipeline")) {
+            shape.append(' ');
+            appendValue(shape, command.getArray("pipeline"));
+        } else {
+            BsonValue filter = command.get(FILTER_FIELDS.getOrDefault(commandName, "filter"));
+            if (filter != null) {
+                shape.append(' ');
+                appendValue(shape, filter);
+            }
+            if (command.isDocument("sort")) {
+                shape.append(" sort ");
+                appendValue(shape, command.getDocument("sort"));
+            }
+        }
+        return truncate(shape.toString());
+    }
+
+    // Field names and operators survive; scalars become ?
+    private static void appendValue(StringBuilder shape, BsonValue value) {
+        if (value.isDocument()) {
+            shape.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) {
+                    shape.append(", ");
+                }
+                first = false;
+                shape.append(entry.getKey()).append(": ");
+                appendValue(shape, entry.getValue());
+            }
+            shape.append('}');
+        } else if (value.isArray()) {
+            BsonArray array = value.asArray();
+            // Arrays of documents ($or, $and, pipelines, update lists) are structure; other arrays are values
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                shape.append('[');
+                for (int i = 0; i < array.size(); i++) {
+                    if (i > 0) {
+                        shape.append(", ");
+                    }
+                    appendValue(shape, array.get(i));
+                }
+                shape.append(']');
+            } else {
+                shape.append("[?]");
+            }
+        } else {
+            shape.append('?');
+        }
+    }
+
+    private static String truncate(String shape) {
+        return shape.length() <= MAX_LENGTH ? shape : shape.substring(0, MAX_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.healthcare.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds {@link SlowQueryLog} from both databases.
+ * <p>
+ * JDBC timing comes from datasource-proxy. For a slow SELECT the rows are only known once the
+ * caller has read the result set, so the entry is kept on the thread and each
+ * {@code ResultSet.next()} adds a row until the set is closed or another statement starts.
+ * That needs every result set proxied, which costs on every read, so it is off unless
+ * {@code application.monitoring.slow-queries.count-rows} is set; without it a slow SELECT
+ * records zero rows.
+ * Mongo timing comes from the driver's command events; rows are the first batch of a cursor
+ * or the {@code n} of a write or count.
+ */
+@Configuration
+public class SlowQueryListeners {
+
+    private static final Set<String> MONGO_DATA_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "insert", "update", "delete", "findAndModify");
+
+    // Slow SELECT whose result set is being read on this thread
+    private static final ThreadLocal<SlowQueryLog.Entry> READING = new ThreadLocal<>();
+
+    private static final String COUNT_ROWS = "application.monitoring.slow-queries.count-rows";
+
+    @Bean
+    public QueryExecutionListener jdbcSlowQueryListener(SlowQueryLog slowQueryLog,
+                                                        @Value("${" + COUNT_ROWS + ":false}") boolean countRows) {
+        return new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                READING.remove();
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                long elapsed = TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+                if (queryInfoList.isEmpty() || !slowQueryLog.isSlow(SlowQueryLog.SQL, elapsed)) {
+                    return;
+                }
+                Object result = execInfo.getResult();
+                SlowQueryLog.Entry entry = slowQueryLog.record(SlowQueryLog.SQL,
+                        QueryShapes.sql(queryInfoList.get(0).getQuery()), elapsed, affectedRows(result));
+                if (countRows && result instanceof ResultSet) {
+                    READING.set(entry);
+                }
+            }
+        };
+    }
+
+    // Its presence is what makes DataSourceMonitoringConfig proxy result sets
+    @Bean
+    @ConditionalOnProperty(name = COUNT_ROWS, havingValue = "true")
+    public MethodExecutionListener jdbcSlowQueryRowCounter() {
+        return new MethodExecutionListener() {
+            @Override
+            public void beforeMethod(MethodExecutionContext executionContext) {
+            }
+
+            @Override
+            public void afterMethod(MethodExecutionContext executionContext) {
+                SlowQueryLog.Entry entry = READING.get();
+                if (entry == null || !(executionContext.getTarget() instanceof ResultSet)) {
+                    return;
+                }
+                String method = executionContext.getMethod().getName();
+                if ("next".equals(method) && Boolean.TRUE.equals(executionContext.getResult())) {
+                    entry.addRow();
+                } else if ("close".equals(method)) {
+                    READING.remove();
+                }
+            }
+        };
+    }
+
+    @Bean
+    public CommandListener mongoSlowQueryListener(SlowQueryLog slowQueryLog) {
+        return new CommandListener() {
+
+            // The command document is only valid during commandStarted, so its shape is taken there
+            private final Map<Integer, String> shapes = new ConcurrentHashMap<>();
+
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if (MONGO_DATA_COMMANDS.contains(event.getCommandName())) {
+                    shapes.put(event.getRequestId(), QueryShapes.mongo(event.getCommandName(), event.getCommand()));
+                }
+            }
+
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+                String shape = shapes.remove(event.getRequestId());
+                long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+                if (shape != null && slowQueryLog.isSlow(SlowQueryLog.MONGO, elapsed)) {
+                    slowQueryLog.record(SlowQueryLog.MONGO, shape, elapsed, returnedDocuments(event.getResponse()));
+                }
+            }
+
+            @Override
+            public void commandFailed(CommandFailedEvent event) {
+                String shape = shapes.remove(event.getRequestId());
+                long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+                if (shape != null && slowQueryLog.isSlow(SlowQueryLog.MONGO, elapsed)) {
+                    slowQueryLog.record(SlowQueryLog.MONGO, shape + " (failed)", elapsed, 0);
+                }
+            }
+        };
+    }
+
+    // Update counts for DML; a SELECT starts at zero and is counted while read
+    private static long affectedRows(Object result) {
+        if (result instanceof Number count) {
+            return Math.max(count.longValue(), 0);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    private static long returnedDocuments(BsonDocument response) {
+        if (response.isDocument("cursor")) {
+            BsonDocument cursor = response.getDocument("cursor");
+            BsonValue batch = cursor.containsKey("firstBatch") ? cursor.get("firstBatch") : cursor.get("nextBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : 0;
+        }
+        BsonValue n = response.get("n");
+        return n != null && n.isNumber() ? n.asNumber().longValue() : 0;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.healthcare.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.healthcare.dto.response.SlowQueryResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer of the most recent statements that ran over their threshold, by shape
+ * ({@link QueryShapes}), duration and rows returned or affected.
+ * <p>
+ * Recording is one counter increment and one array write, and only slow statements are
+ * recorded, so capture can stay on in production; old entries are simply overwritten.
+ * {@link #top(int)} aggregates the buffer per shape when an admin asks.
+ */
+@Component
+public class SlowQueryLog {
+
+    public static final String SQL = "sql";
+    public static final String MONGO = "mongo";
+
+    private final AtomicReferenceArray<Entry> ring;
+    private final AtomicLong written = new AtomicLong();
+    private final long sqlThresholdNanos;
+    private final long mongoThresholdNanos;
+    private final Counter sqlCaptured;
+    private final Counter mongoCaptured;
+
+    public SlowQueryLog(
+            MeterRegistry meterRegistry,
+            @Value("${application.monitoring.slow-queries.capacity:1000}") int capacity,
+            @Value("${application.monitoring.slow-queries.sql-threshold:100ms}") Duration sqlThreshold,
+            @Value("${application.monitoring.slow-queries.mongo-threshold:100ms}") Duration mongoThreshold) {
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.sqlThresholdNanos = sqlThreshold.toNanos();
+        this.mongoThresholdNanos = mongoThreshold.toNanos();
+        this.sqlCaptured = captured(meterRegistry, SQL);
+        this.mongoCaptured = captured(meterRegistry, MONGO);
+    }
+
+    private static Counter captured(MeterRegistry meterRegistry, String database) {
+        return Counter.builder("db.slow_queries")
+                .description("Statements over the slow-query threshold")
+                .tag("db", database)
+                .register(meterRegistry);
+    }
+
+    public boolean isSlow(String database, long elapsedNanos) {
+        return elapsedNanos >= (SQL.equals(database) ? sqlThresholdNanos : mongoThresholdNanos);
+    }
+
+    // Rows may still be added to the returned entry, e.g. while a slow SELECT is being read
+    public Entry record(String database, String shape, long elapsedNanos, long rows) {
+        Entry entry = new Entry(database, shape, elapsedNanos, Instant.now(), rows);
+        ring.set((int) (written.getAndIncrement() % ring.length()), entry);
+        (SQL.equals(database) ? sqlCaptured : mongoCaptured).increment();
+        return entry;
+    }
+
+    // Slowest shapes first, by their worst captured execution
+    public List<SlowQueryResponse> top(int limit) {
+        Map<String, List<Entry>> byShape = new HashMap<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Entry entry = ring.get(i);
+            if (entry != null) {
+                byShape.computeIfAbsent(entry.database + '\u0000' + entry.shape, key -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        return byShape.values().stream()
+                .map(SlowQueryLog::summarize)
+                .sorted(Comparator.comparingDouble(SlowQueryResponse::getMaxMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static SlowQueryResponse summarize(List<Entry> entries) {
+        long max = 0;
+        long total = 0;
+        long maxRows = 0;
+        Instant lastSeen = Instant.EPOCH;
+        for (Entry entry : entries) {
+            max = Math.max(max, entry.elapsedNanos);
+            total += entry.elapsedNanos;
+            maxRows = Math.max(maxRows, entry.rows.get());
+            lastSeen = entry.timestamp.isAfter(lastSeen) ? entry.timestamp : lastSeen;
+        }
+        Entry first = entries.get(0);
+        return SlowQueryResponse.builder()
+                .database(first.database)
+                .shape(first.shape)
+                .count(entries.size())
+                .maxMillis(max / 1_000_000.0)
+                .avgMillis(total / 1_000_000.0 / entries.size())
+                .maxRows(maxRows)
+                .lastSeen(lastSeen)
+                .build();
+    }
+
+    // ==================== ENTRY ====================
+
+    public static final class Entry {
+
+        private final String database;
+        private final String shape;
+        private final long elapsedNanos;
+        private final Instant timestamp;
+        private final AtomicLong rows;
+
+        private Entry(String database, String shape, long elapsedNanos, Instant timestamp, long rows) {
+            this.database = database;
+            this.shape = shape;
+            this.elapsedNanos = elapsedNanos;
+            this.timestamp = timestamp;
+            this.rows = new AtomicLong(rows);
+        }
+
+        public void addRow() {
+            rows.incrementAndGet();
+        }
+    }
+}
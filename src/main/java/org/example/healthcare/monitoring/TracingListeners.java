@@ -0,0 +1,115 @@
+package org.example.healthcare.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.bson.BsonValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One client span per JDBC statement and per Mongo command, as children of whatever span is
+ * current on the calling thread (normally a service method span). Statements carry their SQL
+ * with placeholders only; Mongo spans carry the command and collection, never the document.
+ */
+@Configuration
+public class TracingListeners {
+
+    private static final String SPAN_KEY = "tracing.span";
+
+    @Bean
+    public QueryExecutionListener jdbcTracingListener(Tracer tracer) {
+        return new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+                Span span = tracer.nextSpan()
+                        .name("jdbc " + operation(sql))
+                        .kind(Span.Kind.CLIENT)
+                        .remoteServiceName("mysql")
+                        .tag("db.system", "mysql")
+                        .tag("db.statement", sql)
+                        .start();
+                if (execInfo.isBatch()) {
+                    span.tag("db.batch.size", String.valueOf(execInfo.getBatchSize()));
+                }
+                execInfo.addCustomValue(SPAN_KEY, span);
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                Span span = execInfo.getCustomValue(SPAN_KEY, Span.class);
+                if (span == null) {
+                    return;
+                }
+                if (!execInfo.isSuccess() && execInfo.getThrowable() != null) {
+                    span.error(execInfo.getThrowable());
+                }
+                span.end();
+            }
+        };
+    }
+
+    @Bean
+    public CommandListener mongoTracingListener(Tracer tracer) {
+        return new CommandListener() {
+
+            // The driver reports start and finish as separate events; request ids are unique per client
+            private final Map<Integer, Span> inFlight = new ConcurrentHashMap<>();
+
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                Span span = tracer.nextSpan()
+                        .name("mongo " + event.getCommandName())
+                        .kind(Span.Kind.CLIENT)
+                        .remoteServiceName("mongodb")
+                        .tag("db.system", "mongodb")
+                        .tag("db.operation", event.getCommandName())
+                        .tag("db.name", event.getDatabaseName());
+                BsonValue collection = event.getCommand().get(event.getCommandName());
+                if (collection != null && collection.isString()) {
+                    span.tag("db.mongodb.collection", collection.asString().getValue());
+                }
+                inFlight.put(event.getRequestId(), span.start());
+            }
+
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+                Span span = inFlight.remove(event.getRequestId());
+                if (span != null) {
+                    span.end();
+                }
+            }
+
+            @Override
+            public void commandFailed(CommandFailedEvent event) {
+                Span span = inFlight.remove(event.getRequestId());
+                if (span != null) {
+                    span.error(event.getThrowable());
+                    span.end();
+                }
+            }
+        };
+    }
+
+    // First keyword only (SELECT, INSERT, ...) so the span name stays low-cardinality
+    static String operation(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "statement" : trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.healthcare.monitoring.health;
+
+import lombok.RequiredArgsConstructor;
+import org.example.healthcare.security.TokenRevocationService;
+import org.example.healthcare.service.UserUniquenessService;
+import org.springframework.boot.health.contributor.AbstractHealthIndicator;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Not ready until the startup-loaded in-memory state is in place: the revoked-token set (without
+ * it a revoked token would be accepted) and the username/email filter (without it every
+ * registration check hits MySQL; a failed seed counts as finished, since checks stay correct).
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator extends AbstractHealthIndicator {
+
+    private final TokenRevocationService tokenRevocationService;
+    private final UserUniquenessService userUniquenessService;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        boolean revocationsLoaded = tokenRevocationService.isLoaded();
+        boolean seedFinished = userUniquenessService.isSeedFinished();
+
+        builder.status(revocationsLoaded && seedFinished ? Status.UP : Status.OUT_OF_SERVICE)
+                .withDetail("revokedTokens", revocationsLoaded ? "loaded" : "loading")
+                .withDetail("uniquenessFilter", !seedFinished ? "seeding"
+                        : userUniquenessService.isFilterActive() ? "active" : "unavailable (database checks)");
+    }
+}
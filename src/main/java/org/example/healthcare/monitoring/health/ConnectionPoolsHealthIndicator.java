@@ -0,0 +1,67 @@
+package org.example.healthcare.monitoring.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.example.healthcare.monitoring.MongoPoolMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.AbstractHealthIndicator;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * OUT_OF_SERVICE while either pool has more than {@code max-pending-connections} callers
+ * waiting for a connection: the node is already queueing work and more traffic only adds to
+ * the queue. Reads the live pool state, so the check itself never borrows a connection.
+ */
+@Component
+public class ConnectionPoolsHealthIndicator extends AbstractHealthIndicator {
+
+    private final DataSource dataSource;
+    private final MongoPoolMetrics mongoPool;
+    private final int maxPending;
+    private final int mongoMaxSize;
+
+    public ConnectionPoolsHealthIndicator(
+            DataSource dataSource,
+            MongoPoolMetrics mongoPool,
+            @Value("${application.monitoring.health.max-pending-connections:5}") int maxPending,
+            @Value("${application.mongo.pool.max-size:100}") int mongoMaxSize) {
+        super("Connection pool check failed");
+        this.dataSource = dataSource;
+        this.mongoPool = mongoPool;
+        this.maxPending = maxPending;
+        this.mongoMaxSize = mongoMaxSize;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws SQLException {
+        boolean saturated = false;
+
+        // The DataSource bean is wrapped by the query listeners; unwrap to reach Hikari
+        HikariPoolMXBean hikari = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        if (hikari != null) {
+            int pending = hikari.getThreadsAwaitingConnection();
+            saturated = pending > maxPending;
+            builder.withDetail("mysql", Map.of(
+                    "active", hikari.getActiveConnections(),
+                    "idle", hikari.getIdleConnections(),
+                    "total", hikari.getTotalConnections(),
+                    "pending", pending));
+        }
+
+        int mongoPending = mongoPool.waiting();
+        saturated |= mongoPending > maxPending;
+        builder.withDetail("mongo", Map.of(
+                "checkedOut", mongoPool.checkedOut(),
+                "maxSize", mongoMaxSize,
+                "pending", mongoPending));
+
+        builder.status(saturated ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("maxPending", maxPending);
+    }
+}
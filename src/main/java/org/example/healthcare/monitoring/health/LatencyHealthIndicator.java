@@ -0,0 +1,67 @@
+package org.example.healthcare.monitoring.health;
+
+import org.springframework.boot.health.contributor.AbstractHealthIndicator;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Readiness check that times one trivial round trip to a database.
+ * <p>
+ * UP under the threshold; OUT_OF_SERVICE above it, so the load balancer drains a node whose
+ * database path is degraded (slow network, saturated pool, overloaded server) while liveness
+ * stays UP and the node is not restarted for a problem a restart cannot fix. DOWN when the
+ * round trip fails or gets no reply within {@code ping-timeout}: the driver's own timeouts
+ * (pool wait, server selection) run to seconds, longer than a probe should hang.
+ */
+abstract class LatencyHealthIndicator extends AbstractHealthIndicator {
+
+    // A hung round trip keeps only a virtual thread until the driver gives up
+    private static final ExecutorService PINGS =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("health-ping-", 0).factory());
+
+    private final Duration threshold;
+    private final Duration timeout;
+
+    LatencyHealthIndicator(String description, Duration threshold, Duration timeout) {
+        super(description + " latency check failed");
+        this.threshold = threshold;
+        this.timeout = timeout;
+    }
+
+    // One minimal round trip, e.g. SELECT 1 or ping
+    protected abstract void ping();
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        long start = System.nanoTime();
+        Future<?> roundTrip = PINGS.submit(this::ping);
+        try {
+            roundTrip.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            roundTrip.cancel(true);
+            builder.down()
+                    .withDetail("error", "No reply within " + timeout.toMillis() + "ms")
+                    .withDetail("timeoutMs", timeout.toMillis());
+            return;
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof Exception cause ? cause : ex;
+        } catch (InterruptedException ex) {
+            roundTrip.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+
+        builder.status(latency.compareTo(threshold) > 0 ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("latencyMs", latency.toNanos() / 1_000_000.0)
+                .withDetail("thresholdMs", threshold.toMillis());
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.healthcare.monitoring.health;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class MongoLatencyHealthIndicator extends LatencyHealthIndicator {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoLatencyHealthIndicator(
+            MongoTemplate mongoTemplate,
+            @Value("${application.monitoring.health.mongo-latency-threshold:250ms}") Duration threshold,
+            @Value("${application.monitoring.health.ping-timeout:1s}") Duration timeout) {
+        super("MongoDB", threshold, timeout);
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    protected void ping() {
+        mongoTemplate.executeCommand("{ ping: 1 }");
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.healthcare.monitoring.health;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Includes the wait for a pooled connection, so a saturated Hikari pool shows up here too
+@Component
+public class MysqlLatencyHealthIndicator extends LatencyHealthIndicator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MysqlLatencyHealthIndicator(
+            JdbcTemplate jdbcTemplate,
+            @Value("${application.monitoring.health.mysql-latency-threshold:250ms}") Duration threshold,
+            @Value("${application.monitoring.health.ping-timeout:1s}") Duration timeout) {
+        super("MySQL", threshold, timeout);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    protected void ping() {
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+    }
+}
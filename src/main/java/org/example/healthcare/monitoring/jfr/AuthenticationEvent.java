@@ -0,0 +1,13 @@
+package org.example.healthcare.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("healthcare.Authentication")
+@Label("JWT Authentication")
+@Category({"Healthcare", "Security"})
+@Description("Token parsing, revocation check and user lookup for one request")
+public class AuthenticationEvent extends HealthcareEvent {
+}
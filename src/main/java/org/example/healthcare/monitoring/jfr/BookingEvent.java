@@ -0,0 +1,16 @@
+package org.example.healthcare.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("healthcare.Booking")
+@Label("Appointment Booking")
+@Category({"Healthcare", "Appointments"})
+@Description("One bookAppointment call, from lookups to the saved appointment")
+public class BookingEvent extends HealthcareEvent {
+
+    @Label("Doctor Bucket")
+    public String doctorBucket;
+}
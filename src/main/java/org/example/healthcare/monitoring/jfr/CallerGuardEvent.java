@@ -0,0 +1,19 @@
+package org.example.healthcare.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("healthcare.CallerGuard")
+@Label("Caller Ownership Check")
+@Category({"Healthcare", "Security"})
+@Description("One CallerGuard check, including the caller's profile lookup")
+public class CallerGuardEvent extends HealthcareEvent {
+
+    @Label("Check")
+    public String check;
+
+    @Label("Doctor Bucket")
+    public String doctorBucket;
+}
@@ -0,0 +1,158 @@
+package org.example.healthcare.monitoring.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare.dto.response.FlightRecordingResponse;
+import org.example.healthcare.exception.DuplicateResourceException;
+import org.example.healthcare.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * One on-demand Flight Recorder recording at a time, started and stopped from the admin API.
+ * <p>
+ * The recording uses a built-in JFR settings file ({@code default}, about 1% overhead, or
+ * {@code profile}) with the application's {@link HealthcareEvent}s enabled on top. It stops
+ * itself after {@code max-duration} in case nobody comes back for it. On stop it is dumped to
+ * a temp file that stays downloadable until the next recording starts. The initial environment
+ * variable and system property events are left out: they can carry secrets such as the
+ * database password or JWT key.
+ */
+@Component
+@Slf4j
+public class FlightRecordings {
+
+    private static final List<String> SETTINGS = List.of("default", "profile");
+    private static final List<Class<? extends HealthcareEvent>> EVENTS = List.of(
+            BookingEvent.class, SlotComputationEvent.class, AuthenticationEvent.class, CallerGuardEvent.class);
+    private static final List<String> DISABLED_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private String settings;
+    private Path dump;
+
+    public FlightRecordings(
+            @Value("${application.monitoring.jfr.max-duration:30m}") Duration maxDuration,
+            @Value("${application.monitoring.jfr.max-size-mb:250}") long maxSizeMb) {
+        this.maxDuration = maxDuration;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    public synchronized FlightRecordingResponse start(String settingsName) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new DuplicateResourceException("A flight recording is already running (id " + recording.getId() + ")");
+        }
+        if (!SETTINGS.contains(settingsName)) {
+            throw new IllegalArgumentException("Unknown JFR settings '" + settingsName + "', expected one of " + SETTINGS);
+        }
+        discard();
+
+        Recording started = newRecording(settingsName);
+        EVENTS.forEach(event -> started.enable(event).withoutThreshold());
+        DISABLED_EVENTS.forEach(started::disable);
+        started.setName("healthcare-admin");
+        started.setToDisk(true);
+        started.setDuration(maxDuration);
+        started.setMaxSize(maxSizeBytes);
+        started.start();
+
+        recording = started;
+        settings = settingsName;
+        log.info("[JFR] Recording {} started with '{}' settings", started.getId(), settingsName);
+        return status();
+    }
+
+    public synchronized FlightRecordingResponse stop() {
+        Recording current = requireRecording();
+        if (current.getState() == RecordingState.RUNNING) {
+            current.stop();
+        }
+        if (dump == null) {
+            try {
+                Path file = Files.createTempFile("healthcare-" + current.getId() + "-", ".jfr");
+                current.dump(file);
+                dump = file;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not write flight recording", ex);
+            }
+            log.info("[JFR] Recording {} stopped, {} bytes written to {}", current.getId(), sizeOf(dump), dump);
+        }
+        return status();
+    }
+
+    public synchronized FlightRecordingResponse status() {
+        Recording current = requireRecording();
+        return FlightRecordingResponse.builder()
+                .id(current.getId())
+                .state(current.getState().name())
+                .settings(settings)
+                .startedAt(current.getStartTime())
+                .stoppedAt(current.getStopTime())
+                .sizeBytes(dump != null ? sizeOf(dump) : null)
+                .build();
+    }
+
+    // The dumped file of a stopped recording; a running one is left alone and must be stopped first
+    public synchronized Path download() {
+        Recording current = requireRecording();
+        if (current.getState() == RecordingState.RUNNING) {
+            throw new DuplicateResourceException("Flight recording " + current.getId() + " is still running, stop it first");
+        }
+        // Writes the file if the recording stopped itself at max-duration
+        stop();
+        return dump;
+    }
+
+    @PreDestroy
+    public synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (dump != null) {
+            try {
+                Files.deleteIfExists(dump);
+            } catch (IOException ex) {
+                log.warn("[JFR] Could not delete old recording {}: {}", dump, ex.getMessage());
+            }
+            dump = null;
+        }
+    }
+
+    private static Recording newRecording(String settingsName) {
+        try {
+            return new Recording(Configuration.getConfiguration(settingsName));
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("Could not load JFR settings " + settingsName, ex);
+        }
+    }
+
+    private Recording requireRecording() {
+        if (recording == null) {
+            throw new ResourceNotFoundException("No flight recording has been started");
+        }
+        return recording;
+    }
+
+    private static Long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+}
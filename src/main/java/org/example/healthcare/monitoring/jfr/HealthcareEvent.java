@@ -0,0 +1,32 @@
+package org.example.healthcare.monitoring.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.example.healthcare.exception.DoubleBookingException;
+import org.example.healthcare.exception.ForbiddenOperationException;
+import org.example.healthcare.exception.ResourceNotFoundException;
+
+/**
+ * Base of the application's Flight Recorder events. Duration and thread are recorded by JFR
+ * itself; subclasses add low-cardinality fields (buckets, counts, outcome), never raw ids.
+ * <p>
+ * Usage is {@code begin()} before the work, fields and {@code commit()} after it. While no
+ * recording has the event enabled, {@code commit()} is a no-op and the JIT removes the event
+ * allocation, so the hooks can stay in production code paths.
+ */
+@StackTrace(false)
+public abstract class HealthcareEvent extends Event {
+
+    @Label("Outcome")
+    public String outcome;
+
+    // Outcome for a call that threw; expected rejections are told apart from failures
+    public static String outcomeOf(RuntimeException ex) {
+        boolean rejected = ex instanceof DoubleBookingException
+                || ex instanceof ForbiddenOperationException
+                || ex instanceof ResourceNotFoundException
+                || ex instanceof IllegalArgumentException;
+        return rejected ? "rejected" : "error";
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.healthcare.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("healthcare.SlotComputation")
+@Label("Available Slot Computation")
+@Category({"Healthcare", "Appointments"})
+@Description("One getAvailableSlots call: availability, booked appointments and the slot walk")
+public class SlotComputationEvent extends HealthcareEvent {
+
+    @Label("Doctor Bucket")
+    public String doctorBucket;
+
+    @Label("Free Slots")
+    public int slotCount;
+
+    @Label("Booked Appointments")
+    public int bookedCount;
+}
@@ -2,6 +2,7 @@ package org.example.healthcare.repository.nosql;
 
 import org.example.healthcare.models.nosql.MedicalRecord;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 
@@ -11,4 +12,15 @@ public interface MedicalRecordRepository extends MongoRepository<MedicalRecord,
     List<MedicalRecord> findByPatientIdOrderByRecordDateDesc(Long patientId);
 
     List<MedicalRecord> findByDoctorIdOrderByRecordDateDesc(Long doctorId);
+
+    // List view: the description is left on the server; sorted along the patient_recordDate_id index
+    @Query(value = "{ 'patientId': ?0 }",
+            fields = "{ 'patientId': 1, 'patientName': 1, 'doctorName': 1, 'recordDate': 1, 'title': 1 }",
+            sort = "{ 'recordDate': -1, '_id': -1 }")
+    List<MedicalRecord> findSummariesByPatientId(Long patientId);
+
+    @Query(value = "{ 'doctorId': ?0 }",
+            fields = "{ 'patientId': 1, 'patientName': 1, 'doctorName': 1, 'recordDate': 1, 'title': 1 }",
+            sort = "{ 'recordDate': -1, '_id': -1 }")
+    List<MedicalRecord> findSummariesByDoctorId(Long doctorId);
 }
@@ -2,6 +2,7 @@ package org.example.healthcare.repository.nosql;
 
 import org.example.healthcare.models.nosql.Prescription;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +13,15 @@ public interface PrescriptionRepository extends MongoRepository<Prescription, St
     List<Prescription> findByPatientId(Long patientId);
 
     List<Prescription> findByDoctorId(Long doctorId);
+
+    // List views: medicines and instructions are left on the server; sorted along the owner's date index
+    @Query(value = "{ 'patientId': ?0 }",
+            fields = "{ 'appointmentId': 1, 'patientName': 1, 'doctorName': 1, 'prescriptionDate': 1, 'appointmentDate': 1, 'diagnosis': 1 }",
+            sort = "{ 'prescriptionDate': -1, '_id': -1 }")
+    List<Prescription> findSummariesByPatientId(Long patientId);
+
+    @Query(value = "{ 'doctorId': ?0 }",
+            fields = "{ 'appointmentId': 1, 'patientName': 1, 'doctorName': 1, 'prescriptionDate': 1, 'appointmentDate': 1, 'diagnosis': 1 }",
+            sort = "{ 'prescriptionDate': -1, '_id': -1 }")
+    List<Prescription> findSummariesByDoctorId(Long doctorId);
 }
@@ -2,20 +2,18 @@ package org.example.healthcare.repository.sql;
 
 import org.example.healthcare.models.enums.AppointmentStatus;
 import org.example.healthcare.models.sql.Appointment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long>{
 
-    List<Appointment> findByPatientId(Long patientId);
-
-    List<Appointment> findByDoctorId(Long doctorId);
-
     List<Appointment> findByPatientIdAndStatus(Long patientId, AppointmentStatus status);
 
     List<Appointment> findByDoctorIdAndStatus(Long doctorId, AppointmentStatus status);
@@ -43,4 +41,40 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>{
             @Param("doctorId") Long doctorId,
             @Param("date") LocalDate date
     );
+
+    // One round-trip for a batch of appointments, with the participants needed for ownership and denormalized names
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.patient WHERE a.id IN :ids")
+    List<Appointment> findWithParticipantsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // List endpoints: the mapper reads both participants, and each one's user is eager, so fetch them all
+    // here rather than one SELECT per distinct doctor, patient and user
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor d JOIN FETCH d.user " +
+            "JOIN FETCH a.patient p JOIN FETCH p.user WHERE a.doctor.id = :doctorId")
+    List<Appointment> findWithParticipantsByDoctorId(@Param("doctorId") Long doctorId);
+
+    // Newest first, the order the patient history shows them in
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor d JOIN FETCH d.user " +
+            "JOIN FETCH a.patient p JOIN FETCH p.user WHERE a.patient.id = :patientId " +
+            "ORDER BY a.appointmentDate DESC, a.startTime DESC, a.id DESC")
+    List<Appointment> findWithParticipantsByPatientId(@Param("patientId") Long patientId);
+
+    // Patient history pages, newest first. Keyset on (date, startTime, id) so every page is a range scan.
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.patient " +
+            "WHERE a.patient.id = :patientId " +
+            "ORDER BY a.appointmentDate DESC, a.startTime DESC, a.id DESC")
+    List<Appointment> findHistoryFirstPage(@Param("patientId") Long patientId, Limit limit);
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.patient " +
+            "WHERE a.patient.id = :patientId " +
+            "AND (a.appointmentDate < :date " +
+            "OR (a.appointmentDate = :date AND (a.startTime < :startTime " +
+            "OR (a.startTime = :startTime AND a.id < :id)))) " +
+            "ORDER BY a.appointmentDate DESC, a.startTime DESC, a.id DESC")
+    List<Appointment> findHistoryPageAfter(
+            @Param("patientId") Long patientId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("id") Long id,
+            Limit limit
+    );
 }
@@ -0,0 +1,23 @@
+package org.example.healthcare.repository.sql;
+
+import org.example.healthcare.models.enums.NameChangeStatus;
+import org.example.healthcare.models.sql.NameChangeEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NameChangeEventRepository extends JpaRepository<NameChangeEvent, Long> {
+
+    // SKIP LOCKED lets several app instances drain the queue without handing out the same rows
+    @Query(value = "SELECT * FROM name_change_events " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NameChangeEvent> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(NameChangeStatus status);
+}
@@ -0,0 +1,33 @@
+package org.example.healthcare.repository.sql;
+
+import org.example.healthcare.models.sql.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    // Revocations made since the last sync, including those written by other nodes
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+    // Insert-only on the jti primary key: 0 rows when the token was already revoked, so exactly one caller wins
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO revoked_tokens (token_id, username, expires_at, revoked_at) " +
+            "VALUES (:tokenId, :username, :expiresAt, :revokedAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId,
+                       @Param("username") String username,
+                       @Param("expiresAt") LocalDateTime expiresAt,
+                       @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,9 +3,13 @@ package org.example.healthcare.repository.sql;
 import org.example.healthcare.models.enums.Role;
 import org.example.healthcare.models.sql.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
@@ -13,6 +17,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+    // Username and email availability in one round-trip
+    List<User> findByUsernameOrEmail(String username, String email);
+    // Set-based duplicate checks for bulk registration — one query per batch instead of one per row
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
     // Delete all users that are NOT the given role (keeps admin)
     void deleteAllByRoleNot(Role role);
 }
@@ -2,6 +2,8 @@ package org.example.healthcare.security;
 
 import org.example.healthcare.exception.ForbiddenOperationException;
 import org.example.healthcare.models.enums.Role;
+import org.example.healthcare.monitoring.IdBuckets;
+import org.example.healthcare.monitoring.jfr.CallerGuardEvent;
 import org.example.healthcare.models.sql.Doctor;
 import org.example.healthcare.models.sql.Patient;
 import org.example.healthcare.models.sql.User;
@@ -22,46 +24,72 @@ public class CallerGuard {
     private final DoctorRepository doctorRepository;
 
     public void assertPatientOwns(Long patientId) {
-        User user = currentUser();
-        if (user.getRole() != Role.PATIENT) {
-            return;
-        }
-        if (!callerPatientId(user).equals(patientId)) {
-            throw new ForbiddenOperationException(MESSAGE);
-        }
+        check("patientOwns", null, () -> {
+            User user = currentUser();
+            if (user.getRole() != Role.PATIENT) {
+                return;
+            }
+            if (!callerPatientId(user).equals(patientId)) {
+                throw new ForbiddenOperationException(MESSAGE);
+            }
+        });
     }
 
     public void assertDoctorOwns(Long doctorId) {
-        User user = currentUser();
-        if (user.getRole() == Role.ADMIN) {
-            return;
-        }
-        if (user.getRole() != Role.DOCTOR || !callerDoctorId(user).equals(doctorId)) {
-            throw new ForbiddenOperationException(MESSAGE);
-        }
+        check("doctorOwns", doctorId, () -> {
+            User user = currentUser();
+            if (user.getRole() == Role.ADMIN) {
+                return;
+            }
+            if (user.getRole() != Role.DOCTOR || !callerDoctorId(user).equals(doctorId)) {
+                throw new ForbiddenOperationException(MESSAGE);
+            }
+        });
     }
 
     public void assertParticipant(Long patientId, Long doctorId) {
-        User user = currentUser();
-        switch (user.getRole()) {
-            case ADMIN -> { }
-            case PATIENT -> {
-                if (!callerPatientId(user).equals(patientId)) {
-                    throw new ForbiddenOperationException(MESSAGE);
+        check("participant", doctorId, () -> {
+            User user = currentUser();
+            switch (user.getRole()) {
+                case ADMIN -> { }
+                case PATIENT -> {
+                    if (!callerPatientId(user).equals(patientId)) {
+                        throw new ForbiddenOperationException(MESSAGE);
+                    }
                 }
-            }
-            case DOCTOR -> {
-                if (!callerDoctorId(user).equals(doctorId)) {
-                    throw new ForbiddenOperationException(MESSAGE);
+                case DOCTOR -> {
+                    if (!callerDoctorId(user).equals(doctorId)) {
+                        throw new ForbiddenOperationException(MESSAGE);
+                    }
                 }
             }
-        }
+        });
     }
 
     public Long currentDoctorId() {
         return callerDoctorId(currentUser());
     }
 
+    // Each check is a JFR event: the profile lookup behind it is a query on every guarded call
+    private static void check(String name, Long doctorId, Runnable body) {
+        CallerGuardEvent event = new CallerGuardEvent();
+        event.begin();
+        event.check = name;
+        event.doctorBucket = IdBuckets.of(doctorId);
+        try {
+            body.run();
+            event.outcome = "allowed";
+        } catch (ForbiddenOperationException ex) {
+            event.outcome = "denied";
+            throw ex;
+        } catch (RuntimeException ex) {
+            event.outcome = "error";
+            throw ex;
+        } finally {
+            event.commit();
+        }
+    }
+
     private User currentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
@@ -1,10 +1,14 @@
 package org.example.healthcare.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.example.healthcare.monitoring.jfr.AuthenticationEvent;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,6 +25,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final Tracer tracer;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -29,31 +35,57 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getTokenFromRequest(request);
 
-        if (StringUtils.hasText(token) && jwtTokenProvider.isValidToken(token)) {
-
-            String username = jwtTokenProvider.extractUsername(token);
+        if (StringUtils.hasText(token) && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Own span: token parsing, the revocation check and the user lookup are otherwise
+            // indistinguishable from the controller's time in a trace
+            Span span = tracer.nextSpan().name("jwt.authenticate").start();
+            AuthenticationEvent event = new AuthenticationEvent();
+            event.begin();
+            try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+                event.outcome = authenticate(request, token) ? "authenticated" : "rejected";
+                span.tag("outcome", event.outcome);
+            } catch (RuntimeException ex) {
+                event.outcome = "error";
+                span.error(ex);
+                throw ex;
+            } finally {
+                event.commit();
+                span.end();
+            }
+        }
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        filterChain.doFilter(request, response);
+    }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    private boolean authenticate(HttpServletRequest request, String token) {
 
-                if (jwtTokenProvider.validateToken(token, userDetails)) {
+        // Parsed once; refresh tokens and revoked tokens never authenticate a request
+        Claims claims = jwtTokenProvider.parseClaims(token);
 
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
+        if (claims == null || !jwtTokenProvider.isAccessToken(claims)
+                || tokenRevocationService.isRevoked(claims.getId())) {
+            return false;
+        }
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        String username = claims.getSubject();
 
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            }
+        if (username == null) {
+            return false;
         }
 
-        filterChain.doFilter(request, response);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        return true;
     }
 
     private String getTokenFromRequest(HttpServletRequest request) {
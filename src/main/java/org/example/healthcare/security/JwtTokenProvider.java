@@ -11,29 +11,56 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String ACCESS_TOKEN = "access";
+    private static final String REFRESH_TOKEN = "refresh";
+
     @Value("${application.security.jwt.secret}")
     private String jwtSecret;
 
     @Value("${application.security.jwt.expiration}")
     private long jwtExpirationMs;
 
-    // Generate token from Authentication
+    @Value("${application.security.jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+
+    // Generate access token from Authentication
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return generateAccessToken(userDetails.getUsername());
+    }
+
+    // Short-lived token sent on every request
+    public String generateAccessToken(String username) {
+        return buildToken(username, ACCESS_TOKEN, jwtExpirationMs);
+    }
+
+    // Long-lived token only accepted by /api/auth/refresh
+    public String generateRefreshToken(String username) {
+        return buildToken(username, REFRESH_TOKEN, refreshExpirationMs);
+    }
 
+    public long getAccessTokenExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    private String buildToken(String username, String tokenType, long ttlMs) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+        Date expiryDate = new Date(now.getTime() + ttlMs);
 
         return Jwts.builder()
                 .header()
                 .add("typ", "JWT")
                 .and()
-                .subject(userDetails.getUsername())
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claim(TOKEN_TYPE_CLAIM, tokenType)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -60,6 +87,20 @@ public class JwtTokenProvider {
         return extractAllClaims(token) != null;
     }
 
+    // Parse once and hand the claims back, so callers don't re-verify the signature per check
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+    // Tokens issued before refresh tokens existed carry no type and are treated as access tokens
+    public boolean isAccessToken(Claims claims) {
+        return !REFRESH_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+
     // Parse all claims from token
     private Claims extractAllClaims(String token) {
         try {
@@ -0,0 +1,182 @@
+package org.example.healthcare.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare.exception.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket limiter for /api/auth/login, keyed by username and by client IP.
+ * <p>
+ * Runs before the AuthenticationManager, so rejected attempts never reach the users
+ * lookup or the BCrypt check. Buckets live in ConcurrentHashMaps and are updated with
+ * {@code compute}, which only locks the key's bin — no global lock on the login path.
+ * Buckets that have refilled completely carry no state worth keeping and are evicted,
+ * and each map is capped so a flood of distinct keys cannot grow memory without bound.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private static final long SWEEP_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Bucket> usernameBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> ipBuckets = new ConcurrentHashMap<>();
+
+    private final Policy usernamePolicy;
+    private final Policy ipPolicy;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    private final Counter usernameRejections;
+    private final Counter ipRejections;
+
+    private volatile long lastForcedSweep;
+
+    @Autowired
+    public LoginRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${application.security.login-rate-limit.username.capacity:5}") int usernameCapacity,
+            @Value("${application.security.login-rate-limit.username.refill-per-minute:5}") int usernameRefillPerMinute,
+            @Value("${application.security.login-rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${application.security.login-rate-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+            @Value("${application.security.login-rate-limit.max-entries:100000}") int maxEntries) {
+        this(meterRegistry, new Policy(usernameCapacity, usernameRefillPerMinute),
+                new Policy(ipCapacity, ipRefillPerMinute), maxEntries, System::nanoTime);
+    }
+
+    LoginRateLimiter(MeterRegistry meterRegistry, Policy usernamePolicy, Policy ipPolicy,
+                     int maxEntries, LongSupplier nanoClock) {
+        this.usernamePolicy = usernamePolicy;
+        this.ipPolicy = ipPolicy;
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+        this.lastForcedSweep = nanoClock.getAsLong() - SWEEP_BACKOFF_NANOS;
+
+        this.usernameRejections = Counter.builder("auth.login.rejected")
+                .description("Login attempts rejected by the rate limiter before authentication")
+                .tag("limit", "username")
+                .register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.rejected")
+                .description("Login attempts rejected by the rate limiter before authentication")
+                .tag("limit", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.rate_limiter.entries", usernameBuckets, Map::size)
+                .tag("limit", "username")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.rate_limiter.entries", ipBuckets, Map::size)
+                .tag("limit", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the caller's IP bucket and then from the username bucket.
+     * The IP is checked first so one client spraying many usernames is stopped by a single bucket.
+     */
+    public void checkAllowed(String username, String clientIp) {
+        long now = nanoClock.getAsLong();
+
+        long ipWait = tryConsume(ipBuckets, clientIp, ipPolicy, now);
+        if (ipWait > 0) {
+            ipRejections.increment();
+            throw new RateLimitExceededException("Too many login attempts from this address", toRetrySeconds(ipWait));
+        }
+
+        String usernameKey = username.toLowerCase(Locale.ROOT);
+        long usernameWait = tryConsume(usernameBuckets, usernameKey, usernamePolicy, now);
+        if (usernameWait > 0) {
+            usernameRejections.increment();
+            throw new RateLimitExceededException("Too many login attempts for this account", toRetrySeconds(usernameWait));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.login-rate-limit.eviction-interval:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        evictFull(usernameBuckets, usernamePolicy, now);
+        evictFull(ipBuckets, ipPolicy, now);
+    }
+
+    // Returns 0 when a token was taken, otherwise the nanos until the next token is available
+    private long tryConsume(Map<String, Bucket> buckets, String key, Policy policy, long now) {
+        if (!buckets.containsKey(key) && buckets.size() >= maxEntries && !makeRoom(buckets, policy, now)) {
+            // Still full of active keys: stop tracking new ones rather than lock everybody out.
+            // The other limiter keeps applying, so a flood cannot bypass both.
+            return 0;
+        }
+
+        long[] waitNanos = new long[1];
+        buckets.compute(key, (k, bucket) -> {
+            Bucket current = bucket == null ? Bucket.full(policy, now) : bucket.refill(policy, now);
+            if (current.tokens() >= 1) {
+                return current.take();
+            }
+            waitNanos[0] = policy.nanosUntilNextToken(current.tokens());
+            return current;
+        });
+        return waitNanos[0];
+    }
+
+    private boolean makeRoom(Map<String, Bucket> buckets, Policy policy, long now) {
+        if (now - lastForcedSweep >= SWEEP_BACKOFF_NANOS) {
+            lastForcedSweep = now;
+            evictFull(buckets, policy, now);
+        }
+        return buckets.size() < maxEntries;
+    }
+
+    // A bucket that has refilled to capacity behaves exactly like a brand-new one, so dropping it is lossless
+    private void evictFull(Map<String, Bucket> buckets, Policy policy, long now) {
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().refill(policy, now).tokens() >= policy.capacity());
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("[SECURITY] Evicted {} idle login rate-limit bucket(s)", evicted);
+        }
+    }
+
+    private static long toRetrySeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    // ==================== BUCKET MODEL ====================
+
+    record Policy(int capacity, int refillPerMinute) {
+
+        double tokensPerNano() {
+            return refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        }
+
+        long nanosUntilNextToken(double tokens) {
+            return (long) Math.ceil((1 - tokens) / tokensPerNano());
+        }
+    }
+
+    // Immutable so a bucket is only ever replaced inside compute(), never mutated in place
+    record Bucket(double tokens, long updatedAt) {
+
+        static Bucket full(Policy policy, long now) {
+            return new Bucket(policy.capacity(), now);
+        }
+
+        Bucket refill(Policy policy, long now) {
+            double refilled = Math.min(policy.capacity(), tokens + (now - updatedAt) * policy.tokensPerNano());
+            return new Bucket(refilled, now);
+        }
+
+        Bucket take() {
+            return new Bucket(tokens - 1, updatedAt);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.healthcare.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.repository.sql.RevokedTokenRepository;
+import org.example.healthcare.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the set of revoked token ids (jti) in memory so the JWT filter can check
+ * revocation on every request without a database read.
+ * <p>
+ * A Bloom filter sits in front of the exact set: almost every token is not revoked, and
+ * for those the filter answers "definitely not" without touching the map. The exact set
+ * weeds out the filter's false positives. Revocations are written to MySQL so they
+ * survive restarts, and rows are purged once the token would have expired anyway. Every
+ * node periodically pulls rows revoked since its last sync, so a logout on one node is
+ * honoured by the others within one sync interval.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+
+    // jti -> token expiry
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+    // Swapped wholesale on purge; mutated only while holding "this" so a rebuild never loses a put
+    private volatile BloomFilter filter;
+
+    // Until the persisted revocations are loaded a revoked token could be accepted; readiness waits on this
+    private volatile boolean loaded;
+
+    // Start of the last successful load or sync; written only at startup and by the sync job,
+    // which a fixed delay never runs concurrently with itself
+    private volatile LocalDateTime syncedFrom;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${application.security.jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+            @Value("${application.security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${application.security.jwt.revocation.sync-overlap:60s}") Duration syncOverlap) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = syncOverlap;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    // Loaded before the web server accepts requests, so a restart never re-admits a revoked token
+    @PostConstruct
+    void loadRevokedTokens() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            revokedTokenRepository.findByExpiresAtAfter(startedAt)
+                    .forEach(token -> revoked.put(token.getTokenId(), token.getExpiresAt()));
+            rebuildFilter();
+            syncedFrom = startedAt;
+            loaded = true;
+            log.info("[SECURITY] Loaded {} revoked token(s)", revoked.size());
+        } catch (DataAccessException ex) {
+            log.error("[SECURITY] Failed to load revoked tokens: {}", ex.getMessage(), ex);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    // Returns true only for the call that actually revoked the token; a token that was already
+    // revoked (here or on another node, per the shared table) or has already expired returns false
+    @Transactional
+    public boolean revoke(String tokenId, String username, Date expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return false;
+        }
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        LocalDateTime now = LocalDateTime.now();
+        if (!expiry.isAfter(now)) {
+            return false;
+        }
+
+        boolean inserted;
+        try {
+            inserted = revokedTokenRepository.insertIfAbsent(tokenId, username, expiry, now) == 1;
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to revoke token for user: " + username, ex);
+        }
+
+        remember(tokenId, expiry);
+        return inserted;
+    }
+
+    // Short fixed delay, so it doubles as the retry for a failed startup load: the node stays
+    // unready only until the database answers again, not until the next purge
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation.sync-interval:10000}")
+    @Transactional(readOnly = true)
+    public void syncRevocations() {
+        if (!loaded) {
+            loadRevokedTokens();
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        // revoked_at comes from the revoking node's clock and its transaction may commit after
+        // our last sync started, so look back a little further; re-adding a known id is harmless
+        LocalDateTime since = syncedFrom.minus(syncOverlap);
+        try {
+            int before = revoked.size();
+            revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, startedAt)
+                    .forEach(token -> remember(token.getTokenId(), token.getExpiresAt()));
+            syncedFrom = startedAt;
+            if (revoked.size() > before) {
+                log.debug("[SECURITY] Synced {} revoked token(s) from other nodes", revoked.size() - before);
+            }
+        } catch (DataAccessException ex) {
+            // Keep syncedFrom, so the next run covers the gap
+            log.warn("[SECURITY] Failed to sync revoked tokens: {}", ex.getMessage());
+        }
+    }
+
+    // Bloom filters cannot delete, so expired entries are dropped by rebuilding from the exact set
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation.purge-interval:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        for (Map.Entry<String, LocalDateTime> entry : revoked.entrySet()) {
+            if (!entry.getValue().isAfter(now) && revoked.remove(entry.getKey(), entry.getValue())) {
+                purged++;
+            }
+        }
+        try {
+            revokedTokenRepository.deleteExpired(now);
+        } catch (DataAccessException ex) {
+            log.error("[SECURITY] Failed to purge expired revoked tokens: {}", ex.getMessage(), ex);
+        }
+        if (purged > 0) {
+            rebuildFilter();
+            log.debug("[SECURITY] Purged {} expired revoked token(s)", purged);
+        }
+    }
+
+    // Exact set first, then the filter: a reader that sees the filter bit always finds the entry
+    private void remember(String tokenId, LocalDateTime expiry) {
+        revoked.put(tokenId, expiry);
+        synchronized (this) {
+            filter.put(tokenId);
+        }
+    }
+
+    private synchronized void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.healthcare.service;
 
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.dto.response.AdminResponse;
 import org.example.healthcare.exception.DatabaseOperationException;
 import org.example.healthcare.exception.ResourceNotFoundException;
@@ -32,7 +33,9 @@ public class AdminService {
     private final PrescriptionRepository prescriptionRepository;
     private final MedicalRecordRepository medicalRecordRepository;
     private final AdminRepository adminRepository;
+    private final NameChangeEventRepository nameChangeEventRepository;
     private final AdminMapper adminMapper;
+    private final PatientHistoryCache historyCache;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -40,7 +43,7 @@ public class AdminService {
     // Tables whose rows the reset clears — their AUTO_INCREMENT counters restart afterwards.
     // "users" keeps the admin row, so MySQL clamps its counter to MAX(id) + 1 rather than 1.
     private static final List<String> RESET_TABLES =
-            List.of("appointments", "doctor_availability", "doctors", "patients", "users");
+            List.of("name_change_events", "appointments", "doctor_availability", "doctors", "patients", "users");
 
     public List<AdminResponse> getAllAdmins() {
         try {
@@ -71,15 +74,21 @@ public class AdminService {
             medicalRecordRepository.deleteAll();
             log.info("[ADMIN] MongoDB collections cleared");
 
+            // Outbox first: a queued rename would otherwise be drained against whoever gets the old id next.
+            // It has no foreign keys, and may hold many finished rows, so one bulk DELETE.
+            nameChangeEventRepository.deleteAllInBatch();
             appointmentRepository.deleteAll();
             availabilityRepository.deleteAll();
             doctorRepository.deleteAll();
             patientRepository.deleteAll();
-            log.info("[ADMIN] SQL tables cleared (appointments, availability, doctors, patients)");
+            log.info("[ADMIN] SQL tables cleared (name change outbox, appointments, availability, doctors, patients)");
 
             userRepository.deleteAllByRoleNot(Role.ADMIN);
             log.info("[ADMIN] Non-admin users deleted");
 
+            // Ids restart below, so a new patient would otherwise match a previous patient's cached history
+            historyCache.invalidateAll();
+
             resetAutoIncrementCounters();
             log.info("[ADMIN] AUTO_INCREMENT counters reset");
 
@@ -1,6 +1,7 @@
 package org.example.healthcare.service;
 
 import org.example.healthcare.aspect.annotation.LogAppointment;
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.dto.request.AppointmentRequest;
 import org.example.healthcare.dto.response.AppointmentResponse;
 import org.example.healthcare.dto.response.AvailableSlotResponse;
@@ -10,6 +11,10 @@ import org.example.healthcare.exception.DoubleBookingException;
 import org.example.healthcare.exception.ResourceNotFoundException;
 import org.example.healthcare.security.CallerGuard;
 import org.example.healthcare.mapper.AppointmentMapper;
+import org.example.healthcare.monitoring.IdBuckets;
+import org.example.healthcare.monitoring.jfr.BookingEvent;
+import org.example.healthcare.monitoring.jfr.HealthcareEvent;
+import org.example.healthcare.monitoring.jfr.SlotComputationEvent;
 import org.example.healthcare.models.sql.Appointment;
 import org.example.healthcare.models.sql.Doctor;
 import org.example.healthcare.models.sql.DoctorAvailability;
@@ -39,12 +44,29 @@ public class AppointmentService {
     private final DoctorAvailabilityRepository availabilityRepository;
     private final AppointmentMapper appointmentMapper;
     private final CallerGuard callerGuard;
+    private final PatientHistoryCache historyCache;
 
     // ==================== BOOK ====================
 
     @Transactional
-    @LogAppointment(action = "BOOK")
+    @LogAppointment(action = "BOOK", fields = {"patientId", "request.doctorId", "request.appointmentDate", "request.startTime", "result.id"})
     public AppointmentResponse bookAppointment(Long patientId, AppointmentRequest request) {
+        BookingEvent event = new BookingEvent();
+        event.begin();
+        event.doctorBucket = IdBuckets.of(request.getDoctorId());
+        try {
+            AppointmentResponse booked = book(patientId, request);
+            event.outcome = "booked";
+            return booked;
+        } catch (RuntimeException ex) {
+            event.outcome = HealthcareEvent.outcomeOf(ex);
+            throw ex;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private AppointmentResponse book(Long patientId, AppointmentRequest request) {
 
         Patient patient = findPatientOrThrow(patientId);
         Doctor doctor = findDoctorOrThrow(request.getDoctorId());
@@ -82,7 +104,9 @@ public class AppointmentService {
                 .build();
 
         try {
-            return appointmentMapper.toResponse(appointmentRepository.save(appointment));
+            AppointmentResponse booked = appointmentMapper.toResponse(appointmentRepository.save(appointment));
+            historyCache.patientChanged(patientId);
+            return booked;
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to book appointment", ex);
         }
@@ -92,6 +116,23 @@ public class AppointmentService {
 
     @Transactional(readOnly = true)
     public List<AvailableSlotResponse> getAvailableSlots(Long doctorId, LocalDate date) {
+        SlotComputationEvent event = new SlotComputationEvent();
+        event.begin();
+        event.doctorBucket = IdBuckets.of(doctorId);
+        try {
+            List<AvailableSlotResponse> slots = computeSlots(doctorId, date, event);
+            event.slotCount = slots.size();
+            event.outcome = "success";
+            return slots;
+        } catch (RuntimeException ex) {
+            event.outcome = HealthcareEvent.outcomeOf(ex);
+            throw ex;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private List<AvailableSlotResponse> computeSlots(Long doctorId, LocalDate date, SlotComputationEvent event) {
 
         Doctor doctor = findDoctorOrThrow(doctorId);
         DoctorAvailability availability = findAvailabilityOrThrow(doctorId, date);
@@ -102,6 +143,7 @@ public class AppointmentService {
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to fetch booked appointments for doctor id: " + doctorId, ex);
         }
+        event.bookedCount = bookedAppointments.size();
 
         List<AvailableSlotResponse> availableSlots = new ArrayList<>();
         LocalTime current = availability.getStartTime();
@@ -134,7 +176,7 @@ public class AppointmentService {
     // ==================== CANCEL (Patient) ====================
 
     @Transactional
-    @LogAppointment(action = "CANCEL")
+    @LogAppointment(action = "CANCEL", fields = {"appointmentId"})
     public void cancelAppointment(Long appointmentId) {
         Appointment appointment = findAppointmentOrThrow(appointmentId);
         callerGuard.assertPatientOwns(appointment.getPatient().getId());
@@ -146,6 +188,7 @@ public class AppointmentService {
         appointment.setStatus(AppointmentStatus.CANCELLED);
         try {
             appointmentRepository.save(appointment);
+            historyCache.patientChanged(appointment.getPatient().getId());
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to cancel appointment with id: " + appointmentId, ex);
         }
@@ -154,7 +197,7 @@ public class AppointmentService {
     // ==================== COMPLETE (Doctor) ====================
 
     @Transactional
-    @LogAppointment(action = "COMPLETE")
+    @LogAppointment(action = "COMPLETE", fields = {"appointmentId", "result.status"})
     public AppointmentResponse completeAppointment(Long appointmentId, String notes) {
         Appointment appointment = findAppointmentOrThrow(appointmentId);
         callerGuard.assertDoctorOwns(appointment.getDoctor().getId());
@@ -167,7 +210,9 @@ public class AppointmentService {
         appointment.setNotes(notes);
 
         try {
-            return appointmentMapper.toResponse(appointmentRepository.save(appointment));
+            AppointmentResponse completed = appointmentMapper.toResponse(appointmentRepository.save(appointment));
+            historyCache.patientChanged(appointment.getPatient().getId());
+            return completed;
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to complete appointment with id: " + appointmentId, ex);
         }
@@ -176,7 +221,7 @@ public class AppointmentService {
     // ==================== DELETE (Patient, Admin) ====================
 
     @Transactional
-    @LogAppointment(action = "DELETE")
+    @LogAppointment(action = "DELETE", fields = {"appointmentId"})
     public void deleteAppointment(Long appointmentId) {
         Appointment appointment = findAppointmentOrThrow(appointmentId);
         callerGuard.assertPatientOwns(appointment.getPatient().getId());
@@ -187,6 +232,7 @@ public class AppointmentService {
 
         try {
             appointmentRepository.delete(appointment);
+            historyCache.patientChanged(appointment.getPatient().getId());
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to delete appointment with id: " + appointmentId, ex);
         }
@@ -205,7 +251,7 @@ public class AppointmentService {
     public List<AppointmentResponse> getPatientAppointments(Long patientId) {
         callerGuard.assertPatientOwns(patientId);
         try {
-            return appointmentRepository.findByPatientId(patientId).stream()
+            return appointmentRepository.findWithParticipantsByPatientId(patientId).stream()
                     .map(appointmentMapper::toResponse)
                     .collect(Collectors.toList());
         } catch (DataAccessException ex) {
@@ -217,7 +263,7 @@ public class AppointmentService {
     public List<AppointmentResponse> getDoctorAppointments(Long doctorId) {
         callerGuard.assertDoctorOwns(doctorId);
         try {
-            return appointmentRepository.findByDoctorId(doctorId).stream()
+            return appointmentRepository.findWithParticipantsByDoctorId(doctorId).stream()
                     .map(appointmentMapper::toResponse)
                     .collect(Collectors.toList());
         } catch (DataAccessException ex) {
@@ -1,6 +1,9 @@
 package org.example.healthcare.service;
 
+import io.jsonwebtoken.Claims;
+import org.example.healthcare.cache.DoctorCacheUpdater;
 import org.example.healthcare.dto.request.LoginRequest;
+import org.example.healthcare.dto.request.RefreshTokenRequest;
 import org.example.healthcare.dto.request.RegisterAdminRequest;
 import org.example.healthcare.dto.request.RegisterDoctorRequest;
 import org.example.healthcare.dto.request.RegisterPatientRequest;
@@ -8,7 +11,9 @@ import org.example.healthcare.dto.response.JwtResponse;
 import org.example.healthcare.models.enums.Role;
 import org.example.healthcare.exception.DatabaseOperationException;
 import org.example.healthcare.exception.DuplicateResourceException;
+import org.example.healthcare.exception.InvalidTokenException;
 import org.example.healthcare.exception.ResourceNotFoundException;
+import org.example.healthcare.mapper.DoctorMapper;
 import org.example.healthcare.models.sql.Admin;
 import org.example.healthcare.models.sql.Doctor;
 import org.example.healthcare.models.sql.Patient;
@@ -19,8 +24,11 @@ import org.example.healthcare.repository.sql.PatientRepository;
 import org.example.healthcare.repository.sql.UserRepository;
 import org.example.healthcare.security.CustomUserDetails;
 import org.example.healthcare.security.JwtTokenProvider;
+import org.example.healthcare.security.LoginRateLimiter;
+import org.example.healthcare.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -28,8 +36,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.cache.annotation.Caching;
-import org.springframework.cache.annotation.CacheEvict;
 
 @Service
 @RequiredArgsConstructor
@@ -42,38 +48,78 @@ public class AuthService {
     private final PatientRepository patientRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final UserUniquenessService userUniquenessService;
+    private final DoctorMapper doctorMapper;
+    private final DoctorCacheUpdater doctorCacheUpdater;
 
     // ==================== LOGIN ====================
 
-    public JwtResponse login(LoginRequest request) {
+    public JwtResponse login(LoginRequest request, String clientIp) {
+        // Throttled before authentication so rejected attempts cost neither a users lookup nor BCrypt
+        loginRateLimiter.checkAllowed(request.getUsername(), clientIp);
+
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = jwtTokenProvider.generateToken(authentication);
 
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        User user = userDetails.getUser();
+        return issueTokens(userDetails.getUser());
+    }
 
-        Long roleEntityId = resolveRoleEntityId(user);
+    // ==================== REFRESH ====================
 
-        return JwtResponse.builder()
-                .token(token)
-                .type("Bearer")
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .role(user.getRole())
-                .roleEntityId(roleEntityId)
-                .build();
+    // Trades a refresh token for a new token pair without re-running BCrypt.
+    // The presented refresh token is revoked (rotation), so a stolen copy works at most once:
+    // the revocation is an insert-only row, and only the call that inserted it gets new tokens.
+    public JwtResponse refresh(RefreshTokenRequest request) {
+        Claims claims = jwtTokenProvider.parseClaims(request.getRefreshToken());
+        if (claims == null || !jwtTokenProvider.isRefreshToken(claims)
+                || tokenRevocationService.isRevoked(claims.getId())) {
+            throw new InvalidTokenException("Invalid or expired refresh token");
+        }
+
+        User user;
+        try {
+            user = userRepository.findByUsername(claims.getSubject())
+                    .filter(User::getEnabled)
+                    .orElseThrow(() -> new InvalidTokenException("Invalid or expired refresh token"));
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to refresh token for user: " + claims.getSubject(), ex);
+        }
+
+        if (!revoke(claims)) {
+            // A concurrent refresh with the same token revoked it first
+            throw new InvalidTokenException("Invalid or expired refresh token");
+        }
+        return issueTokens(user);
     }
-    
+
+    // ==================== LOGOUT ====================
+
+    public void logout(String accessToken, String refreshToken) {
+        Claims access = jwtTokenProvider.parseClaims(accessToken);
+        if (access == null) {
+            return;
+        }
+        revoke(access);
+
+        // Only the caller's own refresh token can be revoked alongside the access token
+        Claims refresh = refreshToken != null ? jwtTokenProvider.parseClaims(refreshToken) : null;
+        if (refresh != null && jwtTokenProvider.isRefreshToken(refresh)
+                && access.getSubject().equals(refresh.getSubject())) {
+            revoke(refresh);
+        }
+    }
+
     // ==================== REGISTER ADMIN ====================
 
     @Transactional
     public void registerAdmin(RegisterAdminRequest request) {
-        validateNewUser(request.getUsername(), request.getEmail());
+        userUniquenessService.assertAvailable(request.getUsername(), request.getEmail());
         User savedUser = createUser(request.getUsername(), request.getEmail(), request.getPassword(), Role.ADMIN);
 
         try {
@@ -89,21 +135,19 @@ public class AuthService {
 
     // ==================== REGISTER DOCTOR ====================
 
+    // Cached doctor lists are extended after commit rather than evicted, so they stay warm during onboarding
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "allDoctors", allEntries = true),
-            @CacheEvict(value = "doctorsBySpecialty", allEntries = true)
-    })
     public void registerDoctor(RegisterDoctorRequest request) {
-        validateNewUser(request.getUsername(), request.getEmail());
+        userUniquenessService.assertAvailable(request.getUsername(), request.getEmail());
         User savedUser = createUser(request.getUsername(), request.getEmail(), request.getPassword(), Role.DOCTOR);
 
         try {
-            doctorRepository.save(Doctor.builder()
+            Doctor savedDoctor = doctorRepository.save(Doctor.builder()
                     .user(savedUser)
                     .name(request.getName())
                     .specialty(request.getSpecialty())
                     .build());
+            doctorCacheUpdater.doctorAdded(doctorMapper.toResponse(savedDoctor));
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to register doctor: " + request.getUsername(), ex);
         }
@@ -113,7 +157,7 @@ public class AuthService {
 
     @Transactional
     public void registerPatient(RegisterPatientRequest request) {
-        validateNewUser(request.getUsername(), request.getEmail());
+        userUniquenessService.assertAvailable(request.getUsername(), request.getEmail());
         User savedUser = createUser(request.getUsername(), request.getEmail(), request.getPassword(), Role.PATIENT);
 
         try {
@@ -131,31 +175,42 @@ public class AuthService {
 
     // ==================== HELPERS ====================
 
-    private void validateNewUser(String username, String email) {
-        try {
-            if (userRepository.existsByUsername(username)) {
-                throw new DuplicateResourceException("Username already exists");
-            }
-            if (userRepository.existsByEmail(email)) {
-                throw new DuplicateResourceException("Email already exists");
-            }
-        } catch (DataAccessException ex) {
-            throw new DatabaseOperationException("Failed to validate user: " + username, ex);
-        }
-    }
-
     private User createUser(String username, String email, String password, Role role) {
+        User savedUser;
         try {
-            return userRepository.save(User.builder()
+            savedUser = userRepository.save(User.builder()
                     .username(username)
                     .email(email)
                     .password(passwordEncoder.encode(password))
                     .role(role)
                     .enabled(true)
                     .build());
+        } catch (DataIntegrityViolationException ex) {
+            // The unique constraints are the final authority: a concurrent registration won the race
+            throw new DuplicateResourceException("Username or email already exists");
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to create user: " + username, ex);
         }
+        userUniquenessService.record(username, email);
+        return savedUser;
+    }
+
+    private JwtResponse issueTokens(User user) {
+        return JwtResponse.builder()
+                .token(jwtTokenProvider.generateAccessToken(user.getUsername()))
+                .refreshToken(jwtTokenProvider.generateRefreshToken(user.getUsername()))
+                .expiresIn(jwtTokenProvider.getAccessTokenExpirationMs() / 1000)
+                .type("Bearer")
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .roleEntityId(resolveRoleEntityId(user))
+                .build();
+    }
+
+    private boolean revoke(Claims claims) {
+        return tokenRevocationService.revoke(claims.getId(), claims.getSubject(), claims.getExpiration());
     }
 
     private Long resolveRoleEntityId(User user) {
@@ -1,11 +1,14 @@
 package org.example.healthcare.service;
 
 import org.example.healthcare.aspect.annotation.LogDoctor;
+import org.example.healthcare.cache.DoctorCacheUpdater;
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.dto.request.DoctorRequest;
 import org.example.healthcare.dto.response.DoctorResponse;
 import org.example.healthcare.exception.DatabaseOperationException;
 import org.example.healthcare.exception.ResourceNotFoundException;
 import org.example.healthcare.mapper.DoctorMapper;
+import org.example.healthcare.models.enums.NameSubjectType;
 import org.example.healthcare.models.sql.Doctor;
 import org.example.healthcare.models.sql.User;
 import org.example.healthcare.repository.sql.AppointmentRepository;
@@ -16,11 +19,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -33,37 +38,43 @@ public class DoctorService {
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final DoctorMapper doctorMapper;
+    private final NamePropagationService namePropagationService;
+    private final PatientHistoryCache historyCache;
+    private final DoctorCacheUpdater doctorCacheUpdater;
 
     // ==================== GET ====================
 
-    @Cacheable(value = "allDoctors")
-    @LogDoctor(action = "GET_ALL", cacheAction = "MISS")
+    // List reads are cached through DoctorCacheUpdater so a registration committing mid-load cannot leave a stale list
+    @LogDoctor(action = "GET_ALL", fields = {"result"})
     public List<DoctorResponse> getAllDoctors() {
-        try {
-            return doctorRepository.findAll().stream()
-                    .map(doctorMapper::toResponse)
-                    .collect(Collectors.toList());
-        } catch (DataAccessException ex) {
-            throw new DatabaseOperationException("Failed to fetch all doctors", ex);
-        }
+        return doctorCacheUpdater.cachedList("allDoctors", SimpleKey.EMPTY, () -> {
+            try {
+                return doctorRepository.findAll().stream()
+                        .map(doctorMapper::toResponse)
+                        .collect(Collectors.toList());
+            } catch (DataAccessException ex) {
+                throw new DatabaseOperationException("Failed to fetch all doctors", ex);
+            }
+        });
     }
 
     @Cacheable(value = "doctorById", key = "#id")
-    @LogDoctor(action = "GET_BY_ID", cacheAction = "MISS")
+    @LogDoctor(action = "GET_BY_ID", cacheAction = "MISS", fields = {"id"})
     public DoctorResponse getDoctorById(Long id) {
         return doctorMapper.toResponse(findDoctorOrThrow(id));
     }
 
-    @Cacheable(value = "doctorsBySpecialty", key = "#specialty.toLowerCase()")
-    @LogDoctor(action = "GET_BY_SPECIALTY", cacheAction = "MISS")
+    @LogDoctor(action = "GET_BY_SPECIALTY", fields = {"specialty", "result"})
     public List<DoctorResponse> getDoctorsBySpecialty(String specialty) {
-        try {
-            return doctorRepository.findBySpecialtyContainingIgnoreCase(specialty).stream()
-                    .map(doctorMapper::toResponse)
-                    .collect(Collectors.toList());
-        } catch (DataAccessException ex) {
-            throw new DatabaseOperationException("Failed to fetch doctors by specialty: " + specialty, ex);
-        }
+        return doctorCacheUpdater.cachedList("doctorsBySpecialty", specialty.toLowerCase(Locale.ROOT), () -> {
+            try {
+                return doctorRepository.findBySpecialtyContainingIgnoreCase(specialty).stream()
+                        .map(doctorMapper::toResponse)
+                        .collect(Collectors.toList());
+            } catch (DataAccessException ex) {
+                throw new DatabaseOperationException("Failed to fetch doctors by specialty: " + specialty, ex);
+            }
+        });
     }
 
     // ==================== UPDATE (evicts cache) ====================
@@ -74,11 +85,16 @@ public class DoctorService {
             @CacheEvict(value = "doctorById", key = "#id"),
             @CacheEvict(value = "doctorsBySpecialty", allEntries = true)
     })
-    @LogDoctor(action = "UPDATE", cacheAction = "EVICT")
+    @LogDoctor(action = "UPDATE", cacheAction = "EVICT", fields = {"id", "request.specialty"})
     public DoctorResponse updateDoctor(Long id, DoctorRequest request) {
         Doctor doctor = findDoctorOrThrow(id);
+        boolean renamed = !Objects.equals(doctor.getName(), request.getName());
         doctor.setName(request.getName());
         doctor.setSpecialty(request.getSpecialty());
+        if (renamed) {
+            // Records and prescriptions carry a copy of the name; refreshed asynchronously
+            namePropagationService.enqueue(NameSubjectType.DOCTOR, id, request.getName());
+        }
         try {
             return doctorMapper.toResponse(doctorRepository.save(doctor));
         } catch (DataAccessException ex) {
@@ -94,12 +110,14 @@ public class DoctorService {
             @CacheEvict(value = "doctorById", key = "#id"),
             @CacheEvict(value = "doctorsBySpecialty", allEntries = true)
     })
-    @LogDoctor(action = "DELETE", cacheAction = "EVICT")
+    @LogDoctor(action = "DELETE", cacheAction = "EVICT", fields = {"id"})
     public void deleteDoctor(Long id) {
         Doctor doctor = findDoctorOrThrow(id);
         User user = doctor.getUser();
         try {
             appointmentRepository.deleteByDoctorIdIn(List.of(id));
+            // The deleted appointments may sit in any number of cached patient histories
+            historyCache.invalidateAll();
             doctorAvailabilityRepository.deleteByDoctorIdIn(List.of(id));
             doctorRepository.delete(doctor);
             // Flush so the doctor row is gone before its users row is removed (FK: doctors.user_id -> users.id)
@@ -120,7 +138,7 @@ public class DoctorService {
             @CacheEvict(value = "doctorById", allEntries = true),
             @CacheEvict(value = "doctorsBySpecialty", allEntries = true)
     })
-    @LogDoctor(action = "DELETE_BULK", cacheAction = "EVICT")
+    @LogDoctor(action = "DELETE_BULK", cacheAction = "EVICT", fields = {"ids"})
     public void deleteDoctors(List<Long> ids) {
         try {
             List<Doctor> doctorsToDelete = doctorRepository.findAllById(ids);
@@ -132,6 +150,7 @@ public class DoctorService {
                     .filter(Objects::nonNull)
                     .collect(Collectors.toList());
             appointmentRepository.deleteByDoctorIdIn(ids);
+            historyCache.invalidateAll();
             doctorAvailabilityRepository.deleteByDoctorIdIn(ids);
             doctorRepository.deleteAll(doctorsToDelete);
             // Flush so the doctor rows are gone before their users rows are removed (FK: doctors.user_id -> users.id)
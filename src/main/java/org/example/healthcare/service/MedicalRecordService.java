@@ -1,38 +1,71 @@
 package org.example.healthcare.service;
 
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.dto.request.MedicalRecordRequest;
+import org.example.healthcare.dto.response.AppointmentResponse;
+import org.example.healthcare.dto.response.HistorySectionResponse;
 import org.example.healthcare.dto.response.MedicalRecordResponse;
+import org.example.healthcare.dto.response.MedicalRecordSummaryResponse;
+import org.example.healthcare.dto.response.PatientHistoryPageResponse;
 import org.example.healthcare.dto.response.PatientHistoryResponse;
+import org.example.healthcare.dto.response.PrescriptionResponse;
 import org.example.healthcare.exception.DatabaseOperationException;
 import org.example.healthcare.exception.ResourceNotFoundException;
 import org.example.healthcare.mapper.AppointmentMapper;
 import org.example.healthcare.mapper.MedicalRecordMapper;
 import org.example.healthcare.mapper.PrescriptionMapper;
+import org.example.healthcare.models.enums.HistorySection;
 import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
 import org.example.healthcare.models.sql.Doctor;
 import org.example.healthcare.models.sql.Patient;
 import org.example.healthcare.repository.nosql.MedicalRecordRepository;
-import org.example.healthcare.repository.nosql.PrescriptionRepository;
 import org.example.healthcare.repository.sql.AppointmentRepository;
 import org.example.healthcare.repository.sql.DoctorRepository;
 import org.example.healthcare.repository.sql.PatientRepository;
 import org.example.healthcare.security.CallerGuard;
+import org.example.healthcare.util.HistoryCursor;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MedicalRecordService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    // The fields the history responses map; doctorId and the audit timestamps stay on the server
+    private static final String[] RECORD_FIELDS =
+            {"patientId", "patientName", "doctorName", "recordDate", "title", "description"};
+    private static final String[] PRESCRIPTION_FIELDS = {"appointmentId", "patientName", "doctorName",
+            "prescriptionDate", "appointmentDate", "medicines", "diagnosis", "instructions"};
+
     private final MedicalRecordRepository medicalRecordRepository;
-    private final PrescriptionRepository prescriptionRepository;
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
@@ -40,6 +73,19 @@ public class MedicalRecordService {
     private final PrescriptionMapper prescriptionMapper;
     private final AppointmentMapper appointmentMapper;
     private final CallerGuard callerGuard;
+    private final ExecutorService historyExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final MongoTemplate mongoTemplate;
+    private final PatientHistoryCache historyCache;
+
+    @Value("${application.history.timeout.records:2s}")
+    private Duration recordsTimeout;
+
+    @Value("${application.history.timeout.appointments:2s}")
+    private Duration appointmentsTimeout;
+
+    @Value("${application.history.timeout.prescriptions:2s}")
+    private Duration prescriptionsTimeout;
 
     // ==================== CREATE (Doctor) ====================
 
@@ -60,7 +106,9 @@ public class MedicalRecordService {
                 .build();
 
         try {
-            return medicalRecordMapper.toResponse(medicalRecordRepository.save(record));
+            MedicalRecord saved = medicalRecordRepository.save(record);
+            historyCache.patientChanged(saved.getPatientId());
+            return medicalRecordMapper.toResponse(saved);
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to create medical record", ex);
         }
@@ -68,30 +116,128 @@ public class MedicalRecordService {
 
     // ==================== GET ====================
 
-    @Transactional(readOnly = true)
+    // The three sections are independent, so they are fetched concurrently and the response
+    // takes as long as the slowest one rather than the sum. Each has its own timeout, applied
+    // to the query itself as well as to the future, so an abandoned fetch does not keep running.
+    // The assembled result is cached per patient until the next change to any section.
     public PatientHistoryResponse getPatientHistory(Long patientId) {
+        // Authorization first: a cached snapshot is shared by every caller allowed to see it
         callerGuard.assertPatientOwns(patientId);
+        PatientHistoryCache.Stamp stamp = historyCache.stamp(patientId);
+        PatientHistoryResponse cached = historyCache.get(patientId, stamp);
+        if (cached != null) {
+            return cached;
+        }
         Patient patient = findPatientOrThrow(patientId);
 
+        CompletableFuture<List<MedicalRecordResponse>> entries = fetchAsync(() ->
+                mongoTemplate.find(
+                        historyQuery(Criteria.where("patientId").is(patientId), recordsTimeout, RECORD_FIELDS)
+                                .with(Sort.by(Sort.Direction.DESC, "recordDate")), MedicalRecord.class).stream()
+                        .map(medicalRecordMapper::toResponse)
+                        .collect(Collectors.toList()), recordsTimeout);
+
+        // Sorted newest first and with its participants fetched by the query; mapped inside the read-only transaction
+        CompletableFuture<List<AppointmentResponse>> appointments = fetchAsync(() ->
+                readOnlyTransaction(appointmentsTimeout).execute(status ->
+                        appointmentRepository.findWithParticipantsByPatientId(patientId).stream()
+                                .map(appointmentMapper::toResponse)
+                                .collect(Collectors.toList())), appointmentsTimeout);
+
+        CompletableFuture<List<PrescriptionResponse>> prescriptions = fetchAsync(() ->
+                mongoTemplate.find(
+                        historyQuery(Criteria.where("patientId").is(patientId), prescriptionsTimeout, PRESCRIPTION_FIELDS),
+                        Prescription.class).stream()
+                        .map(prescriptionMapper::toResponse)
+                        .collect(Collectors.toList()), prescriptionsTimeout);
+
+        PatientHistoryResponse history = PatientHistoryResponse.builder()
+                .patientId(patient.getId())
+                .patientName(patient.getName())
+                .entries(await(entries, "medical records", patientId))
+                .appointments(await(appointments, "appointments", patientId))
+                .prescriptions(await(prescriptions, "prescriptions", patientId))
+                .build();
+        historyCache.put(patientId, stamp, history);
+        return history;
+    }
+
+    // Same fan-out as above, but each requested section returns one keyset page with its own cursor
+    public PatientHistoryPageResponse getPatientHistoryPage(Long patientId, Set<HistorySection> sections, int size,
+                                                            String recordsCursor, String appointmentsCursor,
+                                                            String prescriptionsCursor) {
+        callerGuard.assertPatientOwns(patientId);
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+        Set<HistorySection> requested = sections == null || sections.isEmpty()
+                ? EnumSet.allOf(HistorySection.class)
+                : sections;
+        HistoryCursor recordsAfter = HistoryCursor.decode(recordsCursor);
+        HistoryCursor appointmentsAfter = HistoryCursor.decode(appointmentsCursor);
+        HistoryCursor prescriptionsAfter = HistoryCursor.decode(prescriptionsCursor);
+        Patient patient = findPatientOrThrow(patientId);
+
+        CompletableFuture<HistorySectionResponse<MedicalRecordResponse>> entries =
+                requested.contains(HistorySection.RECORDS)
+                        ? fetchAsync(() -> page(mongoTemplate.find(
+                                keysetQuery(patientId, "recordDate", recordsAfter, size, recordsTimeout,
+                                        RECORD_FIELDS), MedicalRecord.class),
+                                size, medicalRecordMapper::toResponse,
+                                r -> new HistoryCursor(r.getRecordDate(), null, r.getId())), recordsTimeout)
+                        : null;
+
+        CompletableFuture<HistorySectionResponse<AppointmentResponse>> appointments =
+                requested.contains(HistorySection.APPOINTMENTS)
+                        ? fetchAsync(() -> readOnlyTransaction(appointmentsTimeout).execute(status -> page(
+                                appointmentsAfter == null
+                                        ? appointmentRepository.findHistoryFirstPage(patientId, Limit.of(size + 1))
+                                        : appointmentRepository.findHistoryPageAfter(patientId,
+                                                appointmentsAfter.date(), appointmentsAfter.time(),
+                                                parseAppointmentId(appointmentsAfter), Limit.of(size + 1)),
+                                size, appointmentMapper::toResponse,
+                                a -> new HistoryCursor(a.getAppointmentDate(), a.getStartTime(), a.getId().toString()))),
+                                appointmentsTimeout)
+                        : null;
+
+        CompletableFuture<HistorySectionResponse<PrescriptionResponse>> prescriptions =
+                requested.contains(HistorySection.PRESCRIPTIONS)
+                        ? fetchAsync(() -> page(mongoTemplate.find(
+                                keysetQuery(patientId, "prescriptionDate", prescriptionsAfter, size, prescriptionsTimeout,
+                                        PRESCRIPTION_FIELDS), Prescription.class),
+                                size, prescriptionMapper::toResponse,
+                                p -> new HistoryCursor(p.getPrescriptionDate(), null, p.getId())), prescriptionsTimeout)
+                        : null;
+
+        return PatientHistoryPageResponse.builder()
+                .patientId(patient.getId())
+                .patientName(patient.getName())
+                .entries(entries != null ? await(entries, "medical records", patientId) : null)
+                .appointments(appointments != null ? await(appointments, "appointments", patientId) : null)
+                .prescriptions(prescriptions != null ? await(prescriptions, "prescriptions", patientId) : null)
+                .build();
+    }
+
+    // List view of the patient's records without descriptions; the detail endpoint returns the full record
+    public List<MedicalRecordSummaryResponse> getPatientRecordSummaries(Long patientId) {
+        callerGuard.assertPatientOwns(patientId);
         try {
-            return PatientHistoryResponse.builder()
-                    .patientId(patient.getId())
-                    .patientName(patient.getName())
-                    .entries(medicalRecordRepository.findByPatientIdOrderByRecordDateDesc(patientId).stream()
-                            .map(medicalRecordMapper::toResponse)
-                            .collect(Collectors.toList()))
-                    .appointments(appointmentRepository.findByPatientId(patientId).stream()
-                            .sorted(Comparator.comparing(org.example.healthcare.models.sql.Appointment::getAppointmentDate)
-                                    .thenComparing(org.example.healthcare.models.sql.Appointment::getStartTime)
-                                    .reversed())
-                            .map(appointmentMapper::toResponse)
-                            .collect(Collectors.toList()))
-                    .prescriptions(prescriptionRepository.findByPatientId(patientId).stream()
-                            .map(prescriptionMapper::toResponse)
-                            .collect(Collectors.toList()))
-                    .build();
+            return medicalRecordRepository.findSummariesByPatientId(patientId).stream()
+                    .map(medicalRecordMapper::toSummary)
+                    .collect(Collectors.toList());
         } catch (DataAccessException ex) {
-            throw new DatabaseOperationException("Failed to assemble the record for patient id: " + patientId, ex);
+            throw new DatabaseOperationException("Failed to fetch medical records for patient id: " + patientId, ex);
+        }
+    }
+
+    public List<MedicalRecordSummaryResponse> getDoctorRecordSummaries(Long doctorId) {
+        callerGuard.assertDoctorOwns(doctorId);
+        try {
+            return medicalRecordRepository.findSummariesByDoctorId(doctorId).stream()
+                    .map(medicalRecordMapper::toSummary)
+                    .collect(Collectors.toList());
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to fetch medical records for doctor id: " + doctorId, ex);
         }
     }
 
@@ -113,7 +259,9 @@ public class MedicalRecordService {
         record.setDescription(request.getDescription());
 
         try {
-            return medicalRecordMapper.toResponse(medicalRecordRepository.save(record));
+            MedicalRecord updated = medicalRecordRepository.save(record);
+            historyCache.patientChanged(updated.getPatientId());
+            return medicalRecordMapper.toResponse(updated);
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to update medical record with id: " + id, ex);
         }
@@ -128,6 +276,7 @@ public class MedicalRecordService {
 
         try {
             medicalRecordRepository.delete(record);
+            historyCache.patientChanged(record.getPatientId());
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to delete medical record with id: " + id, ex);
         }
@@ -135,6 +284,81 @@ public class MedicalRecordService {
 
     // ==================== HELPERS ====================
 
+    // orTimeout only fails the caller's future; the queries carry the same limit (maxTime, transaction timeout)
+    private <T> CompletableFuture<T> fetchAsync(Supplier<T> fetch, Duration timeout) {
+        return CompletableFuture.supplyAsync(fetch, historyExecutor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T await(CompletableFuture<T> section, String name, Long patientId) {
+        try {
+            return section.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new DatabaseOperationException("Timed out fetching " + name + " for patient id: " + patientId, cause);
+            }
+            if (cause instanceof DataAccessException) {
+                throw new DatabaseOperationException("Failed to assemble the record for patient id: " + patientId, cause);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    // Newest first on (date, _id); fetches one extra document to learn whether an older page exists
+    private Query keysetQuery(Long patientId, String dateField, HistoryCursor after, int size, Duration timeout,
+                              String... fields) {
+        Criteria criteria = Criteria.where("patientId").is(patientId);
+        if (after != null) {
+            // ObjectId rejects a malformed id with IllegalArgumentException, i.e. a 400
+            ObjectId lastId = new ObjectId(after.id());
+            criteria = criteria.orOperator(
+                    Criteria.where(dateField).lt(after.date()),
+                    Criteria.where(dateField).is(after.date()).and("_id").lt(lastId));
+        }
+        return historyQuery(criteria, timeout, fields)
+                .with(Sort.by(Sort.Direction.DESC, dateField, "_id"))
+                .limit(size + 1);
+    }
+
+    private static Query historyQuery(Criteria criteria, Duration timeout, String... fields) {
+        Query query = Query.query(criteria).maxTime(timeout);
+        query.fields().include(fields);
+        return query;
+    }
+
+    private static <S, T> HistorySectionResponse<T> page(List<S> rows, int size, Function<S, T> mapper,
+                                                        Function<S, HistoryCursor> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<S> pageRows = hasMore ? rows.subList(0, size) : rows;
+        return HistorySectionResponse.<T>builder()
+                .items(pageRows.stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(hasMore ? cursorOf.apply(pageRows.get(size - 1)).encode() : null)
+                .build();
+    }
+
+    private static Long parseAppointmentId(HistoryCursor cursor) {
+        if (cursor.time() == null) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+        try {
+            return Long.valueOf(cursor.id());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+    }
+
+    // JPA applies the transaction timeout to each query in it as a JDBC query timeout (whole seconds, rounded up)
+    private TransactionTemplate readOnlyTransaction(Duration timeout) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        return template;
+    }
+
     private LocalDate resolveRecordDate(LocalDate requested) {
         if (requested == null) {
             return LocalDate.now();
@@ -0,0 +1,135 @@
+package org.example.healthcare.service;
+
+import org.example.healthcare.dto.response.MedicalSearchHitResponse;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.models.enums.SearchHitType;
+import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
+import org.example.healthcare.security.CallerGuard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Relevance-ranked search over medical records (title, description) and prescriptions
+ * (diagnosis, medicines), backed by one Mongo text index per collection. Only the fields
+ * a hit shows are projected, so record bodies never leave the database.
+ * <p>
+ * Scores are relative: each collection's best hit scores 1 and the rest are scaled to it.
+ */
+@Service
+@RequiredArgsConstructor
+public class MedicalSearchService {
+
+    private static final int MAX_RESULTS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final CallerGuard callerGuard;
+
+    // Doctors may search any patient; patients only themselves
+    public List<MedicalSearchHitResponse> searchPatient(Long patientId, String terms, int limit) {
+        callerGuard.assertPatientOwns(patientId);
+        return search("patientId", patientId, terms, limit);
+    }
+
+    // Records and prescriptions written by one doctor
+    public List<MedicalSearchHitResponse> searchDoctor(Long doctorId, String terms, int limit) {
+        callerGuard.assertDoctorOwns(doctorId);
+        return search("doctorId", doctorId, terms, limit);
+    }
+
+    private List<MedicalSearchHitResponse> search(String scopeField, Long scopeId, String terms, int limit) {
+        if (terms == null || terms.isBlank()) {
+            throw new IllegalArgumentException("Search terms are required");
+        }
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+
+        try {
+            List<MedicalRecord> records = mongoTemplate.find(
+                    textQuery(terms, scopeField, scopeId, limit, "title", "recordDate"), MedicalRecord.class);
+            List<Prescription> prescriptions = mongoTemplate.find(
+                    textQuery(terms, scopeField, scopeId, limit, "diagnosis", "medicines", "prescriptionDate"),
+                    Prescription.class);
+
+            // Raw scores depend on each index's fields, weights and document lengths, so they are not
+            // comparable across collections. Each list is scaled so its best hit scores 1 before merging.
+            float topRecord = topScore(records.stream().map(MedicalRecord::getScore).toList());
+            float topPrescription = topScore(prescriptions.stream().map(Prescription::getScore).toList());
+            return Stream.concat(
+                            records.stream().map(record -> toHit(record, topRecord)),
+                            prescriptions.stream().map(prescription -> toHit(prescription, topPrescription)))
+                    .sorted(Comparator.comparingDouble(MedicalSearchHitResponse::getScore).reversed()
+                            .thenComparing(MedicalSearchHitResponse::getDate, Comparator.nullsLast(Comparator.reverseOrder())))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to search medical records", ex);
+        }
+    }
+
+    // The scope is part of the $text query's filter, so Mongo drops other owners' matches while
+    // fetching from the text index, before scoring, sorting and the limit
+    private Query textQuery(String terms, String scopeField, Long scopeId, int limit, String... fields) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(terms))
+                .sortByScore()
+                .addCriteria(Criteria.where(scopeField).is(scopeId))
+                .limit(limit);
+        query.fields().include("patientId", "patientName", "doctorId", "doctorName").include(fields);
+        return query;
+    }
+
+    private static float topScore(List<Float> scores) {
+        float top = 0f;
+        for (Float score : scores) {
+            if (score != null && score > top) {
+                top = score;
+            }
+        }
+        return top;
+    }
+
+    private static float relative(Float score, float top) {
+        return score != null && top > 0f ? score / top : 0f;
+    }
+
+    private MedicalSearchHitResponse toHit(MedicalRecord record, float topScore) {
+        return MedicalSearchHitResponse.builder()
+                .type(SearchHitType.MEDICAL_RECORD)
+                .id(record.getId())
+                .patientId(record.getPatientId())
+                .patientName(record.getPatientName())
+                .doctorId(record.getDoctorId())
+                .doctorName(record.getDoctorName())
+                .date(record.getRecordDate())
+                .title(record.getTitle())
+                .score(relative(record.getScore(), topScore))
+                .build();
+    }
+
+    private MedicalSearchHitResponse toHit(Prescription prescription, float topScore) {
+        return MedicalSearchHitResponse.builder()
+                .type(SearchHitType.PRESCRIPTION)
+                .id(prescription.getId())
+                .patientId(prescription.getPatientId())
+                .patientName(prescription.getPatientName())
+                .doctorId(prescription.getDoctorId())
+                .doctorName(prescription.getDoctorName())
+                .date(prescription.getPrescriptionDate())
+                .title(prescription.getDiagnosis())
+                .medicines(prescription.getMedicines())
+                .score(relative(prescription.getScore(), topScore))
+                .build();
+    }
+}
@@ -0,0 +1,253 @@
+package org.example.healthcare.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.models.enums.NameChangeStatus;
+import org.example.healthcare.models.enums.NameSubjectType;
+import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
+import org.example.healthcare.models.sql.Doctor;
+import org.example.healthcare.models.sql.NameChangeEvent;
+import org.example.healthcare.models.sql.Patient;
+import org.example.healthcare.repository.sql.DoctorRepository;
+import org.example.healthcare.repository.sql.NameChangeEventRepository;
+import org.example.healthcare.repository.sql.PatientRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the doctorName/patientName copies in medical_records and prescriptions in step with
+ * renames, off the request path.
+ * <p>
+ * A rename writes a {@link NameChangeEvent} in the same MySQL transaction as the rename, so
+ * the event cannot be lost or outlive a rollback. A scheduled worker claims due events
+ * with {@code FOR UPDATE SKIP LOCKED}, reads each subject's <em>current</em> name (so
+ * replays and out-of-order events still converge), and applies the whole batch as one
+ * unordered bulk of updateMany per collection. The updates are idempotent, so a failed
+ * batch is simply retried with exponential backoff until {@code max-attempts}.
+ */
+@Service
+@Slf4j
+public class NamePropagationService {
+
+    private final NameChangeEventRepository eventRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final MongoTemplate mongoTemplate;
+    private final PatientHistoryCache historyCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+
+    private final Counter propagated;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter documentsUpdated;
+    private final Timer drainTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public NamePropagationService(
+            NameChangeEventRepository eventRepository,
+            DoctorRepository doctorRepository,
+            PatientRepository patientRepository,
+            MongoTemplate mongoTemplate,
+            PatientHistoryCache historyCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${application.name-propagation.batch-size:200}") int batchSize,
+            @Value("${application.name-propagation.max-attempts:10}") int maxAttempts,
+            @Value("${application.name-propagation.initial-backoff:5s}") Duration initialBackoff) {
+        this.eventRepository = eventRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.historyCache = historyCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+
+        this.propagated = Counter.builder("name_propagation.events")
+                .description("Rename events processed by the propagation worker")
+                .tag("outcome", "done")
+                .register(meterRegistry);
+        this.retried = Counter.builder("name_propagation.events")
+                .description("Rename events processed by the propagation worker")
+                .tag("outcome", "retry")
+                .register(meterRegistry);
+        this.failed = Counter.builder("name_propagation.events")
+                .description("Rename events processed by the propagation worker")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.documentsUpdated = Counter.builder("name_propagation.documents.updated")
+                .description("Mongo documents whose denormalized name was rewritten")
+                .register(meterRegistry);
+        this.drainTimer = Timer.builder("name_propagation.drain")
+                .description("Time to claim and apply one batch of rename events")
+                .register(meterRegistry);
+        Gauge.builder("name_propagation.backlog", backlog, AtomicLong::get)
+                .description("Pending rename events as of the last drain")
+                .register(meterRegistry);
+    }
+
+    // ==================== ENQUEUE ====================
+
+    // Must run inside the caller's transaction so the event commits or rolls back with the rename
+    public void enqueue(NameSubjectType subjectType, Long subjectId, String newName) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            eventRepository.save(NameChangeEvent.builder()
+                    .subjectType(subjectType)
+                    .subjectId(subjectId)
+                    .newName(newName)
+                    .nextAttemptAt(now)
+                    .createdAt(now)
+                    .build());
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to record name change for " + subjectType + " " + subjectId, ex);
+        }
+    }
+
+    // ==================== DRAIN ====================
+
+    @Scheduled(fixedDelayString = "${application.name-propagation.poll-interval:5000}")
+    public void drain() {
+        try {
+            int processed;
+            do {
+                processed = drainTimer.record(() -> transactionTemplate.execute(status -> drainBatch()));
+            } while (processed == batchSize);
+            backlog.set(eventRepository.countByStatus(NameChangeStatus.PENDING));
+        } catch (DataAccessException ex) {
+            log.error("[NAME-SYNC] Could not drain rename events: {}", ex.getMessage(), ex);
+        }
+    }
+
+    // Returns the number of events claimed
+    private int drainBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NameChangeEvent> events = eventRepository.claimDue(now, batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            long modified = applyToMongo(events);
+            events.forEach(event -> {
+                event.setStatus(NameChangeStatus.DONE);
+                event.setProcessedAt(now);
+                event.setLastError(null);
+            });
+            invalidateHistories(events);
+            propagated.increment(events.size());
+            documentsUpdated.increment(modified);
+            log.debug("[NAME-SYNC] Propagated {} rename(s), {} document(s) updated", events.size(), modified);
+        } catch (DataAccessException ex) {
+            events.forEach(event -> scheduleRetry(event, now, ex));
+            log.warn("[NAME-SYNC] Batch of {} rename(s) failed, will retry: {}", events.size(), ex.getMessage());
+        }
+        eventRepository.saveAll(events);
+        return events.size();
+    }
+
+    private long applyToMongo(List<NameChangeEvent> events) {
+        Map<Long, String> doctorNames = currentNames(events, NameSubjectType.DOCTOR,
+                ids -> doctorRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Doctor::getId, Doctor::getName)));
+        Map<Long, String> patientNames = currentNames(events, NameSubjectType.PATIENT,
+                ids -> patientRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Patient::getId, Patient::getName)));
+
+        // One updateMany per subject and field, sent as a single bulk per collection
+        List<Pair<Query, UpdateDefinition>> updates = new ArrayList<>(doctorNames.size() + patientNames.size());
+        doctorNames.forEach((id, name) -> updates.add(Pair.of(
+                Query.query(Criteria.where("doctorId").is(id)), Update.update("doctorName", name))));
+        patientNames.forEach((id, name) -> updates.add(Pair.of(
+                Query.query(Criteria.where("patientId").is(id)), Update.update("patientName", name))));
+        if (updates.isEmpty()) {
+            // Every subject was deleted since the rename; nothing left to fix
+            return 0;
+        }
+
+        long modified = 0;
+        for (Class<?> collection : List.of(MedicalRecord.class, Prescription.class)) {
+            modified += mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection)
+                    .updateMulti(updates)
+                    .execute()
+                    .getModifiedCount();
+        }
+        return modified;
+    }
+
+    // Cached histories show names from both databases; they are refreshed once every copy matches.
+    // A doctor appears in many patients' histories, so a doctor rename starts a new cache epoch.
+    private void invalidateHistories(List<NameChangeEvent> events) {
+        if (events.stream().anyMatch(event -> event.getSubjectType() == NameSubjectType.DOCTOR)) {
+            historyCache.invalidateAll();
+            return;
+        }
+        events.forEach(event -> historyCache.patientChanged(event.getSubjectId()));
+    }
+
+    private static Map<Long, String> currentNames(List<NameChangeEvent> events, NameSubjectType type,
+                                                  Function<List<Long>, Map<Long, String>> loader) {
+        List<Long> ids = events.stream()
+                .filter(event -> event.getSubjectType() == type)
+                .map(NameChangeEvent::getSubjectId)
+                .distinct()
+                .toList();
+        return ids.isEmpty() ? Map.of() : loader.apply(ids);
+    }
+
+    private void scheduleRetry(NameChangeEvent event, LocalDateTime now, DataAccessException ex) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(abbreviate(ex.getMessage()));
+        if (attempts >= maxAttempts) {
+            event.setStatus(NameChangeStatus.FAILED);
+            event.setProcessedAt(now);
+            failed.increment();
+            log.error("[NAME-SYNC] Giving up on {} {} after {} attempts", event.getSubjectType(), event.getSubjectId(), attempts);
+        } else {
+            // 1x, 2x, 4x ... the initial backoff, capped at one hour
+            long factor = 1L << Math.min(attempts - 1, 20);
+            Duration delay = initialBackoff.multipliedBy(factor);
+            event.setNextAttemptAt(now.plus(delay.compareTo(Duration.ofHours(1)) > 0 ? Duration.ofHours(1) : delay));
+            retried.increment();
+        }
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.healthcare.service;
+
+import org.example.healthcare.dto.request.RegisterPatientRequest;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a bulk patient import one row at a time, so the whole file is never held in memory.
+ * <p>
+ * CSV needs a header naming the columns (username, email, password, name, dateOfBirth,
+ * phone, address — any order). Quoted fields and doubled quotes are supported; a quoted
+ * field cannot span lines. NDJSON has one {@link RegisterPatientRequest} object per line.
+ * A row that cannot be parsed comes back with an error instead of failing the import.
+ */
+class PatientImportReader {
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("username", "email", "password", "name", "dateofbirth", "phone", "address");
+
+    record Row(int number, RegisterPatientRequest request, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final PatientImportService.Format format;
+    private final ObjectReader jsonReader;
+    private Map<String, Integer> csvHeader;
+    private int lineNumber;
+
+    PatientImportReader(BufferedReader reader, PatientImportService.Format format, ObjectReader jsonReader) {
+        this.reader = reader;
+        this.format = format;
+        this.jsonReader = jsonReader;
+    }
+
+    /**
+     * Reads and checks the CSV header; a no-op for NDJSON. Called before any output is written,
+     * so a wrong header can still be rejected as a whole.
+     *
+     * @throws IllegalArgumentException if the header is missing or lacks a required column
+     */
+    void readHeader() throws IOException {
+        if (format != PatientImportService.Format.CSV || csvHeader != null) {
+            return;
+        }
+        String line = nextNonBlankLine();
+        if (line == null) {
+            throw new IllegalArgumentException("CSV input is empty. Expected a header: " + CSV_COLUMNS);
+        }
+        csvHeader = parseHeader(line);
+    }
+
+    /** Returns the next non-blank row, or {@code null} at end of input. */
+    Row next() throws IOException {
+        readHeader();
+        String line = nextNonBlankLine();
+        if (line == null) {
+            return null;
+        }
+        return format == PatientImportService.Format.CSV ? parseCsvRow(line) : parseJsonRow(line);
+    }
+
+    private String nextNonBlankLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    // ==================== NDJSON ====================
+
+    private Row parseJsonRow(String line) {
+        try {
+            RegisterPatientRequest request = jsonReader.readValue(line);
+            // A literal null line parses to no object at all; the validator would reject it mid-report
+            if (request == null) {
+                return new Row(lineNumber, null, "Expected a JSON object");
+            }
+            return new Row(lineNumber, request, null);
+        } catch (JacksonException ex) {
+            return new Row(lineNumber, null, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    // ==================== CSV ====================
+
+    private Map<String, Integer> parseHeader(String line) {
+        List<String> names = splitCsv(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("username", "email", "password", "name", "dateofbirth")) {
+            if (!header.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the '" + required + "' column. Expected: " + CSV_COLUMNS);
+            }
+        }
+        return header;
+    }
+
+    private Row parseCsvRow(String line) {
+        List<String> values = splitCsv(line);
+        try {
+            String dateOfBirth = column(values, "dateofbirth");
+            return new Row(lineNumber, RegisterPatientRequest.builder()
+                    .username(column(values, "username"))
+                    .email(column(values, "email"))
+                    .password(column(values, "password"))
+                    .name(column(values, "name"))
+                    .dateOfBirth(dateOfBirth != null ? LocalDate.parse(dateOfBirth) : null)
+                    .phone(column(values, "phone"))
+                    .address(column(values, "address"))
+                    .build(), null);
+        } catch (DateTimeParseException ex) {
+            return new Row(lineNumber, null, "Invalid dateOfBirth, expected yyyy-MM-dd");
+        }
+    }
+
+    private String column(List<String> values, String name) {
+        Integer index = csvHeader.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
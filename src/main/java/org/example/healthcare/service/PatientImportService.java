@@ -0,0 +1,329 @@
+package org.example.healthcare.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare.dto.request.RegisterPatientRequest;
+import org.example.healthcare.dto.response.ImportRowResultResponse;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.models.enums.ImportRowStatus;
+import org.example.healthcare.models.enums.Role;
+import org.example.healthcare.repository.sql.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk patient registration for clinic onboarding.
+ * <p>
+ * Rows are processed in batches: duplicates are found with one IN query per column,
+ * passwords are BCrypt-hashed in parallel on {@code importHashingExecutor}, and users/patients are written with JDBC
+ * batch inserts (Hibernate cannot batch IDENTITY inserts). Each batch commits on its own,
+ * and one result line per input row is streamed back as NDJSON as soon as its batch is done.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    // Opened only after the input header has been checked, so a bad header is still answered with a 400
+    @FunctionalInterface
+    public interface ReportOutput {
+        OutputStream open() throws IOException;
+    }
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, email, password, role, enabled, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PATIENT =
+            "INSERT INTO patients (user_id, name, date_of_birth, phone, address, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final UserUniquenessService userUniquenessService;
+    private final ExecutorService importHashingExecutor;
+
+    @Value("${application.import.batch-size:500}")
+    private int batchSize;
+
+    // ==================== IMPORT ====================
+
+    public void importPatients(InputStream input, Format format, ReportOutput output) throws IOException {
+        ObjectReader rowReader = jsonMapper.readerFor(RegisterPatientRequest.class);
+        // Each result is serialized straight into the buffered writer; only the per-batch flush reaches the client
+        ObjectWriter resultWriter = jsonMapper.writerFor(ImportRowResultResponse.class)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .without(StreamWriteFeature.FLUSH_PASSED_TO_STREAM);
+        PatientImportReader reader = new PatientImportReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), format, rowReader);
+        reader.readHeader();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output.open(), StandardCharsets.UTF_8));
+
+        // Lower-cased keys already claimed earlier in this file (MySQL's default collation is case-insensitive)
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        Map<ImportRowStatus, Integer> totals = new HashMap<>();
+
+        List<PatientImportReader.Row> batch = new ArrayList<>(batchSize);
+        PatientImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                writeResults(processBatch(batch, seenUsernames, seenEmails), resultWriter, writer, totals);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeResults(processBatch(batch, seenUsernames, seenEmails), resultWriter, writer, totals);
+        }
+        writer.flush();
+
+        log.info("[IMPORT] Patient import finished: {}", totals);
+    }
+
+    // ==================== BATCH ====================
+
+    private List<ImportRowResultResponse> processBatch(List<PatientImportReader.Row> rows,
+                                                       Set<String> seenUsernames, Set<String> seenEmails) {
+        ImportRowResultResponse[] results = new ImportRowResultResponse[rows.size()];
+        List<Integer> candidates = new ArrayList<>(rows.size());
+
+        // 1. Field validation and duplicates within the file
+        for (int i = 0; i < rows.size(); i++) {
+            PatientImportReader.Row row = rows.get(i);
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                results[i] = result(row, ImportRowStatus.INVALID, error);
+            } else if (!seenUsernames.add(key(row.request().getUsername()))) {
+                results[i] = result(row, ImportRowStatus.DUPLICATE, "Username repeated earlier in the file");
+            } else if (!seenEmails.add(key(row.request().getEmail()))) {
+                results[i] = result(row, ImportRowStatus.DUPLICATE, "Email repeated earlier in the file");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // 2. Duplicates against the database, one query per column
+        if (!candidates.isEmpty()) {
+            Set<String> takenUsernames;
+            Set<String> takenEmails;
+            try {
+                takenUsernames = lowerCased(userRepository.findExistingUsernames(
+                        candidates.stream().map(i -> rows.get(i).request().getUsername()).toList()));
+                takenEmails = lowerCased(userRepository.findExistingEmails(
+                        candidates.stream().map(i -> rows.get(i).request().getEmail()).toList()));
+            } catch (DataAccessException ex) {
+                throw new DatabaseOperationException("Failed to check existing users during import", ex);
+            }
+            candidates.removeIf(i -> {
+                RegisterPatientRequest request = rows.get(i).request();
+                if (takenUsernames.contains(key(request.getUsername()))) {
+                    results[i] = result(rows.get(i), ImportRowStatus.DUPLICATE, "Username already exists");
+                    return true;
+                }
+                if (takenEmails.contains(key(request.getEmail()))) {
+                    results[i] = result(rows.get(i), ImportRowStatus.DUPLICATE, "Email already exists");
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        // 3. Hash in parallel; a row whose hash fails is reported on its own and left out of the insert
+        Map<Integer, String> passwordHashes = candidates.isEmpty() ? Map.of() : hashPasswords(rows, candidates, results);
+        candidates.removeIf(i -> results[i] != null);
+
+        // 4. Insert users and patients as two JDBC batches in one transaction
+        if (!candidates.isEmpty()) {
+            List<RegisterPatientRequest> requests = candidates.stream().map(i -> rows.get(i).request()).toList();
+            try {
+                List<Long> patientIds = insertBatch(requests, candidates.stream().map(passwordHashes::get).toList());
+                requests.forEach(request -> userUniquenessService.record(request.getUsername(), request.getEmail()));
+                for (int c = 0; c < candidates.size(); c++) {
+                    int i = candidates.get(c);
+                    results[i] = result(rows.get(i), ImportRowStatus.CREATED, null);
+                    results[i].setPatientId(patientIds.get(c));
+                }
+            } catch (DataIntegrityViolationException ex) {
+                // Another registration claimed one of these usernames/emails since the check above
+                candidates.forEach(i -> results[i] = result(rows.get(i), ImportRowStatus.FAILED,
+                        "Batch rolled back: a username or email was registered concurrently, retry these rows"));
+            } catch (DataAccessException ex) {
+                log.error("[IMPORT] Batch insert failed: {}", ex.getMessage(), ex);
+                candidates.forEach(i -> results[i] = result(rows.get(i), ImportRowStatus.FAILED,
+                        "Batch rolled back: database error"));
+            }
+        }
+
+        return List.of(results);
+    }
+
+    // Row index -> hash; rows whose hash failed get a FAILED result instead
+    private Map<Integer, String> hashPasswords(List<PatientImportReader.Row> rows, List<Integer> candidates,
+                                               ImportRowResultResponse[] results) {
+        List<CompletableFuture<String>> hashes = candidates.stream()
+                .map(i -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(rows.get(i).request().getPassword()), importHashingExecutor))
+                .toList();
+        Map<Integer, String> hashed = new HashMap<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            int i = candidates.get(c);
+            try {
+                hashed.put(i, hashes.get(c).join());
+            } catch (CompletionException ex) {
+                log.error("[IMPORT] Password hashing failed for row {}: {}",
+                        rows.get(i).number(), ex.getCause().getMessage(), ex.getCause());
+                results[i] = result(rows.get(i), ImportRowStatus.FAILED, "Password hashing failed");
+            }
+        }
+        return hashed;
+    }
+
+    // Returns the new patient ids in the same order as the requests
+    private List<Long> insertBatch(List<RegisterPatientRequest> requests, List<String> passwordHashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> usernames = requests.stream().map(RegisterPatientRequest::getUsername).toList();
+
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.batchUpdate(INSERT_USER, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    RegisterPatientRequest request = requests.get(i);
+                    ps.setString(1, request.getUsername());
+                    ps.setString(2, request.getEmail());
+                    ps.setString(3, passwordHashes.get(i));
+                    ps.setString(4, Role.PATIENT.name());
+                    ps.setBoolean(5, true);
+                    ps.setTimestamp(6, now);
+                    ps.setTimestamp(7, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return requests.size();
+                }
+            });
+
+            Map<String, Long> userIds = new HashMap<>();
+            namedJdbcTemplate.query("SELECT id, username FROM users WHERE username IN (:usernames)",
+                    new MapSqlParameterSource("usernames", usernames),
+                    rs -> { userIds.put(key(rs.getString("username")), rs.getLong("id")); });
+
+            List<Long> orderedUserIds = usernames.stream().map(username -> userIds.get(key(username))).toList();
+
+            jdbcTemplate.batchUpdate(INSERT_PATIENT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    RegisterPatientRequest request = requests.get(i);
+                    ps.setLong(1, orderedUserIds.get(i));
+                    ps.setString(2, request.getName());
+                    ps.setDate(3, Date.valueOf(request.getDateOfBirth()));
+                    ps.setString(4, request.getPhone());
+                    ps.setString(5, request.getAddress());
+                    ps.setTimestamp(6, now);
+                    ps.setTimestamp(7, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return requests.size();
+                }
+            });
+
+            Map<Long, Long> patientIdsByUser = new HashMap<>();
+            namedJdbcTemplate.query("SELECT id, user_id FROM patients WHERE user_id IN (:userIds)",
+                    new MapSqlParameterSource("userIds", orderedUserIds),
+                    rs -> { patientIdsByUser.put(rs.getLong("user_id"), rs.getLong("id")); });
+
+            return orderedUserIds.stream().map(patientIdsByUser::get).toList();
+        });
+    }
+
+    // ==================== HELPERS ====================
+
+    private String validate(RegisterPatientRequest request) {
+        Set<ConstraintViolation<RegisterPatientRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeResults(List<ImportRowResultResponse> results, ObjectWriter resultWriter,
+                              Writer writer, Map<ImportRowStatus, Integer> totals) throws IOException {
+        for (ImportRowResultResponse result : results) {
+            resultWriter.writeValue(writer, result);
+            writer.write('\n');
+            totals.merge(result.getStatus(), 1, Integer::sum);
+        }
+        // Push each finished batch to the client instead of holding the whole report
+        writer.flush();
+    }
+
+    private static ImportRowResultResponse result(PatientImportReader.Row row, ImportRowStatus status, String message) {
+        return ImportRowResultResponse.builder()
+                .row(row.number())
+                .username(row.request() != null ? row.request().getUsername() : null)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static Set<String> lowerCased(Set<String> values) {
+        return values.stream().map(PatientImportService::key).collect(Collectors.toSet());
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
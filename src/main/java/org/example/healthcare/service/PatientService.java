@@ -1,10 +1,12 @@
 package org.example.healthcare.service;
 
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.dto.request.PatientRequest;
 import org.example.healthcare.dto.response.PatientResponse;
 import org.example.healthcare.exception.DatabaseOperationException;
 import org.example.healthcare.exception.ResourceNotFoundException;
 import org.example.healthcare.mapper.PatientMapper;
+import org.example.healthcare.models.enums.NameSubjectType;
 import org.example.healthcare.models.sql.Patient;
 import org.example.healthcare.models.sql.User;
 import org.example.healthcare.repository.sql.AppointmentRepository;
@@ -29,6 +31,8 @@ public class PatientService {
     private final UserRepository userRepository;
     private final CallerGuard callerGuard;
     private final PatientMapper patientMapper;
+    private final NamePropagationService namePropagationService;
+    private final PatientHistoryCache historyCache;
 
     // ==================== GET ====================
 
@@ -54,10 +58,15 @@ public class PatientService {
         Patient patient = findPatientOrThrow(id);
         callerGuard.assertPatientOwns(id);
 
+        boolean renamed = !Objects.equals(patient.getName(), request.getName());
         patient.setName(request.getName());
         patient.setDateOfBirth(request.getDateOfBirth());
         patient.setPhone(request.getPhone());
         patient.setAddress(request.getAddress());
+        if (renamed) {
+            // Records and prescriptions carry a copy of the name; refreshed asynchronously
+            namePropagationService.enqueue(NameSubjectType.PATIENT, id, request.getName());
+        }
 
         try {
             Patient updated = patientRepository.save(patient);
@@ -81,6 +90,7 @@ public class PatientService {
             if (user != null) {
                 userRepository.delete(user);
             }
+            historyCache.patientChanged(id);
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to delete patient with id: " + id, ex);
         }
@@ -104,6 +114,7 @@ public class PatientService {
             // Flush so the patient rows are gone before their users rows are removed (FK: patients.user_id -> users.id)
             patientRepository.flush();
             userRepository.deleteAll(usersToDelete);
+            ids.forEach(historyCache::patientChanged);
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to delete patients with ids: " + ids, ex);
         }
@@ -0,0 +1,134 @@
+package org.example.healthcare.service;
+
+import org.bson.Document;
+import org.example.healthcare.dto.response.MedicineCountResponse;
+import org.example.healthcare.dto.response.MedicineRankingResponse;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.models.enums.AnalyticsGrouping;
+import org.example.healthcare.models.nosql.Prescription;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Top-prescribed medicines, overall or per doctor / month / diagnosis.
+ * <p>
+ * The whole computation runs as one aggregation pipeline on the prescriptions collection:
+ * $match (served by the prescriptionDate and doctorId indexes), $unwind medicines, count per
+ * (group, medicine), $sort, then $push and $slice the top N per group. Only the ranked
+ * result crosses the wire. allowDiskUse lets the sort/group stages spill past Mongo's
+ * 100 MB in-memory limit on wide date ranges.
+ */
+@Service
+@RequiredArgsConstructor
+public class PrescriptionAnalyticsService {
+
+    private static final int MAX_TOP = 50;
+    private static final String UNGROUPED = "all";
+
+    private final MongoTemplate mongoTemplate;
+
+    public List<MedicineRankingResponse> topMedicines(AnalyticsGrouping grouping, Long doctorId,
+                                                      LocalDate from, LocalDate to, int top) {
+        if (top < 1 || top > MAX_TOP) {
+            throw new IllegalArgumentException("top must be between 1 and " + MAX_TOP);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        TypedAggregation<Prescription> aggregation = Aggregation.newAggregation(Prescription.class,
+                        Aggregation.match(matchCriteria(doctorId, from, to)),
+                        stage("$unwind", "$medicines"),
+                        stage("$group", new Document("_id", new Document("group", groupKey(grouping))
+                                .append("medicine", "$medicines"))
+                                .append("count", new Document("$sum", 1))
+                                .append("groupName", new Document("$first", groupName(grouping)))),
+                        stage("$sort", new Document("count", -1).append("_id.medicine", 1)),
+                        // $push keeps the sorted order, so each group's array is already ranked
+                        stage("$group", new Document("_id", "$_id.group")
+                                .append("groupName", new Document("$first", "$groupName"))
+                                .append("medicines", new Document("$push", new Document("medicine", "$_id.medicine")
+                                        .append("count", "$count")))),
+                        stage("$project", new Document("_id", 0)
+                                .append("group", new Document("$toString", "$_id"))
+                                .append("groupName", 1)
+                                .append("medicines", new Document("$slice", List.of("$medicines", top)))),
+                        stage("$sort", new Document("group", 1)))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        try {
+            return mongoTemplate.aggregate(aggregation, Document.class).getMappedResults().stream()
+                    .map(this::toResponse)
+                    .collect(Collectors.toList());
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to aggregate prescription analytics", ex);
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    private Criteria matchCriteria(Long doctorId, LocalDate from, LocalDate to) {
+        Criteria criteria = new Criteria();
+        if (doctorId != null) {
+            criteria = criteria.and("doctorId").is(doctorId);
+        }
+        if (from != null || to != null) {
+            Criteria date = criteria.and("prescriptionDate");
+            if (from != null) {
+                date = date.gte(from);
+            }
+            if (to != null) {
+                date = date.lte(to);
+            }
+        }
+        // Prescriptions without medicines contribute nothing after $unwind; skip them up front
+        return criteria.and("medicines.0").exists(true);
+    }
+
+    private static Object groupKey(AnalyticsGrouping grouping) {
+        if (grouping == null) {
+            return UNGROUPED;
+        }
+        return switch (grouping) {
+            case DOCTOR -> "$doctorId";
+            case MONTH -> new Document("$dateToString", new Document("format", "%Y-%m").append("date", "$prescriptionDate"));
+            case DIAGNOSIS -> new Document("$toLower", new Document("$ifNull", List.of("$diagnosis", "")));
+        };
+    }
+
+    private static Object groupName(AnalyticsGrouping grouping) {
+        if (grouping == null || grouping == AnalyticsGrouping.MONTH) {
+            return null;
+        }
+        return grouping == AnalyticsGrouping.DOCTOR ? "$doctorName" : "$diagnosis";
+    }
+
+    private static AggregationOperation stage(String operator, Object body) {
+        return context -> new Document(operator, body);
+    }
+
+    private MedicineRankingResponse toResponse(Document document) {
+        List<MedicineCountResponse> medicines = document.getList("medicines", Document.class).stream()
+                .map(entry -> MedicineCountResponse.builder()
+                        .medicine(entry.getString("medicine"))
+                        .count(entry.get("count", Number.class).longValue())
+                        .build())
+                .collect(Collectors.toList());
+        return MedicineRankingResponse.builder()
+                .group(document.getString("group"))
+                .groupName(document.getString("groupName"))
+                .medicines(medicines)
+                .build();
+    }
+}
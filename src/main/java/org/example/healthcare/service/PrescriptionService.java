@@ -1,39 +1,60 @@
 package org.example.healthcare.service;
 
 import org.example.healthcare.aspect.annotation.LogPrescription;
+import com.mongodb.bulk.BulkWriteError;
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.dto.request.BatchPrescriptionRequest;
 import org.example.healthcare.dto.request.PrescriptionRequest;
+import org.example.healthcare.dto.response.BatchItemResultResponse;
 import org.example.healthcare.dto.response.PrescriptionResponse;
+import org.example.healthcare.dto.response.PrescriptionSummaryResponse;
 import org.example.healthcare.exception.DatabaseOperationException;
 import org.example.healthcare.exception.ResourceNotFoundException;
 import org.example.healthcare.mapper.PrescriptionMapper;
 import org.example.healthcare.models.enums.AppointmentStatus;
+import org.example.healthcare.models.enums.BatchItemStatus;
 import org.example.healthcare.models.nosql.Prescription;
 import org.example.healthcare.models.sql.Appointment;
 import org.example.healthcare.repository.nosql.PrescriptionRepository;
 import org.example.healthcare.repository.sql.AppointmentRepository;
 import org.example.healthcare.security.CallerGuard;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PrescriptionService {
 
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
     private final PrescriptionRepository prescriptionRepository;
     private final AppointmentRepository appointmentRepository;
     private final PrescriptionMapper prescriptionMapper;
     private final CallerGuard callerGuard;
+    private final MongoTemplate mongoTemplate;
+    private final PatientHistoryCache historyCache;
 
     // ==================== CREATE (Doctor) ====================
 
     @Transactional
-    @LogPrescription(action = "CREATE")
+    @LogPrescription(action = "CREATE", fields = {"request.appointmentId", "result.id"})
     public PrescriptionResponse createPrescription(PrescriptionRequest request) {
 
         Appointment appointment;
@@ -51,31 +72,102 @@ public class PrescriptionService {
             throw new IllegalArgumentException("Prescriptions can only be added to completed appointments");
         }
 
-        prescriptionRepository.findByAppointmentId(appointment.getId()).ifPresent(existing -> {
-            throw new IllegalArgumentException("This appointment already has a prescription");
-        });
-
-        Prescription prescription = Prescription.builder()
-                .appointmentId(appointment.getId())
-                .patientId(appointment.getPatient().getId())
-                .patientName(appointment.getPatient().getName())
-                .doctorId(appointment.getDoctor().getId())
-                .doctorName(appointment.getDoctor().getName())
-                .prescriptionDate(LocalDate.now())
-                .appointmentDate(appointment.getAppointmentDate())
-                .medicines(request.getMedicines())
-                .diagnosis(request.getDiagnosis())
-                .instructions(request.getInstructions())
-                .build();
+        Prescription prescription = buildPrescription(appointment, request);
 
+        // Insert-first: the unique appointmentId index rejects a second prescription,
+        // which also closes the race between two concurrent requests
         try {
-            Prescription saved = prescriptionRepository.save(prescription);
+            Prescription saved = prescriptionRepository.insert(prescription);
+            historyCache.patientChanged(saved.getPatientId());
             return prescriptionMapper.toResponse(saved);
+        } catch (DuplicateKeyException ex) {
+            throw new IllegalArgumentException("This appointment already has a prescription");
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to create prescription", ex);
         }
     }
 
+    // ==================== CREATE BATCH (Doctor) ====================
+
+    // End-of-day entry: one IN query for the appointments, status and ownership checked in memory,
+    // then one unordered bulk insert. Items succeed or fail independently; results keep request order.
+    @LogPrescription(action = "CREATE_BATCH", fields = {"request.prescriptions", "result"})
+    public List<BatchItemResultResponse> createPrescriptions(BatchPrescriptionRequest request) {
+        List<PrescriptionRequest> items = request.getPrescriptions();
+        BatchItemResultResponse[] results = new BatchItemResultResponse[items.size()];
+        Long doctorId = callerGuard.currentDoctorId();
+
+        Map<Long, Appointment> appointments;
+        try {
+            appointments = appointmentRepository.findWithParticipantsByIdIn(items.stream()
+                            .map(PrescriptionRequest::getAppointmentId)
+                            .collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to fetch appointments for prescription batch", ex);
+        }
+
+        List<Prescription> toInsert = new ArrayList<>(items.size());
+        List<Integer> requestIndexes = new ArrayList<>(items.size());
+        Set<Long> seenAppointments = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            PrescriptionRequest item = items.get(i);
+            Appointment appointment = appointments.get(item.getAppointmentId());
+            if (appointment == null) {
+                results[i] = result(i, item, BatchItemStatus.REJECTED,
+                        "Appointment not found with id: " + item.getAppointmentId());
+            } else if (!appointment.getDoctor().getId().equals(doctorId)) {
+                results[i] = result(i, item, BatchItemStatus.REJECTED, "You can only access your own records");
+            } else if (appointment.getStatus() != AppointmentStatus.COMPLETED) {
+                results[i] = result(i, item, BatchItemStatus.REJECTED,
+                        "Prescriptions can only be added to completed appointments");
+            } else if (!seenAppointments.add(appointment.getId())) {
+                results[i] = result(i, item, BatchItemStatus.DUPLICATE, "Appointment appears more than once in this batch");
+            } else {
+                Prescription prescription = buildPrescription(appointment, item);
+                // Ids are assigned up front so each result can report its document. A set id makes
+                // auditing treat the document as existing, so the timestamps are set here too.
+                prescription.setId(ObjectId.get().toHexString());
+                prescription.setCreatedAt(LocalDateTime.now());
+                prescription.setUpdatedAt(prescription.getCreatedAt());
+                toInsert.add(prescription);
+                requestIndexes.add(i);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            Map<Integer, BulkWriteError> errors = Map.of();
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Prescription.class)
+                        .insert(toInsert)
+                        .execute();
+            } catch (BulkOperationException ex) {
+                // Unordered: every other document was still written; error indexes refer to toInsert
+                errors = ex.getErrors().stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+            } catch (DataAccessException ex) {
+                throw new DatabaseOperationException("Failed to create prescription batch", ex);
+            }
+
+            for (int j = 0; j < toInsert.size(); j++) {
+                int i = requestIndexes.get(j);
+                BulkWriteError error = errors.get(j);
+                if (error == null) {
+                    historyCache.patientChanged(toInsert.get(j).getPatientId());
+                    results[i] = result(i, items.get(i), BatchItemStatus.CREATED, null);
+                    results[i].setPrescription(prescriptionMapper.toResponse(toInsert.get(j)));
+                } else if (error.getCode() == DUPLICATE_KEY_ERROR) {
+                    results[i] = result(i, items.get(i), BatchItemStatus.DUPLICATE, "This appointment already has a prescription");
+                } else {
+                    results[i] = result(i, items.get(i), BatchItemStatus.FAILED, error.getMessage());
+                }
+            }
+        }
+
+        return List.of(results);
+    }
+
     // ==================== GET ====================
 
     public PrescriptionResponse getPrescriptionById(String id) {
@@ -120,6 +212,55 @@ public class PrescriptionService {
         }
     }
 
+    // Summary lists project away medicines and instructions; the UI opens the detail endpoint for those
+
+    public List<PrescriptionSummaryResponse> getPatientPrescriptionSummaries(Long patientId) {
+        callerGuard.assertPatientOwns(patientId);
+        try {
+            return prescriptionRepository.findSummariesByPatientId(patientId).stream()
+                    .map(prescriptionMapper::toSummary)
+                    .collect(Collectors.toList());
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to fetch prescriptions for patient id: " + patientId, ex);
+        }
+    }
+
+    public List<PrescriptionSummaryResponse> getDoctorPrescriptionSummaries(Long doctorId) {
+        callerGuard.assertDoctorOwns(doctorId);
+        try {
+            return prescriptionRepository.findSummariesByDoctorId(doctorId).stream()
+                    .map(prescriptionMapper::toSummary)
+                    .collect(Collectors.toList());
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to fetch prescriptions for doctor id: " + doctorId, ex);
+        }
+    }
+
+    private Prescription buildPrescription(Appointment appointment, PrescriptionRequest request) {
+        return Prescription.builder()
+                .appointmentId(appointment.getId())
+                .patientId(appointment.getPatient().getId())
+                .patientName(appointment.getPatient().getName())
+                .doctorId(appointment.getDoctor().getId())
+                .doctorName(appointment.getDoctor().getName())
+                .prescriptionDate(LocalDate.now())
+                .appointmentDate(appointment.getAppointmentDate())
+                .medicines(request.getMedicines())
+                .diagnosis(request.getDiagnosis())
+                .instructions(request.getInstructions())
+                .build();
+    }
+
+    private static BatchItemResultResponse result(int index, PrescriptionRequest item, BatchItemStatus status,
+                                                  String message) {
+        return BatchItemResultResponse.builder()
+                .index(index)
+                .appointmentId(item.getAppointmentId())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
     private Prescription findPrescriptionOrThrow(String id) {
         try {
             return prescriptionRepository.findById(id)
@@ -132,7 +273,7 @@ public class PrescriptionService {
     // ==================== UPDATE (Doctor) ====================
 
     @Transactional
-    @LogPrescription(action = "UPDATE")
+    @LogPrescription(action = "UPDATE", fields = {"id"})
     public PrescriptionResponse updatePrescription(String id, PrescriptionRequest request) {
         Prescription prescription = findPrescriptionOrThrow(id);
         callerGuard.assertDoctorOwns(prescription.getDoctorId());
@@ -143,6 +284,7 @@ public class PrescriptionService {
 
         try {
             Prescription updated = prescriptionRepository.save(prescription);
+            historyCache.patientChanged(updated.getPatientId());
             return prescriptionMapper.toResponse(updated);
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to update prescription with id: " + id, ex);
@@ -152,13 +294,14 @@ public class PrescriptionService {
     // ==================== DELETE (Doctor) ====================
 
     @Transactional
-    @LogPrescription(action = "DELETE")
+    @LogPrescription(action = "DELETE", fields = {"id"})
     public void deletePrescription(String id) {
         Prescription prescription = findPrescriptionOrThrow(id);
         callerGuard.assertDoctorOwns(prescription.getDoctorId());
 
         try {
             prescriptionRepository.delete(prescription);
+            historyCache.patientChanged(prescription.getPatientId());
         } catch (DataAccessException ex) {
             throw new DatabaseOperationException("Failed to delete prescription with id: " + id, ex);
         }
@@ -0,0 +1,129 @@
+package org.example.healthcare.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.exception.DuplicateResourceException;
+import org.example.healthcare.models.sql.User;
+import org.example.healthcare.repository.sql.UserRepository;
+import org.example.healthcare.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pre-insert uniqueness check for usernames and emails.
+ * <p>
+ * A Bloom filter of every taken username and email answers the common case — a name nobody
+ * has — without a database round-trip. When the filter says "maybe taken" one combined
+ * query checks both columns. Neither is the final authority: the unique constraints on
+ * {@code users} are, and callers translate a constraint violation on insert into
+ * {@link DuplicateResourceException}. The filter only ever gains entries, so a stale
+ * entry (e.g. a deleted user) costs one extra query, never a wrong answer.
+ */
+@Service
+@Slf4j
+public class UserUniquenessService {
+
+    // MySQL's driver buffers a whole result set by default, so the seed reads the table in
+    // primary-key pages rather than in one query; each page is an index range scan
+    private static final int SEED_PAGE_SIZE = 5000;
+    private static final String SEED_PAGE_SQL =
+            "SELECT id, username, email FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BloomFilter taken;
+
+    // Until seeding finishes every check goes to the database
+    private volatile boolean ready;
+    private volatile boolean seedFinished;
+
+    public UserUniquenessService(
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${application.registration.uniqueness-filter.expected-insertions:1000000}") int expectedInsertions,
+            @Value("${application.registration.uniqueness-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taken = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    // Seeded after startup so a large users table does not delay the server; registrations
+    // made while seeding are recorded too, so nothing is missed once the flag flips
+    @EventListener(ApplicationReadyEvent.class)
+    void seed() {
+        Thread.ofVirtual().name("user-uniqueness-seed").start(() -> {
+            try {
+                long count = 0;
+                // {rows read, last id} of the current page
+                long[] page = {SEED_PAGE_SIZE, 0};
+                while (page[0] == SEED_PAGE_SIZE) {
+                    long after = page[1];
+                    page[0] = 0;
+                    jdbcTemplate.query(SEED_PAGE_SQL, rs -> {
+                        record(rs.getString("username"), rs.getString("email"));
+                        page[1] = rs.getLong("id");
+                        page[0]++;
+                    }, after, SEED_PAGE_SIZE);
+                    count += page[0];
+                }
+                ready = true;
+                log.info("[REGISTRATION] Uniqueness filter seeded with {} user(s)", count);
+            } catch (DataAccessException ex) {
+                log.error("[REGISTRATION] Failed to seed uniqueness filter, checks stay on the database: {}",
+                        ex.getMessage(), ex);
+            } finally {
+                seedFinished = true;
+            }
+        });
+    }
+
+    // Seeding has ended, successfully or not; checks are correct either way, only slower without the filter
+    public boolean isSeedFinished() {
+        return seedFinished;
+    }
+
+    public boolean isFilterActive() {
+        return ready;
+    }
+
+    public void assertAvailable(String username, String email) {
+        if (ready && !taken.mightContain(usernameKey(username)) && !taken.mightContain(emailKey(email))) {
+            return;
+        }
+
+        List<User> matches;
+        try {
+            matches = userRepository.findByUsernameOrEmail(username, email);
+        } catch (DataAccessException ex) {
+            throw new DatabaseOperationException("Failed to validate user: " + username, ex);
+        }
+        // MySQL's default collation compares case-insensitively, so the match may differ in case
+        if (matches.stream().anyMatch(user -> user.getUsername().equalsIgnoreCase(username))) {
+            throw new DuplicateResourceException("Username already exists");
+        }
+        if (!matches.isEmpty()) {
+            throw new DuplicateResourceException("Email already exists");
+        }
+    }
+
+    public void record(String username, String email) {
+        taken.put(usernameKey(username));
+        taken.put(emailKey(email));
+    }
+
+    // Both columns share one filter, so the keys are prefixed to keep them apart
+    private static String usernameKey(String username) {
+        return "u:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email.toLowerCase(Locale.ROOT);
+    }
+}
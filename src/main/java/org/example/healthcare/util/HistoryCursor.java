@@ -0,0 +1,44 @@
+package org.example.healthcare.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position inside one patient history section: the sort key of the last item
+ * returned. The next page starts strictly after it, so paging never skips or repeats rows
+ * and stays one index range scan however deep the client goes.
+ * <p>
+ * {@code time} is only used by appointments; Mongo sections carry the document id as a
+ * tiebreaker, appointments their numeric id. Encoded as opaque base64url text.
+ */
+public record HistoryCursor(LocalDate date, LocalTime time, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = date + SEPARATOR + (time != null ? time : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("Invalid history cursor");
+            }
+            return new HistoryCursor(
+                    LocalDate.parse(parts[0]),
+                    parts[1].isEmpty() ? null : LocalTime.parse(parts[1]),
+                    parts[2]);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.healthcare.util;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the winning plan out of a MongoDB {@code explain()} result.
+ * <p>
+ * Stages nest through {@code inputStage}/{@code inputStages}, and newer servers wrap the
+ * tree in {@code queryPlan}, so the plan is walked generically rather than by fixed path.
+ */
+public final class MongoExplainPlan {
+
+    private final List<Document> stages = new ArrayList<>();
+
+    private MongoExplainPlan(Document winningPlan) {
+        collect(winningPlan);
+    }
+
+    public static MongoExplainPlan of(Document explain) {
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        if (queryPlanner == null || queryPlanner.get("winningPlan", Document.class) == null) {
+            throw new IllegalArgumentException("explain() output has no queryPlanner.winningPlan");
+        }
+        return new MongoExplainPlan(queryPlanner.get("winningPlan", Document.class));
+    }
+
+    /** True when the server sorts in memory instead of reading documents in index order. */
+    public boolean hasBlockingSort() {
+        return stages.stream().anyMatch(stage -> "SORT".equals(stage.getString("stage")));
+    }
+
+    /** True when the plan reads the whole collection. */
+    public boolean hasCollectionScan() {
+        return stages.stream().anyMatch(stage -> "COLLSCAN".equals(stage.getString("stage")));
+    }
+
+    public List<String> indexNames() {
+        return stages.stream()
+                .filter(stage -> "IXSCAN".equals(stage.getString("stage")))
+                .map(stage -> stage.getString("indexName"))
+                .toList();
+    }
+
+    private void collect(Object node) {
+        if (node instanceof Document document) {
+            if (document.containsKey("stage")) {
+                stages.add(document);
+            }
+            document.values().forEach(this::collect);
+        } else if (node instanceof List<?> list) {
+            list.forEach(this::collect);
+        }
+    }
+}
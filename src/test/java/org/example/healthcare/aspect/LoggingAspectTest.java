@@ -0,0 +1,76 @@
+package org.example.healthcare.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.healthcare.aspect.annotation.LogAppointment;
+import org.example.healthcare.aspect.audit.AuditEvent;
+import org.example.healthcare.aspect.audit.AuditLogger;
+import org.example.healthcare.dto.request.AppointmentRequest;
+import org.example.healthcare.exception.DoubleBookingException;
+import org.example.healthcare.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoggingAspectTest {
+
+    @Mock private AuditLogger auditLogger;
+    @Mock private ProceedingJoinPoint joinPoint;
+    @Mock private MethodSignature signature;
+
+    private LoggingAspect aspect;
+    private LogAppointment annotation;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        aspect = new LoggingAspect(auditLogger);
+        Method book = AppointmentService.class.getMethod("bookAppointment", Long.class, AppointmentRequest.class);
+        annotation = book.getAnnotation(LogAppointment.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getMethod()).thenReturn(book);
+        when(signature.getParameterNames()).thenReturn(new String[]{"patientId", "request"});
+        when(joinPoint.getArgs()).thenReturn(new Object[]{42L, AppointmentRequest.builder().doctorId(7L).build()});
+    }
+
+    @Test
+    @DisplayName("A failure is audited with the exception type only, never its message")
+    void failure_recordsExceptionTypeOnly() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new DoubleBookingException("Patient jdoe@example.com already has a booking"));
+
+        assertThrows(DoubleBookingException.class, () -> aspect.logAppointmentAction(joinPoint, annotation));
+
+        AuditEvent event = recorded();
+        assertEquals("failure", event.outcome());
+        assertEquals("DoubleBookingException", event.error());
+    }
+
+    @Test
+    @DisplayName("A success is audited with the configured fields and no error")
+    void success_recordsFields() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(null);
+
+        aspect.logAppointmentAction(joinPoint, annotation);
+
+        AuditEvent event = recorded();
+        assertEquals("success", event.outcome());
+        assertNull(event.error());
+        assertEquals(42L, event.fieldValues()[0]);
+        assertEquals(7L, event.fieldValues()[1]);
+    }
+
+    private AuditEvent recorded() {
+        ArgumentCaptor<AuditEvent> event = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditLogger).record(event.capture());
+        return event.getValue();
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.healthcare.aspect;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.example.healthcare.config.PerformanceProperties;
+import org.example.healthcare.service.DoctorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceAspectTest {
+
+    @Mock private ProceedingJoinPoint joinPoint;
+    @Mock private Signature signature;
+
+    private SimpleMeterRegistry registry;
+    private PerformanceAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspect = new PerformanceAspect(registry, new PerformanceProperties());
+    }
+
+    @Test
+    @DisplayName("Successful call is recorded under service, method and outcome=success")
+    void recordsSuccess() throws Throwable {
+        stubSignature();
+        when(joinPoint.proceed()).thenReturn("ok");
+
+        assertEquals("ok", aspect.timeServiceCall(joinPoint));
+
+        Timer timer = registry.get("healthcare.service")
+                .tags("service", "DoctorService", "method", "getAllDoctors", "outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Failed call is rethrown and recorded with outcome=error")
+    void recordsError() throws Throwable {
+        stubSignature();
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException("boom"));
+
+        assertThrows(IllegalArgumentException.class, () -> aspect.timeServiceCall(joinPoint));
+
+        assertEquals(1, registry.get("healthcare.service").tag("outcome", "error").timer().count());
+        assertNull(registry.find("healthcare.service").tag("outcome", "success").timer());
+    }
+
+    @Test
+    @DisplayName("Per-method threshold overrides the default")
+    void thresholdOverride() {
+        PerformanceProperties properties = new PerformanceProperties();
+        properties.getThresholds().put("PatientImportService.importPatients", Duration.ofSeconds(30));
+
+        assertEquals(Duration.ofSeconds(30), properties.thresholdFor("PatientImportService", "importPatients"));
+        assertEquals(Duration.ofMillis(500), properties.thresholdFor("DoctorService", "getAllDoctors"));
+    }
+
+    private void stubSignature() {
+        when(joinPoint.getSignature()).thenReturn(signature);
+        doReturn(DoctorService.class).when(signature).getDeclaringType();
+        when(signature.getName()).thenReturn("getAllDoctors");
+    }
+}
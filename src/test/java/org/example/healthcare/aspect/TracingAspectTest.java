@@ -0,0 +1,66 @@
+package org.example.healthcare.aspect;
+
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.healthcare.monitoring.IdBuckets;
+import org.example.healthcare.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TracingAspectTest {
+
+    @Mock private ProceedingJoinPoint joinPoint;
+    @Mock private MethodSignature signature;
+
+    private SimpleTracer tracer;
+    private TracingAspect aspect;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tracer = new SimpleTracer();
+        aspect = new TracingAspect(tracer);
+
+        Method method = AppointmentService.class.getMethod("getDoctorAppointments", Long.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{4242L});
+        doReturn(AppointmentService.class).when(signature).getDeclaringType();
+        when(signature.getName()).thenReturn("getDoctorAppointments");
+        when(signature.getMethod()).thenReturn(method);
+        when(signature.getParameterNames()).thenReturn(new String[]{"doctorId"});
+    }
+
+    @Test
+    @DisplayName("Service call gets a span named Service.method with the doctor bucket, not the id")
+    void tracesServiceCall() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("ok");
+
+        assertEquals("ok", aspect.traceServiceCall(joinPoint));
+
+        SimpleSpan span = tracer.onlySpan();
+        assertEquals("AppointmentService.getDoctorAppointments", span.getName());
+        assertEquals(IdBuckets.of(4242L), span.getTags().get("healthcare.doctor.bucket"));
+    }
+
+    @Test
+    @DisplayName("Failure is recorded on the span and rethrown")
+    void recordsError() throws Throwable {
+        IllegalStateException boom = new IllegalStateException("boom");
+        when(joinPoint.proceed()).thenThrow(boom);
+
+        assertThrows(IllegalStateException.class, () -> aspect.traceServiceCall(joinPoint));
+
+        assertSame(boom, tracer.onlySpan().getError());
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.healthcare.aspect.audit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The writer thread is only started where a test needs it, so the queue fills deterministically
+class AuditLoggerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Logger auditLog = (Logger) LoggerFactory.getLogger("AUDIT");
+    private final ListAppender<ILoggingEvent> written = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        written.start();
+        auditLog.addAppender(written);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLog.detachAppender(written);
+    }
+
+    @Test
+    @DisplayName("Below the high-water mark every event is queued")
+    void belowHighWaterMark_queuesAll() {
+        AuditLogger logger = new AuditLogger(meterRegistry, 10, 0.5, 3);
+
+        for (int i = 0; i < 5; i++) {
+            logger.record(success(i));
+        }
+
+        assertEquals(5.0, count("queued"));
+        assertEquals(0.0, count("sampled_out"));
+        assertEquals(5.0, meterRegistry.get("audit.queue.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Past the high-water mark one in sample-rate successes is kept; failures always are")
+    void pastHighWaterMark_samplesSuccessesOnly() {
+        AuditLogger logger = new AuditLogger(meterRegistry, 10, 0.5, 3);
+        for (int i = 0; i < 5; i++) {
+            logger.record(success(i));
+        }
+
+        for (int i = 0; i < 6; i++) {
+            logger.record(success(i));
+        }
+        logger.record(failure(1));
+        logger.record(failure(2));
+
+        // Successes 3 and 6 of the six past the mark are kept
+        assertEquals(9.0, count("queued"));
+        assertEquals(4.0, count("sampled_out"));
+    }
+
+    @Test
+    @DisplayName("A full queue drops the event and counts it; the caller is never blocked")
+    void fullQueue_dropsAndCounts() {
+        AuditLogger logger = new AuditLogger(meterRegistry, 3, 1.0, 1);
+
+        for (int i = 0; i < 3; i++) {
+            logger.record(failure(i));
+        }
+        logger.record(failure(3));
+        logger.record(success(4));
+
+        assertEquals(3.0, count("queued"));
+        assertEquals(2.0, count("dropped"));
+        assertEquals(3.0, meterRegistry.get("audit.queue.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Stop writes every event recorded before it")
+    void stop_drainsQueue() throws InterruptedException {
+        AuditLogger logger = new AuditLogger(meterRegistry, 100, 0.8, 10);
+        logger.start();
+        for (int i = 0; i < 50; i++) {
+            logger.record(success(i));
+        }
+
+        logger.stop();
+
+        assertEquals(50, written.list.size());
+        assertTrue(written.list.get(49).getFormattedMessage().endsWith("patientId=49"));
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("audit.events", "result", result).count();
+    }
+
+    private static AuditEvent success(long patientId) {
+        return new AuditEvent(0L, "APPOINTMENT", "BOOK", "success", "jdoe", 0L,
+                new String[]{"patientId"}, new Object[]{patientId}, null);
+    }
+
+    private static AuditEvent failure(long patientId) {
+        return new AuditEvent(0L, "APPOINTMENT", "BOOK", "failure", "jdoe", 0L,
+                new String[]{"patientId"}, new Object[]{patientId}, "DoubleBookingException");
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.healthcare.aspect.audit;
+
+import org.example.healthcare.dto.request.AppointmentRequest;
+import org.example.healthcare.dto.response.AppointmentResponse;
+import org.example.healthcare.service.AppointmentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPlanTest {
+
+    private static final String[] PARAMETERS = {"patientId", "request"};
+
+    @Test
+    @DisplayName("Fields resolve from parameters, nested properties and the result")
+    void extractsConfiguredFields() throws Exception {
+        AuditPlan plan = AuditPlan.compile(bookAppointment(), PARAMETERS,
+                new String[]{"patientId", "request.doctorId", "request.appointmentDate", "result.id"});
+        AppointmentRequest request = AppointmentRequest.builder()
+                .doctorId(7L)
+                .appointmentDate(LocalDate.of(2026, 3, 18))
+                .build();
+
+        Object[] values = plan.extract(new Object[]{42L, request}, AppointmentResponse.builder().id(1001L).build());
+
+        assertArrayEquals(new Object[]{42L, 7L, LocalDate.of(2026, 3, 18), 1001L}, values);
+    }
+
+    @Test
+    @DisplayName("Missing result, unknown roots and collections never leak object contents")
+    void nullsUnknownsAndCollections() throws Exception {
+        AuditPlan plan = AuditPlan.compile(bookAppointment(), PARAMETERS,
+                new String[]{"result.id", "nope", "result"});
+
+        Object[] values = plan.extract(new Object[]{42L, null}, null);
+        assertArrayEquals(new Object[]{null, null, null}, values);
+
+        Object[] sized = plan.extract(new Object[]{42L, null}, List.of("a", "b", "c"));
+        assertEquals(3, sized[2]);
+    }
+
+    @Test
+    @DisplayName("An event renders as one key=value line, quoting values with spaces")
+    void formatsOneLine() {
+        AuditEvent event = new AuditEvent(0L, "APPOINTMENT", "BOOK", "failure", "jdoe", 3_000_000L,
+                new String[]{"patientId"}, new Object[]{42L}, "DoubleBookingException: Time slot\nalready booked");
+
+        String line = AuditLogger.format(event);
+
+        assertEquals("ts=1970-01-01T00:00:00Z category=APPOINTMENT action=BOOK outcome=failure actor=jdoe "
+                + "durationMs=3 patientId=42 error=\"DoubleBookingException: Time slot already booked\"", line);
+    }
+
+    private static Method bookAppointment() throws NoSuchMethodException {
+        return AppointmentService.class.getMethod("bookAppointment", Long.class, AppointmentRequest.class);
+    }
+}
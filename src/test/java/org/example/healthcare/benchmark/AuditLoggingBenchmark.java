@@ -0,0 +1,95 @@
+package org.example.healthcare.benchmark;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.healthcare.aspect.audit.AuditEvent;
+import org.example.healthcare.aspect.audit.AuditLogger;
+import org.example.healthcare.aspect.audit.AuditPlan;
+import org.example.healthcare.dto.request.AppointmentRequest;
+import org.example.healthcare.dto.response.AppointmentResponse;
+import org.example.healthcare.models.enums.AppointmentStatus;
+import org.example.healthcare.service.AppointmentService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of auditing one {@code bookAppointment} call.
+ * <p>
+ * {@code fullArgsAndResult} is what the old aspect did on every call: format the whole argument
+ * array and the whole result through Lombok {@code toString} for two INFO lines.
+ * {@code configuredFields} is the current path: extract the configured fields and offer the
+ * event to the bounded queue. Appender I/O is left out of both; the old path paid it on the
+ * request thread as well, while the new one pays it on the writer thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditLoggingBenchmark {
+
+    private Object[] args;
+    private AppointmentResponse result;
+    private AuditPlan plan;
+    private AuditLogger auditLogger;
+
+    @Setup
+    public void setUp() throws Exception {
+        // The writer thread still renders each event; only the appender is silenced
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("AUDIT")).setLevel(Level.OFF);
+
+        AppointmentRequest request = AppointmentRequest.builder()
+                .doctorId(7L)
+                .appointmentDate(LocalDate.of(2026, 3, 18))
+                .startTime(LocalTime.of(9, 30))
+                .reason("Follow-up on blood pressure readings and medication review")
+                .build();
+        args = new Object[]{42L, request};
+        result = AppointmentResponse.builder()
+                .id(1001L)
+                .patientId(42L)
+                .patientName("John Doe")
+                .doctorId(7L)
+                .doctorName("Dr. Smith")
+                .appointmentDate(request.getAppointmentDate())
+                .startTime(request.getStartTime())
+                .endTime(request.getStartTime().plusMinutes(30))
+                .status(AppointmentStatus.SCHEDULED)
+                .reason(request.getReason())
+                .build();
+
+        plan = AuditPlan.compile(
+                AppointmentService.class.getMethod("bookAppointment", Long.class, AppointmentRequest.class),
+                new String[]{"patientId", "request"},
+                new String[]{"patientId", "request.doctorId", "request.appointmentDate", "request.startTime", "result.id"});
+        auditLogger = new AuditLogger(new SimpleMeterRegistry(), 10_000, 0.8, 10);
+        auditLogger.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        auditLogger.stop();
+    }
+
+    @Benchmark
+    public void fullArgsAndResult(Blackhole blackhole) {
+        blackhole.consume(MessageFormatter.arrayFormat(
+                "[APPOINTMENT] Attempting to {} | Args: {}", new Object[]{"BOOK", args}).getMessage());
+        blackhole.consume(MessageFormatter.arrayFormat(
+                "[APPOINTMENT] {} successful | Result: {}", new Object[]{"BOOK", result}).getMessage());
+    }
+
+    @Benchmark
+    public void configuredFields() {
+        auditLogger.record(new AuditEvent(
+                System.currentTimeMillis(), "APPOINTMENT", "BOOK", "success", "jdoe", 0L,
+                plan.names(), plan.extract(args, result), null));
+    }
+}
@@ -0,0 +1,236 @@
+package org.example.healthcare.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test of the booking mix against a running instance, for pool sizing.
+ * <p>
+ * Runs the mix at doubling concurrency (1, 2, 4, ... {@code max-concurrency}) and prints
+ * throughput and latency per step. The knee is the last step where doubling the clients
+ * still raised throughput by at least 10%; past it, extra concurrency only queues (typically
+ * on a connection pool — compare {@code hikaricp.connections.pending} and
+ * {@code mongodb.driver.pool.waitqueuesize} at each step). Repeat per pool profile and keep
+ * the smallest pool that reaches the same knee.
+ * <p>
+ * The mix, per request: 50% available slots, 20% booking, 15% own appointments and 15% own
+ * patient history (MySQL and MongoDB together). Bookings pick random dates and times, so many
+ * are rejected as double bookings; that is still a full booking transaction and counts as
+ * completed. Bookings are real — point this at a disposable database.
+ * <pre>
+ * mvn -Pload test-compile exec:exec -Dload.username=patient1 -Dload.password=secret \
+ *     -Dload.patient-id=1 -Dload.doctor-ids=1,2,3
+ * </pre>
+ */
+public final class BookingMixLoadRunner {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final double KNEE_GAIN = 1.10;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final String baseUrl;
+    private final long patientId;
+    private final long[] doctorIds;
+    private String token;
+
+    private BookingMixLoadRunner(String baseUrl, long patientId, long[] doctorIds) {
+        this.baseUrl = baseUrl;
+        this.patientId = patientId;
+        this.doctorIds = doctorIds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BookingMixLoadRunner runner = new BookingMixLoadRunner(
+                System.getProperty("load.base-url", "http://localhost:8080"),
+                Long.parseLong(required("load.patient-id")),
+                Arrays.stream(required("load.doctor-ids").split(",")).mapToLong(id -> Long.parseLong(id.strip())).toArray());
+        runner.login(required("load.username"), required("load.password"));
+
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+        Duration step = Duration.ofSeconds(Long.getLong("load.step-seconds", 20));
+        int maxConcurrency = Integer.getInteger("load.max-concurrency", 128);
+
+        System.out.printf("Warming up for %ds...%n", warmup.toSeconds());
+        runner.runStep(4, warmup);
+
+        System.out.printf("%n%6s %10s %9s %9s %9s %9s %8s%n", "conc", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        List<StepResult> results = new ArrayList<>();
+        for (int concurrency = 1; concurrency <= maxConcurrency; concurrency *= 2) {
+            StepResult result = runner.runStep(concurrency, step);
+            results.add(result);
+            System.out.printf("%6d %10.1f %9.1f %9.1f %9.1f %9.1f %8d%n", concurrency, result.throughput(),
+                    result.percentileMillis(0.50), result.percentileMillis(0.95), result.percentileMillis(0.99),
+                    result.percentileMillis(1.0), result.errors());
+        }
+
+        StepResult knee = results.get(0);
+        for (int i = 1; i < results.size(); i++) {
+            if (results.get(i).throughput() < results.get(i - 1).throughput() * KNEE_GAIN) {
+                break;
+            }
+            knee = results.get(i);
+        }
+        System.out.printf("%nKnee: %d concurrent clients, %.1f req/s at p95 %.1f ms%n",
+                knee.concurrency(), knee.throughput(), knee.percentileMillis(0.95));
+    }
+
+    // ==================== STEP ====================
+
+    private StepResult runStep(int concurrency, Duration duration) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Worker> workers = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Worker worker = new Worker(running);
+                workers.add(worker);
+                executor.execute(worker);
+            }
+            Thread.sleep(duration);
+            running.set(false);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int total = workers.stream().mapToInt(worker -> worker.count).sum();
+        long[] latencies = new long[total];
+        int offset = 0;
+        int errors = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+            errors += worker.errors;
+        }
+        Arrays.sort(latencies);
+        return new StepResult(concurrency, total / (elapsed / 1e9), latencies, errors);
+    }
+
+    private final class Worker implements Runnable {
+
+        private final AtomicBoolean running;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        private Worker(AtomicBoolean running) {
+            this.running = running;
+        }
+
+        @Override
+        public void run() {
+            while (running.get()) {
+                long start = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = send(nextRequest());
+                } catch (IOException ex) {
+                    ok = false;
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (!ok) {
+                    errors++;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+    }
+
+    // ==================== MIX ====================
+
+    private HttpRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long doctorId = doctorIds[random.nextInt(doctorIds.length)];
+        LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(30));
+        int roll = random.nextInt(100);
+
+        if (roll < 50) {
+            return get("/api/appointments/available-slots?doctorId=" + doctorId + "&date=" + date);
+        }
+        if (roll < 70) {
+            LocalTime time = LocalTime.of(9 + random.nextInt(8), random.nextBoolean() ? 0 : 30);
+            String body = """
+                    {"doctorId":%d,"appointmentDate":"%s","startTime":"%s","reason":"Load test"}"""
+                    .formatted(doctorId, date, time);
+            return authorized("/api/appointments/patient/" + patientId)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        if (roll < 85) {
+            return get("/api/appointments/patient/" + patientId);
+        }
+        return get("/api/medical-records/patient/" + patientId);
+    }
+
+    // A rejected double booking (409) is an expected outcome of the mix, not an error
+    private boolean send(HttpRequest request) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        return status < 400 || status == 409;
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(path).GET().build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private void login(String username, String password) throws IOException, InterruptedException {
+        String body = """
+                {"username":"%s","password":"%s"}""".formatted(username, password);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        token = matcher.group(1);
+    }
+
+    private static String required(String property) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing -D" + property);
+        }
+        return value;
+    }
+
+    private record StepResult(int concurrency, double throughput, long[] sortedLatencies, int errors) {
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.clamp(index, 0, sortedLatencies.length - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.healthcare.benchmark;
+
+import org.example.healthcare.dto.response.AppointmentResponse;
+import org.example.healthcare.dto.response.MedicalRecordResponse;
+import org.example.healthcare.dto.response.PrescriptionResponse;
+import org.example.healthcare.mapper.AppointmentMapper;
+import org.example.healthcare.mapper.MedicalRecordMapper;
+import org.example.healthcare.mapper.PrescriptionMapper;
+import org.example.healthcare.models.enums.AppointmentStatus;
+import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
+import org.example.healthcare.models.sql.Appointment;
+import org.example.healthcare.models.sql.Doctor;
+import org.example.healthcare.models.sql.Patient;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bytes allocated to map and serialize one list response of 1k or 10k rows.
+ * <p>
+ * Read {@code gc.alloc.rate.norm} (the {@code gc} profiler is on by default in the benchmark
+ * profile). Two questions are measured, each against what the endpoints do today. Mapping:
+ * the mappers' Lombok-builder DTOs ({@code builder*}) against a record holding the same fields
+ * ({@code recordAppointments}), which skips the intermediate builder per row. Serialization:
+ * {@code writeValueAsBytes}, which resolves a writer and grows a fresh byte array per call,
+ * against {@code sharedWriter}, one pre-resolved {@link ObjectWriter} writing into a reused
+ * buffer. {@code response*} combine both halves for the appointments endpoint. Both mapping
+ * paths collect the same way, so only the per-row object differs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperAllocationBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private final AppointmentMapper appointmentMapper = new AppointmentMapper();
+    private final PrescriptionMapper prescriptionMapper = new PrescriptionMapper();
+    private final MedicalRecordMapper medicalRecordMapper = new MedicalRecordMapper();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private List<Appointment> appointments;
+    private List<Prescription> prescriptions;
+    private List<MedicalRecord> records;
+    private List<AppointmentResponse> appointmentResponses;
+    private ObjectWriter appointmentsWriter;
+    private ObjectWriter rowsWriter;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() {
+        List<Doctor> doctors = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            doctors.add(Doctor.builder().id(id).name("Dr. Doctor " + id).specialty("Cardiology").build());
+        }
+        Patient patient = Patient.builder().id(42L).name("John Doe").build();
+        LocalDate start = LocalDate.of(2026, 1, 5);
+
+        appointments = new ArrayList<>(size);
+        prescriptions = new ArrayList<>(size);
+        records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Doctor doctor = doctors.get(i % doctors.size());
+            LocalDate date = start.plusDays(i % 365);
+            LocalTime time = LocalTime.of(9 + i % 8, i % 2 == 0 ? 0 : 30);
+            appointments.add(Appointment.builder()
+                    .id((long) i)
+                    .patient(patient)
+                    .doctor(doctor)
+                    .appointmentDate(date)
+                    .startTime(time)
+                    .endTime(time.plusMinutes(30))
+                    .status(AppointmentStatus.COMPLETED)
+                    .reason("Follow-up on blood pressure readings")
+                    .notes("Stable, continue current medication")
+                    .build());
+            prescriptions.add(Prescription.builder()
+                    .id("rx-" + i)
+                    .appointmentId((long) i)
+                    .patientId(patient.getId())
+                    .doctorId(doctor.getId())
+                    .patientName(patient.getName())
+                    .doctorName(doctor.getName())
+                    .prescriptionDate(date)
+                    .appointmentDate(date)
+                    .medicines(List.of("Lisinopril 10mg", "Aspirin 81mg"))
+                    .diagnosis("Hypertension")
+                    .instructions("Once daily with food")
+                    .build());
+            records.add(MedicalRecord.builder()
+                    .id("mr-" + i)
+                    .patientId(patient.getId())
+                    .doctorId(doctor.getId())
+                    .patientName(patient.getName())
+                    .doctorName(doctor.getName())
+                    .recordDate(date)
+                    .title("Routine check-up")
+                    .description("Blood pressure 130/85, heart rate 72, no new complaints")
+                    .build());
+        }
+
+        appointmentResponses = builderAppointments();
+        appointmentsWriter = jsonMapper.writerFor(new TypeReference<List<AppointmentResponse>>() {
+        });
+        rowsWriter = jsonMapper.writerFor(new TypeReference<List<AppointmentRow>>() {
+        });
+        buffer = new ByteArrayOutputStream(jsonMapper.writeValueAsBytes(appointmentResponses).length);
+    }
+
+    // ==================== MAPPING ====================
+
+    @Benchmark
+    public List<AppointmentResponse> builderAppointments() {
+        return appointments.stream().map(appointmentMapper::toResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<AppointmentRow> recordAppointments() {
+        return appointments.stream().map(AppointmentRow::of).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<PrescriptionResponse> builderPrescriptions() {
+        return prescriptions.stream().map(prescriptionMapper::toResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<MedicalRecordResponse> builderMedicalRecords() {
+        return records.stream().map(medicalRecordMapper::toResponse).collect(Collectors.toList());
+    }
+
+    // ==================== SERIALIZATION ====================
+
+    @Benchmark
+    public byte[] writeValueAsBytes() {
+        return jsonMapper.writeValueAsBytes(appointmentResponses);
+    }
+
+    @Benchmark
+    public int sharedWriter() {
+        buffer.reset();
+        appointmentsWriter.writeValue(buffer, appointmentResponses);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public byte[] responseBuilderFreshWriter() {
+        return jsonMapper.writeValueAsBytes(builderAppointments());
+    }
+
+    @Benchmark
+    public int responseRecordSharedWriter() {
+        buffer.reset();
+        rowsWriter.writeValue(buffer, recordAppointments());
+        return buffer.size();
+    }
+
+    // Same fields and JSON shape as AppointmentResponse, built in one constructor call
+    public record AppointmentRow(Long id, Long patientId, String patientName, Long doctorId, String doctorName,
+                                 LocalDate appointmentDate, LocalTime startTime, LocalTime endTime,
+                                 AppointmentStatus status, String reason, String notes) {
+
+        static AppointmentRow of(Appointment appointment) {
+            return new AppointmentRow(appointment.getId(),
+                    appointment.getPatient().getId(), appointment.getPatient().getName(),
+                    appointment.getDoctor().getId(), appointment.getDoctor().getName(),
+                    appointment.getAppointmentDate(), appointment.getStartTime(), appointment.getEndTime(),
+                    appointment.getStatus(), appointment.getReason(), appointment.getNotes());
+        }
+    }
+}
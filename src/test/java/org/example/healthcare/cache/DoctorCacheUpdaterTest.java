@@ -0,0 +1,114 @@
+package org.example.healthcare.cache;
+
+import org.example.healthcare.dto.response.DoctorResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoctorCacheUpdaterTest {
+
+    private static final List<String> CACHES = List.of("allDoctors", "doctorsBySpecialty", "doctorById");
+
+    private final DoctorResponse smith = doctor(1L, "Dr. Smith", "Cardiology");
+    private final DoctorResponse jones = doctor(2L, "Dr. Jones", "Pediatric Cardiology");
+    private final DoctorResponse lee = doctor(3L, "Dr. Lee", "Neurology");
+
+    private CacheManager jcache;
+    private DoctorCacheUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        jcache = Caching.getCachingProvider("org.ehcache.jsr107.EhcacheCachingProvider").getCacheManager();
+        // By reference, as the application's heap caches store the lists
+        CACHES.forEach(name -> jcache.createCache(name, new MutableConfiguration<>().setStoreByValue(false)));
+        JCacheCacheManager cacheManager = new JCacheCacheManager(jcache);
+        cacheManager.afterPropertiesSet();
+        updater = new DoctorCacheUpdater(cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        CACHES.forEach(jcache::destroyCache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("A registration extends the cached lists whose term matches its specialty")
+    void doctorAdded_extendsMatchingLists() {
+        cache("allDoctors").put(SimpleKey.EMPTY, List.of(smith));
+        cache("doctorsBySpecialty").put("cardio", List.of(smith));
+        cache("doctorsBySpecialty").put("neuro", List.of(lee));
+
+        updater.doctorAdded(jones);
+
+        assertEquals(List.of(smith, jones), cache("allDoctors").get(SimpleKey.EMPTY));
+        assertEquals(List.of(smith, jones), cache("doctorsBySpecialty").get("cardio"));
+        assertEquals(List.of(lee), cache("doctorsBySpecialty").get("neuro"));
+        assertEquals(jones, cache("doctorById").get(2L));
+    }
+
+    @Test
+    @DisplayName("A list loaded once is served from the cache afterwards")
+    void cachedList_loadsOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        updater.cachedList("allDoctors", SimpleKey.EMPTY, () -> { loads.incrementAndGet(); return List.of(smith); });
+        List<DoctorResponse> second = updater.cachedList("allDoctors", SimpleKey.EMPTY,
+                () -> { loads.incrementAndGet(); return List.of(smith); });
+
+        assertEquals(List.of(smith), second);
+        assertEquals(1, loads.get());
+    }
+
+    // The read missed and loaded before the registration committed; its list lacks the new doctor
+    @Test
+    @DisplayName("A load overtaken by a registration is not left in the cache")
+    void cachedList_registrationDuringLoad_dropsStaleList() {
+        List<DoctorResponse> stale = updater.cachedList("allDoctors", SimpleKey.EMPTY, () -> {
+            updater.doctorAdded(jones);
+            return List.of(smith);
+        });
+
+        assertEquals(List.of(smith), stale);
+        assertNull(cache("allDoctors").get(SimpleKey.EMPTY));
+        assertEquals(List.of(smith, jones),
+                updater.cachedList("allDoctors", SimpleKey.EMPTY, () -> List.of(smith, jones)));
+        assertEquals(List.of(smith, jones), cache("allDoctors").get(SimpleKey.EMPTY));
+    }
+
+    @Test
+    @DisplayName("Inside a transaction the lists change only after commit")
+    void doctorAdded_waitsForCommit() {
+        cache("allDoctors").put(SimpleKey.EMPTY, List.of(smith));
+        TransactionSynchronizationManager.initSynchronization();
+
+        updater.doctorAdded(jones);
+        assertEquals(List.of(smith), cache("allDoctors").get(SimpleKey.EMPTY));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(smith, jones), cache("allDoctors").get(SimpleKey.EMPTY));
+    }
+
+    private javax.cache.Cache<Object, Object> cache(String name) {
+        return jcache.getCache(name);
+    }
+
+    private static DoctorResponse doctor(Long id, String name, String specialty) {
+        return DoctorResponse.builder().id(id).name(name).specialty(specialty).build();
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.healthcare.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.healthcare.dto.response.PatientHistoryResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientHistoryCacheTest {
+
+    private final PatientHistoryCache cache =
+            new PatientHistoryCache(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(10), 3);
+
+    @Test
+    @DisplayName("Snapshot is served while the patient's version is unchanged")
+    void hitWithSameStamp() {
+        PatientHistoryResponse history = history(1L);
+        cache.put(1L, cache.stamp(1L), history);
+
+        assertSame(history, cache.get(1L, cache.stamp(1L)));
+        assertNull(cache.get(2L, cache.stamp(2L)));
+    }
+
+    @Test
+    @DisplayName("A change to the patient invalidates only that patient's snapshot")
+    void patientChangedBumpsVersion() {
+        cache.put(1L, cache.stamp(1L), history(1L));
+        cache.put(2L, cache.stamp(2L), history(2L));
+
+        cache.patientChanged(1L);
+
+        assertNull(cache.get(1L, cache.stamp(1L)));
+        assertNotNull(cache.get(2L, cache.stamp(2L)));
+    }
+
+    @Test
+    @DisplayName("Snapshot assembled while a change was committing is never served")
+    void snapshotFromBeforeChangeIsStale() {
+        PatientHistoryCache.Stamp before = cache.stamp(1L);
+        cache.patientChanged(1L);
+        // The slow read finishes after the change, with data that may predate it
+        cache.put(1L, before, history(1L));
+
+        assertNull(cache.get(1L, cache.stamp(1L)));
+    }
+
+    @Test
+    @DisplayName("invalidateAll starts a new epoch for every patient")
+    void invalidateAllBumpsEpoch() {
+        cache.put(1L, cache.stamp(1L), history(1L));
+        cache.put(2L, cache.stamp(2L), history(2L));
+
+        cache.invalidateAll();
+
+        assertNull(cache.get(1L, cache.stamp(1L)));
+        assertNull(cache.get(2L, cache.stamp(2L)));
+    }
+
+    @Test
+    @DisplayName("Tracking more patients than the cap rolls over to a new epoch")
+    void versionMapIsBounded() {
+        PatientHistoryCache.Stamp untouched = cache.stamp(99L);
+        for (long id = 1; id <= 4; id++) {
+            cache.patientChanged(id);
+        }
+
+        assertNotEquals(untouched, cache.stamp(99L));
+        assertEquals(0, cache.stamp(1L).version());
+    }
+
+    private static PatientHistoryResponse history(Long patientId) {
+        return PatientHistoryResponse.builder()
+                .patientId(patientId)
+                .patientName("Patient " + patientId)
+                .entries(List.of())
+                .appointments(List.of())
+                .prescriptions(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.healthcare.config;
+
+import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MongoIndexInitializerTest {
+
+    private static final IndexInfo UNIQUE_APPOINTMENT = index("appointmentId", true);
+
+    private IndexOperations recordIndexes;
+    private IndexOperations prescriptionIndexes;
+    private MongoIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoConverter converter = mock(MongoConverter.class);
+        doReturn(new MongoMappingContext()).when(converter).getMappingContext();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        recordIndexes = mock(IndexOperations.class);
+        prescriptionIndexes = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(MedicalRecord.class)).thenReturn(recordIndexes);
+        when(mongoTemplate.indexOps(Prescription.class)).thenReturn(prescriptionIndexes);
+
+        initializer = new MongoIndexInitializer(mongoTemplate);
+        ReflectionTestUtils.setField(initializer, "verifyQueryPlans", false);
+    }
+
+    @Test
+    @DisplayName("A unique index that cannot be created fails startup")
+    void uniqueIndexCreateFails_failsStartup() {
+        when(prescriptionIndexes.createIndex(argThat(MongoIndexInitializerTest::isUnique)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error, dup key: { appointmentId: 42 }"));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, initializer::afterSingletonsInstantiated);
+
+        assertTrue(ex.getMessage().contains("appointmentId"));
+    }
+
+    @Test
+    @DisplayName("A unique index missing after creation fails startup")
+    void uniqueIndexMissing_failsStartup() {
+        when(prescriptionIndexes.getIndexInfo()).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, initializer::afterSingletonsInstantiated);
+    }
+
+    @Test
+    @DisplayName("Other index failures are logged and startup continues")
+    void nonUniqueIndexCreateFails_continues() {
+        when(recordIndexes.createIndex(any())).thenThrow(new DuplicateKeyException("IndexOptionsConflict"));
+        when(prescriptionIndexes.getIndexInfo()).thenReturn(List.of(UNIQUE_APPOINTMENT));
+
+        assertDoesNotThrow(initializer::afterSingletonsInstantiated);
+    }
+
+    @Test
+    @DisplayName("A non-unique index under the unique index's name is dropped and recreated")
+    void legacyNonUniqueIndex_replaced() {
+        when(prescriptionIndexes.getIndexInfo())
+                .thenReturn(List.of(index("appointmentId", false)), List.of(UNIQUE_APPOINTMENT));
+
+        initializer.afterSingletonsInstantiated();
+
+        var order = inOrder(prescriptionIndexes);
+        order.verify(prescriptionIndexes).dropIndex("appointmentId");
+        order.verify(prescriptionIndexes).createIndex(argThat(MongoIndexInitializerTest::isUnique));
+    }
+
+    @Test
+    @DisplayName("Indexes superseded by the declared compound ones are dropped")
+    void supersededIndexes_dropped() {
+        IndexInfo current = new IndexInfo(List.of(IndexField.create("patientId", Sort.Direction.ASC),
+                IndexField.create("recordDate", Sort.Direction.DESC)), "patient_recordDate_id", false, false, null);
+        IndexInfo old = new IndexInfo(List.of(IndexField.create("doctorId", Sort.Direction.ASC),
+                IndexField.create("recordDate", Sort.Direction.DESC)), "doctor_recordDate", false, false, null);
+        when(recordIndexes.getIndexInfo()).thenReturn(List.of(index("patientId", false), current, old));
+        when(prescriptionIndexes.getIndexInfo()).thenReturn(List.of(UNIQUE_APPOINTMENT));
+
+        initializer.afterSingletonsInstantiated();
+
+        verify(recordIndexes).dropIndex("patientId");
+        verify(recordIndexes).dropIndex("doctor_recordDate");
+        verify(recordIndexes, never()).dropIndex("patient_recordDate_id");
+        verify(prescriptionIndexes, never()).dropIndex(anyString());
+    }
+
+    private static IndexInfo index(String field, boolean unique) {
+        return new IndexInfo(List.of(IndexField.create(field, Sort.Direction.ASC)), field, unique, false, null);
+    }
+
+    private static boolean isUnique(IndexDefinition index) {
+        return index != null && Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.healthcare.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
+import org.example.healthcare.util.MongoExplainPlan;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mongodb.MongoDBContainer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Real explain() output for the hot history queries once MongoIndexInitializer has run.
+// Enough owners share the collections that a collection scan or an in-memory sort would not win by accident.
+@Testcontainers(disabledWithoutDocker = true)
+class MongoIndexPlanTest {
+
+    private static final int OWNERS = 20;
+    private static final int PER_OWNER = 50;
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(MONGO.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "healthcare_db");
+
+        // A single-field index from before the compound ones, which the initializer should drop
+        mongoTemplate.getCollection("medical_records").createIndex(new Document("patientId", 1),
+                new IndexOptions().name("patientId"));
+
+        List<MedicalRecord> records = new ArrayList<>();
+        List<Prescription> prescriptions = new ArrayList<>();
+        LocalDate start = LocalDate.of(2026, 1, 5);
+        for (long owner = 1; owner <= OWNERS; owner++) {
+            for (int i = 0; i < PER_OWNER; i++) {
+                LocalDate date = start.plusDays(i);
+                long otherOwner = (owner + i) % OWNERS + 1;
+                records.add(MedicalRecord.builder()
+                        .patientId(owner).doctorId(otherOwner).recordDate(date)
+                        .title("Check-up").description("Routine visit").build());
+                prescriptions.add(Prescription.builder()
+                        .appointmentId(owner * PER_OWNER + i).patientId(owner).doctorId(otherOwner)
+                        .prescriptionDate(date).appointmentDate(date).diagnosis("Hypertension").build());
+            }
+        }
+        mongoTemplate.insertAll(records);
+        mongoTemplate.insertAll(prescriptions);
+
+        MongoIndexInitializer initializer = new MongoIndexInitializer(mongoTemplate);
+        ReflectionTestUtils.setField(initializer, "verifyQueryPlans", true);
+        initializer.afterSingletonsInstantiated();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Declared compound indexes exist and the superseded single-field index is gone")
+    void declaredIndexesCreated() {
+        List<String> recordIndexes = indexNames(MedicalRecord.class);
+        List<String> prescriptionIndexes = indexNames(Prescription.class);
+
+        assertTrue(recordIndexes.containsAll(List.of("patient_recordDate_id", "doctor_recordDate_id")), recordIndexes.toString());
+        assertFalse(recordIndexes.contains("patientId"), recordIndexes.toString());
+        assertTrue(prescriptionIndexes.containsAll(List.of("patient_prescriptionDate_id", "doctor_prescriptionDate_id")),
+                prescriptionIndexes.toString());
+    }
+
+    @Test
+    @DisplayName("findByPatientIdOrderByRecordDateDesc reads the patient index in order")
+    void recordsByPatient() {
+        assertServedBy("patient_recordDate_id", "medical_records",
+                new Document("patientId", 3L), new Document("recordDate", -1));
+    }
+
+    @Test
+    @DisplayName("findByDoctorIdOrderByRecordDateDesc reads the doctor index in order")
+    void recordsByDoctor() {
+        assertServedBy("doctor_recordDate_id", "medical_records",
+                new Document("doctorId", 3L), new Document("recordDate", -1));
+    }
+
+    @Test
+    @DisplayName("History keyset pages on (date, _id) read the compound indexes in order")
+    void historyKeysetPages() {
+        assertServedBy("patient_recordDate_id", "medical_records",
+                new Document("patientId", 3L), new Document("recordDate", -1).append("_id", -1));
+        assertServedBy("patient_prescriptionDate_id", "prescriptions",
+                new Document("patientId", 3L), new Document("prescriptionDate", -1).append("_id", -1));
+        assertServedBy("doctor_prescriptionDate_id", "prescriptions",
+                new Document("doctorId", 3L), new Document("prescriptionDate", -1).append("_id", -1));
+    }
+
+    private static void assertServedBy(String index, String collection, Document filter, Document sort) {
+        MongoExplainPlan plan = MongoExplainPlan.of(
+                mongoTemplate.getCollection(collection).find(filter).sort(sort).explain());
+
+        assertFalse(plan.hasBlockingSort(), "in-memory SORT for " + collection + " " + filter.toJson());
+        assertFalse(plan.hasCollectionScan(), "COLLSCAN for " + collection + " " + filter.toJson());
+        assertEquals(List.of(index), plan.indexNames());
+    }
+
+    private static List<String> indexNames(Class<?> type) {
+        return mongoTemplate.indexOps(type).getIndexInfo().stream().map(IndexInfo::getName).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.healthcare.helpers;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.models.enums.Role;
+import org.example.healthcare.repository.sql.AppointmentRepository;
+import org.example.healthcare.repository.sql.DoctorRepository;
+import org.example.healthcare.repository.sql.NameChangeEventRepository;
+import org.example.healthcare.repository.sql.UserRepository;
+import org.example.healthcare.service.AdminService;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Helper for AdminService tests.
+ * Focuses on the database reset: what it clears besides the tables themselves.
+ */
+public class AdminServiceTestHelper {
+
+    private final AdminService adminService;
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorRepository doctorRepository;
+    private final UserRepository userRepository;
+    private final NameChangeEventRepository nameChangeEventRepository;
+    private final PatientHistoryCache historyCache;
+    private final EntityManager entityManager;
+
+    public AdminServiceTestHelper(AdminService adminService,
+                                  AppointmentRepository appointmentRepository,
+                                  DoctorRepository doctorRepository,
+                                  UserRepository userRepository,
+                                  NameChangeEventRepository nameChangeEventRepository,
+                                  PatientHistoryCache historyCache,
+                                  EntityManager entityManager) {
+        this.adminService = adminService;
+        this.appointmentRepository = appointmentRepository;
+        this.doctorRepository = doctorRepository;
+        this.userRepository = userRepository;
+        this.nameChangeEventRepository = nameChangeEventRepository;
+        this.historyCache = historyCache;
+        this.entityManager = entityManager;
+    }
+
+    // ==================== RESET ====================
+
+    // Ids restart at 1 after a reset; a cached history must never be served to whoever gets a reused id
+    public void reset_clearsPatientHistoryCache() {
+        when(entityManager.createNativeQuery(anyString())).thenReturn(mock(Query.class));
+
+        adminService.resetDatabase();
+
+        verify(userRepository).deleteAllByRoleNot(Role.ADMIN);
+        verify(historyCache).invalidateAll();
+        verify(entityManager).createNativeQuery("ALTER TABLE patients AUTO_INCREMENT = 1");
+    }
+
+    // Pending renames keyed by old ids would otherwise rewrite names on documents of the ids' next owners
+    public void reset_clearsNameChangeOutbox() {
+        when(entityManager.createNativeQuery(anyString())).thenReturn(mock(Query.class));
+
+        adminService.resetDatabase();
+
+        InOrder order = inOrder(nameChangeEventRepository, appointmentRepository, doctorRepository);
+        order.verify(nameChangeEventRepository).deleteAllInBatch();
+        order.verify(appointmentRepository).deleteAll();
+        order.verify(doctorRepository).deleteAll();
+        verify(entityManager).createNativeQuery("ALTER TABLE name_change_events AUTO_INCREMENT = 1");
+    }
+
+    public void reset_failure_wrapped() {
+        doThrow(new DataAccessResourceFailureException("connection reset")).when(appointmentRepository).deleteAll();
+
+        DatabaseOperationException ex = assertThrows(DatabaseOperationException.class, adminService::resetDatabase);
+
+        assertInstanceOf(DataAccessResourceFailureException.class, ex.getCause());
+        verifyNoInteractions(entityManager);
+    }
+}
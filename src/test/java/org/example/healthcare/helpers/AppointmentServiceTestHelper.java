@@ -1,5 +1,6 @@
 package org.example.healthcare.helpers;
 
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.dto.request.AppointmentRequest;
 import org.example.healthcare.dto.response.AppointmentResponse;
 import org.example.healthcare.models.enums.AppointmentStatus;
@@ -33,6 +34,7 @@ public class AppointmentServiceTestHelper {
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final DoctorAvailabilityRepository availabilityRepository;
+    private final PatientHistoryCache historyCache;
 
     // Shared test data
     private final Doctor doctor = TestDataHelper.createDoctor(1L, "Dr. Smith", "Cardiology");
@@ -49,15 +51,17 @@ public class AppointmentServiceTestHelper {
             DoctorRepository doctorRepository,
             DoctorAvailabilityRepository availabilityRepository,
             AppointmentMapper appointmentMapper,
-            CallerGuard callerGuard) {
+            CallerGuard callerGuard,
+            PatientHistoryCache historyCache) {
 
         this.appointmentRepository = appointmentRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
         this.availabilityRepository = availabilityRepository;
+        this.historyCache = historyCache;
         this.appointmentService = new AppointmentService(
                 appointmentRepository, patientRepository, doctorRepository,
-                availabilityRepository, appointmentMapper, callerGuard);
+                availabilityRepository, appointmentMapper, callerGuard, historyCache);
     }
 
     // ── BOOKING SUCCESS ───────────────────────────────────────
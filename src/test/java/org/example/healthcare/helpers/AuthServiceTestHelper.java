@@ -0,0 +1,120 @@
+package org.example.healthcare.helpers;
+
+import io.jsonwebtoken.Claims;
+import org.example.healthcare.dto.request.RefreshTokenRequest;
+import org.example.healthcare.dto.response.JwtResponse;
+import org.example.healthcare.exception.InvalidTokenException;
+import org.example.healthcare.models.sql.Patient;
+import org.example.healthcare.repository.sql.PatientRepository;
+import org.example.healthcare.repository.sql.UserRepository;
+import org.example.healthcare.security.JwtTokenProvider;
+import org.example.healthcare.security.TokenRevocationService;
+import org.example.healthcare.service.AuthService;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Helper for AuthService tests.
+ * Focuses on refresh-token rotation and logout revocation; tokens are real, signed by a test key.
+ */
+public class AuthServiceTestHelper {
+
+    private final AuthService authService;
+    private final UserRepository userRepository;
+    private final PatientRepository patientRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+
+    // Shared test data
+    private final Patient patient = TestDataHelper.createPatient(1L, "John Doe");
+
+    public AuthServiceTestHelper(AuthService authService,
+                                 UserRepository userRepository,
+                                 PatientRepository patientRepository,
+                                 JwtTokenProvider jwtTokenProvider,
+                                 TokenRevocationService tokenRevocationService) {
+        this.authService = authService;
+        this.userRepository = userRepository;
+        this.patientRepository = patientRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    // ==================== REFRESH ====================
+
+    public void refresh_rotatesToken() {
+        String refreshToken = jwtTokenProvider.generateRefreshToken(username());
+        Claims claims = jwtTokenProvider.parseClaims(refreshToken);
+        when(tokenRevocationService.isRevoked(claims.getId())).thenReturn(false);
+        when(tokenRevocationService.revoke(claims.getId(), username(), claims.getExpiration())).thenReturn(true);
+        when(userRepository.findByUsername(username())).thenReturn(Optional.of(patient.getUser()));
+        when(patientRepository.findByUserId(patient.getUser().getId())).thenReturn(Optional.of(patient));
+
+        JwtResponse response = authService.refresh(new RefreshTokenRequest(refreshToken));
+
+        assertNotEquals(refreshToken, response.getRefreshToken());
+        assertEquals(username(), jwtTokenProvider.parseClaims(response.getToken()).getSubject());
+        assertEquals(patient.getId(), response.getRoleEntityId());
+        verify(tokenRevocationService).revoke(claims.getId(), username(), claims.getExpiration());
+    }
+
+    public void refresh_revokedToken_throwsException() {
+        String refreshToken = jwtTokenProvider.generateRefreshToken(username());
+        when(tokenRevocationService.isRevoked(anyString())).thenReturn(true);
+
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(new RefreshTokenRequest(refreshToken)));
+        verify(tokenRevocationService, never()).revoke(any(), any(), any());
+        verifyNoInteractions(userRepository);
+    }
+
+    // Both calls pass isRevoked; the insert-only revoke lets exactly one of them through
+    public void refresh_concurrentReuse_onlyOneSucceeds() {
+        String refreshToken = jwtTokenProvider.generateRefreshToken(username());
+        when(tokenRevocationService.isRevoked(anyString())).thenReturn(false);
+        when(tokenRevocationService.revoke(anyString(), anyString(), any())).thenReturn(true, false);
+        when(userRepository.findByUsername(username())).thenReturn(Optional.of(patient.getUser()));
+        when(patientRepository.findByUserId(patient.getUser().getId())).thenReturn(Optional.of(patient));
+
+        assertNotNull(authService.refresh(new RefreshTokenRequest(refreshToken)));
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(new RefreshTokenRequest(refreshToken)));
+        verify(patientRepository, times(1)).findByUserId(patient.getUser().getId());
+    }
+
+    public void refresh_accessToken_throwsException() {
+        String accessToken = jwtTokenProvider.generateAccessToken(username());
+
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(new RefreshTokenRequest(accessToken)));
+        verify(tokenRevocationService, never()).revoke(any(), any(), any());
+    }
+
+    // ==================== LOGOUT ====================
+
+    public void logout_revokesBothTokens() {
+        String accessToken = jwtTokenProvider.generateAccessToken(username());
+        String refreshToken = jwtTokenProvider.generateRefreshToken(username());
+        Claims access = jwtTokenProvider.parseClaims(accessToken);
+        Claims refresh = jwtTokenProvider.parseClaims(refreshToken);
+
+        authService.logout(accessToken, refreshToken);
+
+        verify(tokenRevocationService).revoke(access.getId(), username(), access.getExpiration());
+        verify(tokenRevocationService).revoke(refresh.getId(), username(), refresh.getExpiration());
+    }
+
+    public void logout_foreignRefreshToken_revokesAccessOnly() {
+        String accessToken = jwtTokenProvider.generateAccessToken(username());
+        String foreignRefresh = jwtTokenProvider.generateRefreshToken("someone_else");
+
+        authService.logout(accessToken, foreignRefresh);
+
+        verify(tokenRevocationService, times(1)).revoke(any(), any(), any());
+        verify(tokenRevocationService, never()).revoke(any(), eq("someone_else"), any());
+    }
+
+    private String username() {
+        return patient.getUser().getUsername();
+    }
+}
@@ -1,15 +1,19 @@
 package org.example.healthcare.helpers;
 
+import org.example.healthcare.cache.DoctorCacheUpdater;
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.dto.request.DoctorRequest;
 import org.example.healthcare.dto.response.DoctorResponse;
 import org.example.healthcare.exception.ResourceNotFoundException;
 import org.example.healthcare.mapper.DoctorMapper;
+import org.example.healthcare.models.enums.NameSubjectType;
 import org.example.healthcare.models.sql.Doctor;
 import org.example.healthcare.repository.sql.AppointmentRepository;
 import org.example.healthcare.repository.sql.DoctorAvailabilityRepository;
 import org.example.healthcare.repository.sql.DoctorRepository;
 import org.example.healthcare.repository.sql.UserRepository;
 import org.example.healthcare.service.DoctorService;
+import org.example.healthcare.service.NamePropagationService;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,16 +31,21 @@ public class DoctorServiceTestHelper {
     private final DoctorRepository doctorRepository;
     private final DoctorAvailabilityRepository doctorAvailabilityRepository;
     private final UserRepository userRepository;
+    private final NamePropagationService namePropagationService;
 
     public DoctorServiceTestHelper(DoctorRepository doctorRepository,
                                    DoctorAvailabilityRepository doctorAvailabilityRepository,
                                    AppointmentRepository appointmentRepository,
                                    UserRepository userRepository,
-                                   DoctorMapper doctorMapper) {
+                                   DoctorMapper doctorMapper,
+                                   NamePropagationService namePropagationService,
+                                   PatientHistoryCache historyCache,
+                                   DoctorCacheUpdater doctorCacheUpdater) {
         this.doctorRepository = doctorRepository;
         this.doctorAvailabilityRepository = doctorAvailabilityRepository;
         this.userRepository = userRepository;
-        this.doctorService = new DoctorService(doctorRepository, doctorAvailabilityRepository, appointmentRepository, userRepository, doctorMapper);
+        this.namePropagationService = namePropagationService;
+        this.doctorService = new DoctorService(doctorRepository, doctorAvailabilityRepository, appointmentRepository, userRepository, doctorMapper, namePropagationService, historyCache, doctorCacheUpdater);
     }
 
     // ── GET ALL ───────────────────────────────────────────────
@@ -117,8 +126,23 @@ public class DoctorServiceTestHelper {
                 .build();
         DoctorResponse result = doctorService.updateDoctor(1L, request);
 
-        // Assert: save was called
+        // Assert: save was called and the rename was queued for the Mongo copies
         verify(doctorRepository, times(1)).save(any(Doctor.class));
+        verify(namePropagationService, times(1)).enqueue(NameSubjectType.DOCTOR, 1L, "Dr. Smith Updated");
+    }
+
+    /** Verify updateDoctor does not queue a rename when only the specialty changes */
+    public void updateDoctor_sameName_doesNotEnqueue() {
+        Doctor doctor = TestDataHelper.createDoctor(1L, "Dr. Smith", "Cardiology");
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.save(any(Doctor.class))).thenReturn(doctor);
+
+        doctorService.updateDoctor(1L, DoctorRequest.builder()
+                .name("Dr. Smith")
+                .specialty("Heart Surgery")
+                .build());
+
+        verifyNoInteractions(namePropagationService);
     }
 
     /** Verify updateDoctor throws when doctor not found */
@@ -0,0 +1,230 @@
+package org.example.healthcare.helpers;
+
+import org.bson.Document;
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.dto.response.MedicalRecordSummaryResponse;
+import org.example.healthcare.dto.response.PatientHistoryPageResponse;
+import org.example.healthcare.dto.response.PatientHistoryResponse;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.exception.ForbiddenOperationException;
+import org.example.healthcare.models.enums.HistorySection;
+import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
+import org.example.healthcare.repository.nosql.MedicalRecordRepository;
+import org.example.healthcare.repository.sql.AppointmentRepository;
+import org.example.healthcare.repository.sql.PatientRepository;
+import org.example.healthcare.security.CallerGuard;
+import org.example.healthcare.service.MedicalRecordService;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Helper for MedicalRecordService tests.
+ * Focuses on the concurrent patient history fetch: assembling the sections, the per-section
+ * timeouts carried by the queries themselves, and failing the whole history when one section fails;
+ * plus the projected history reads and the doctor record summaries.
+ * The sections run on a real executor; Mongo and the repositories are mocked.
+ */
+public class MedicalRecordServiceTestHelper {
+
+    private static final Long PATIENT_ID = 1L;
+
+    private final MedicalRecordService medicalRecordService;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final MongoTemplate mongoTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PatientHistoryCache historyCache;
+    private final CallerGuard callerGuard;
+
+    public MedicalRecordServiceTestHelper(MedicalRecordService medicalRecordService,
+                                          MedicalRecordRepository medicalRecordRepository,
+                                          PatientRepository patientRepository,
+                                          AppointmentRepository appointmentRepository,
+                                          MongoTemplate mongoTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          PatientHistoryCache historyCache,
+                                          CallerGuard callerGuard) {
+        this.medicalRecordService = medicalRecordService;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.patientRepository = patientRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.transactionManager = transactionManager;
+        this.historyCache = historyCache;
+        this.callerGuard = callerGuard;
+    }
+
+    // ==================== FAN-OUT ====================
+
+    public void history_assemblesAllSections() {
+        stubPatient();
+        when(mongoTemplate.find(any(Query.class), eq(MedicalRecord.class))).thenReturn(List.of(record("r1"), record("r2")));
+        when(mongoTemplate.find(any(Query.class), eq(Prescription.class))).thenReturn(List.of(prescription("p1")));
+        when(appointmentRepository.findWithParticipantsByPatientId(PATIENT_ID)).thenReturn(List.of());
+
+        PatientHistoryResponse history = medicalRecordService.getPatientHistory(PATIENT_ID);
+
+        assertEquals("John Doe", history.getPatientName());
+        assertEquals(2, history.getEntries().size());
+        assertEquals(0, history.getAppointments().size());
+        assertEquals("p1", history.getPrescriptions().get(0).getId());
+        verify(historyCache).put(eq(PATIENT_ID), any(), eq(history));
+    }
+
+    // ==================== TIMEOUTS ====================
+
+    // The futures' orTimeout alone would leave the queries running; each query must carry its section's limit
+    public void history_queriesCarrySectionTimeouts() {
+        stubPatient();
+        when(appointmentRepository.findWithParticipantsByPatientId(PATIENT_ID)).thenReturn(List.of());
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+
+        medicalRecordService.getPatientHistory(PATIENT_ID);
+
+        verify(mongoTemplate, times(2)).find(queries.capture(), any());
+        queries.getAllValues().forEach(query -> assertEquals(2000L, query.getMeta().getMaxTimeMsec()));
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(2, definition.getValue().getTimeout());
+        assertTrue(definition.getValue().isReadOnly());
+    }
+
+    public void historyPage_keysetQueriesCarrySectionTimeouts() {
+        stubPatient();
+        ReflectionTestUtils.setField(medicalRecordService, "recordsTimeout", Duration.ofMillis(1500));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+
+        PatientHistoryPageResponse page = medicalRecordService.getPatientHistoryPage(PATIENT_ID,
+                EnumSet.of(HistorySection.RECORDS), 10, null, null, null);
+
+        verify(mongoTemplate).find(query.capture(), eq(MedicalRecord.class));
+        assertEquals(1500L, query.getValue().getMeta().getMaxTimeMsec());
+        assertEquals(11, query.getValue().getLimit());
+        assertNull(page.getAppointments());
+        verifyNoInteractions(appointmentRepository, transactionManager);
+    }
+
+    public void history_slowSection_timesOut() {
+        stubPatient();
+        ReflectionTestUtils.setField(medicalRecordService, "appointmentsTimeout", Duration.ofMillis(50));
+        when(appointmentRepository.findWithParticipantsByPatientId(PATIENT_ID)).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return List.of();
+        });
+
+        DatabaseOperationException ex = assertThrows(DatabaseOperationException.class,
+                () -> medicalRecordService.getPatientHistory(PATIENT_ID));
+
+        assertEquals("Timed out fetching appointments for patient id: 1", ex.getMessage());
+        verify(historyCache, never()).put(any(), any(), any());
+    }
+
+    // ==================== PARTIAL FAILURE ====================
+
+    // One failed section fails the whole history; a partial history is never returned or cached
+    public void history_failedSection_failsHistory() {
+        stubPatient();
+        when(appointmentRepository.findWithParticipantsByPatientId(PATIENT_ID)).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Prescription.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        DatabaseOperationException ex = assertThrows(DatabaseOperationException.class,
+                () -> medicalRecordService.getPatientHistory(PATIENT_ID));
+
+        assertEquals("Failed to assemble the record for patient id: 1", ex.getMessage());
+        assertInstanceOf(DataAccessResourceFailureException.class, ex.getCause());
+        verify(historyCache, never()).put(any(), any(), any());
+    }
+
+    public void history_cached_skipsQueries() {
+        PatientHistoryResponse cached = PatientHistoryResponse.builder().patientId(PATIENT_ID).build();
+        when(historyCache.get(eq(PATIENT_ID), any())).thenReturn(cached);
+
+        assertSame(cached, medicalRecordService.getPatientHistory(PATIENT_ID));
+        verifyNoInteractions(patientRepository, appointmentRepository, mongoTemplate);
+    }
+
+    // ==================== PROJECTION ====================
+
+    // Full documents minus what the responses never show: doctorId and the audit timestamps
+    public void history_projectsMappedFields() {
+        stubPatient();
+        when(appointmentRepository.findWithParticipantsByPatientId(PATIENT_ID)).thenReturn(List.of());
+        ArgumentCaptor<Query> records = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Query> prescriptions = ArgumentCaptor.forClass(Query.class);
+
+        medicalRecordService.getPatientHistory(PATIENT_ID);
+
+        verify(mongoTemplate).find(records.capture(), eq(MedicalRecord.class));
+        verify(mongoTemplate).find(prescriptions.capture(), eq(Prescription.class));
+        Document recordFields = records.getValue().getFieldsObject();
+        assertTrue(recordFields.containsKey("description"));
+        assertFalse(recordFields.containsKey("doctorId"));
+        assertFalse(recordFields.containsKey("createdAt"));
+        Document prescriptionFields = prescriptions.getValue().getFieldsObject();
+        assertTrue(prescriptionFields.containsKey("medicines"));
+        assertTrue(prescriptionFields.containsKey("instructions"));
+        assertFalse(prescriptionFields.containsKey("doctorId"));
+    }
+
+    // ==================== SUMMARIES ====================
+
+    public void doctorRecordSummaries_useProjection() {
+        MedicalRecord projected = record("r1");
+        when(medicalRecordRepository.findSummariesByDoctorId(3L)).thenReturn(List.of(projected));
+
+        List<MedicalRecordSummaryResponse> summaries = medicalRecordService.getDoctorRecordSummaries(3L);
+
+        assertEquals(1, summaries.size());
+        assertEquals("r1", summaries.get(0).getId());
+        assertEquals("Checkup", summaries.get(0).getTitle());
+        verify(callerGuard).assertDoctorOwns(3L);
+        verify(medicalRecordRepository, never()).findByDoctorIdOrderByRecordDateDesc(any());
+    }
+
+    public void doctorRecordSummaries_notOwner_noQuery() {
+        doThrow(new ForbiddenOperationException("Access denied")).when(callerGuard).assertDoctorOwns(4L);
+
+        assertThrows(ForbiddenOperationException.class, () -> medicalRecordService.getDoctorRecordSummaries(4L));
+        verifyNoInteractions(medicalRecordRepository);
+    }
+
+    public void doctorRecordSummaries_databaseFailure_wrapped() {
+        when(medicalRecordRepository.findSummariesByDoctorId(3L))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        assertThrows(DatabaseOperationException.class, () -> medicalRecordService.getDoctorRecordSummaries(3L));
+    }
+
+    // ==================== HELPERS ====================
+
+    private void stubPatient() {
+        when(patientRepository.findById(PATIENT_ID))
+                .thenReturn(Optional.of(TestDataHelper.createPatient(PATIENT_ID, "John Doe")));
+    }
+
+    private static MedicalRecord record(String id) {
+        return MedicalRecord.builder().id(id).patientId(PATIENT_ID).recordDate(LocalDate.now()).title("Checkup").build();
+    }
+
+    private static Prescription prescription(String id) {
+        return Prescription.builder().id(id).patientId(PATIENT_ID).prescriptionDate(LocalDate.now()).build();
+    }
+}
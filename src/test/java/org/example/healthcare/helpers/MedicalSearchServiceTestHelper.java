@@ -0,0 +1,136 @@
+package org.example.healthcare.helpers;
+
+import org.example.healthcare.dto.response.MedicalSearchHitResponse;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.exception.ForbiddenOperationException;
+import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
+import org.example.healthcare.security.CallerGuard;
+import org.example.healthcare.service.MedicalSearchService;
+import org.bson.Document;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Helper for MedicalSearchService tests.
+ * Focuses on the scope carried by each text query and on merging the two collections' hits
+ * by relative score. MongoTemplate is mocked and returns hits with preset text scores.
+ */
+public class MedicalSearchServiceTestHelper {
+
+    private final MedicalSearchService searchService;
+    private final MongoTemplate mongoTemplate;
+    private final CallerGuard callerGuard;
+
+    public MedicalSearchServiceTestHelper(MongoTemplate mongoTemplate, CallerGuard callerGuard) {
+        this.mongoTemplate = mongoTemplate;
+        this.callerGuard = callerGuard;
+        this.searchService = new MedicalSearchService(mongoTemplate, callerGuard);
+    }
+
+    // ==================== SCOPE ====================
+
+    public void searchPatient_scopeInTextQuery() {
+        ArgumentCaptor<Query> records = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Query> prescriptions = ArgumentCaptor.forClass(Query.class);
+
+        searchService.searchPatient(5L, "penicillin", 20);
+
+        verify(mongoTemplate).find(records.capture(), eq(MedicalRecord.class));
+        verify(mongoTemplate).find(prescriptions.capture(), eq(Prescription.class));
+        for (Query query : List.of(records.getValue(), prescriptions.getValue())) {
+            Document filter = query.getQueryObject();
+            assertEquals(5L, filter.get("patientId"));
+            assertEquals("penicillin", ((Document) filter.get("$text")).get("$search"));
+            assertFalse(filter.containsKey("doctorId"));
+            assertEquals(20, query.getLimit());
+        }
+        assertFalse(records.getValue().getFieldsObject().containsKey("description"));
+    }
+
+    public void searchDoctor_scopeInTextQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+
+        searchService.searchDoctor(3L, "asthma", 10);
+
+        verify(callerGuard).assertDoctorOwns(3L);
+        verify(mongoTemplate).find(query.capture(), eq(MedicalRecord.class));
+        assertEquals(3L, query.getValue().getQueryObject().get("doctorId"));
+        assertFalse(query.getValue().getQueryObject().containsKey("patientId"));
+    }
+
+    public void searchPatient_notOwner_noQuery() {
+        doThrow(new ForbiddenOperationException("Access denied")).when(callerGuard).assertPatientOwns(5L);
+
+        assertThrows(ForbiddenOperationException.class, () -> searchService.searchPatient(5L, "penicillin", 20));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    // ==================== RANKING ====================
+
+    // Raw record scores run higher than prescription scores; relative scores interleave the two
+    public void search_mergesByRelativeScore() {
+        when(mongoTemplate.find(any(Query.class), eq(MedicalRecord.class))).thenReturn(List.of(
+                record("r1", 12f, LocalDate.of(2026, 1, 10)),
+                record("r2", 6f, LocalDate.of(2026, 1, 5))));
+        when(mongoTemplate.find(any(Query.class), eq(Prescription.class))).thenReturn(List.of(
+                prescription("p1", 2f, LocalDate.of(2026, 2, 1)),
+                prescription("p2", 0.5f, LocalDate.of(2026, 2, 2))));
+
+        List<MedicalSearchHitResponse> hits = searchService.searchPatient(5L, "penicillin", 20);
+
+        // p1 and r1 both score 1.0; the newer one comes first
+        assertEquals(List.of("p1", "r1", "r2", "p2"), hits.stream().map(MedicalSearchHitResponse::getId).toList());
+        assertEquals(1.0f, hits.get(0).getScore());
+        assertEquals(0.5f, hits.get(2).getScore());
+        assertEquals(0.25f, hits.get(3).getScore());
+    }
+
+    public void search_limitsMergedHits() {
+        when(mongoTemplate.find(any(Query.class), eq(MedicalRecord.class))).thenReturn(List.of(
+                record("r1", 4f, LocalDate.of(2026, 1, 10)),
+                record("r2", 2f, LocalDate.of(2026, 1, 5))));
+        when(mongoTemplate.find(any(Query.class), eq(Prescription.class))).thenReturn(List.of(
+                prescription("p1", 1f, LocalDate.of(2026, 2, 1)),
+                prescription("p2", 0.75f, LocalDate.of(2026, 2, 2))));
+
+        List<MedicalSearchHitResponse> hits = searchService.searchPatient(5L, "penicillin", 2);
+
+        assertEquals(List.of("p1", "r1"), hits.stream().map(MedicalSearchHitResponse::getId).toList());
+    }
+
+    // ==================== VALIDATION ====================
+
+    public void search_invalidArguments_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchPatient(5L, "  ", 20));
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchPatient(5L, "penicillin", 0));
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchPatient(5L, "penicillin", 101));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    public void search_databaseFailure_wrapped() {
+        when(mongoTemplate.find(any(Query.class), eq(MedicalRecord.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        assertThrows(DatabaseOperationException.class, () -> searchService.searchPatient(5L, "penicillin", 20));
+    }
+
+    // ==================== HELPERS ====================
+
+    private static MedicalRecord record(String id, float score, LocalDate date) {
+        return MedicalRecord.builder().id(id).patientId(5L).title("Penicillin allergy").recordDate(date).score(score).build();
+    }
+
+    private static Prescription prescription(String id, float score, LocalDate date) {
+        return Prescription.builder().id(id).patientId(5L).diagnosis("Strep throat").prescriptionDate(date).score(score).build();
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.healthcare.helpers;
+
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.models.enums.NameChangeStatus;
+import org.example.healthcare.models.enums.NameSubjectType;
+import org.example.healthcare.models.nosql.MedicalRecord;
+import org.example.healthcare.models.nosql.Prescription;
+import org.example.healthcare.models.sql.NameChangeEvent;
+import org.example.healthcare.repository.sql.DoctorRepository;
+import org.example.healthcare.repository.sql.NameChangeEventRepository;
+import org.example.healthcare.repository.sql.PatientRepository;
+import org.example.healthcare.service.NamePropagationService;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Helper for NamePropagationService tests.
+ * Focuses on the drain worker: applying a batch, retry scheduling with exponential backoff,
+ * giving up after max-attempts, and which cached histories are invalidated.
+ * Built with batch size 2, max attempts 4 and an initial backoff of 5s.
+ */
+public class NamePropagationServiceTestHelper {
+
+    public static final int BATCH_SIZE = 2;
+    public static final int MAX_ATTEMPTS = 4;
+    public static final Duration INITIAL_BACKOFF = Duration.ofSeconds(5);
+
+    private final NamePropagationService propagationService;
+    private final NameChangeEventRepository eventRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final MongoTemplate mongoTemplate;
+    private final PatientHistoryCache historyCache;
+    private final MeterRegistry meterRegistry;
+
+    public NamePropagationServiceTestHelper(NamePropagationService propagationService,
+                                            NameChangeEventRepository eventRepository,
+                                            DoctorRepository doctorRepository,
+                                            PatientRepository patientRepository,
+                                            MongoTemplate mongoTemplate,
+                                            PatientHistoryCache historyCache,
+                                            MeterRegistry meterRegistry) {
+        this.propagationService = propagationService;
+        this.eventRepository = eventRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.historyCache = historyCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ==================== SUCCESS ====================
+
+    public void drain_doctorRename_appliedAndMarkedDone() {
+        NameChangeEvent event = event(NameSubjectType.DOCTOR, 1L, 0);
+        when(eventRepository.claimDue(any(), eq(BATCH_SIZE))).thenReturn(List.of(event));
+        when(doctorRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(TestDataHelper.createDoctor(1L, "Dr. Renamed", "Cardiology")));
+        stubBulk(3);
+
+        propagationService.drain();
+
+        assertEquals(NameChangeStatus.DONE, event.getStatus());
+        assertNotNull(event.getProcessedAt());
+        assertNull(event.getLastError());
+        verify(eventRepository).saveAll(List.of(event));
+        // A doctor appears in many histories, so every cached history is dropped
+        verify(historyCache).invalidateAll();
+        assertEquals(6.0, meterRegistry.counter("name_propagation.documents.updated").count());
+        assertEquals(1.0, meterRegistry.counter("name_propagation.events", "outcome", "done").count());
+    }
+
+    public void drain_patientRename_invalidatesOnlyThatPatient() {
+        NameChangeEvent event = event(NameSubjectType.PATIENT, 7L, 0);
+        when(eventRepository.claimDue(any(), eq(BATCH_SIZE))).thenReturn(List.of(event));
+        when(patientRepository.findAllById(List.of(7L)))
+                .thenReturn(List.of(TestDataHelper.createPatient(7L, "Jane Renamed")));
+        stubBulk(1);
+
+        propagationService.drain();
+
+        verify(historyCache).patientChanged(7L);
+        verify(historyCache, never()).invalidateAll();
+        verifyNoInteractions(doctorRepository);
+    }
+
+    // A full batch may mean more are due; the worker keeps claiming until a short batch
+    public void drain_fullBatch_claimsAgain() {
+        when(eventRepository.claimDue(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(event(NameSubjectType.PATIENT, 7L, 0), event(NameSubjectType.PATIENT, 8L, 0)))
+                .thenReturn(List.of());
+        when(patientRepository.findAllById(List.of(7L, 8L))).thenReturn(List.of(
+                TestDataHelper.createPatient(7L, "Jane Renamed"), TestDataHelper.createPatient(8L, "Joe Renamed")));
+        stubBulk(2);
+
+        propagationService.drain();
+
+        verify(eventRepository, times(2)).claimDue(any(), eq(BATCH_SIZE));
+        verify(eventRepository).countByStatus(NameChangeStatus.PENDING);
+    }
+
+    // ==================== RETRY ====================
+
+    // Each failed attempt doubles the delay: 5s, 10s, 20s
+    public void drain_failure_retriesWithGrowingBackoff() {
+        NameChangeEvent event = event(NameSubjectType.DOCTOR, 1L, 0);
+        when(eventRepository.claimDue(any(), eq(BATCH_SIZE))).thenReturn(List.of(event));
+        when(doctorRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(TestDataHelper.createDoctor(1L, "Dr. Renamed", "Cardiology")));
+        failBulk();
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            LocalDateTime before = LocalDateTime.now();
+            propagationService.drain();
+            LocalDateTime after = LocalDateTime.now();
+
+            Duration delay = INITIAL_BACKOFF.multipliedBy(1L << (attempt - 1));
+            assertEquals(NameChangeStatus.PENDING, event.getStatus());
+            assertEquals(attempt, event.getAttempts());
+            assertFalse(event.getNextAttemptAt().isBefore(before.plus(delay)));
+            assertFalse(event.getNextAttemptAt().isAfter(after.plus(delay)));
+        }
+        assertEquals("Mongo unavailable", event.getLastError());
+        assertEquals(MAX_ATTEMPTS - 1.0, meterRegistry.counter("name_propagation.events", "outcome", "retry").count());
+        verifyNoInteractions(historyCache);
+    }
+
+    public void drain_failureAtMaxAttempts_markedFailed() {
+        NameChangeEvent event = event(NameSubjectType.DOCTOR, 1L, MAX_ATTEMPTS - 1);
+        when(eventRepository.claimDue(any(), eq(BATCH_SIZE))).thenReturn(List.of(event));
+        when(doctorRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(TestDataHelper.createDoctor(1L, "Dr. Renamed", "Cardiology")));
+        failBulk();
+
+        propagationService.drain();
+
+        assertEquals(NameChangeStatus.FAILED, event.getStatus());
+        assertEquals(MAX_ATTEMPTS, event.getAttempts());
+        assertNotNull(event.getProcessedAt());
+        assertEquals(1.0, meterRegistry.counter("name_propagation.events", "outcome", "failed").count());
+        verify(eventRepository).saveAll(List.of(event));
+    }
+
+    // ==================== HELPERS ====================
+
+    private void stubBulk(int modifiedPerCollection) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getModifiedCount()).thenReturn(modifiedPerCollection);
+        for (Class<?> collection : List.of(MedicalRecord.class, Prescription.class)) {
+            BulkOperations bulk = mock(BulkOperations.class);
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection)).thenReturn(bulk);
+            when(bulk.updateMulti(anyList())).thenReturn(bulk);
+            when(bulk.execute()).thenReturn(result);
+        }
+    }
+
+    private void failBulk() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MedicalRecord.class)).thenReturn(bulk);
+        when(bulk.updateMulti(anyList())).thenReturn(bulk);
+        when(bulk.execute()).thenThrow(new DataAccessResourceFailureException("Mongo unavailable"));
+    }
+
+    private static NameChangeEvent event(NameSubjectType type, Long subjectId, int attempts) {
+        LocalDateTime now = LocalDateTime.now();
+        return NameChangeEvent.builder()
+                .subjectType(type)
+                .subjectId(subjectId)
+                .newName("Renamed")
+                .attempts(attempts)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
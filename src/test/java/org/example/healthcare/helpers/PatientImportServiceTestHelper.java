@@ -0,0 +1,227 @@
+package org.example.healthcare.helpers;
+
+import org.example.healthcare.dto.response.ImportRowResultResponse;
+import org.example.healthcare.models.enums.ImportRowStatus;
+import org.example.healthcare.repository.sql.UserRepository;
+import org.example.healthcare.service.PatientImportService;
+import org.example.healthcare.service.UserUniquenessService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Helper for PatientImportService tests.
+ * Focuses on per-row results, batch commits and rejecting a bad CSV header before any output.
+ * The JDBC inserts are mocked; the id lookups answer with user id 1000+n and patient id 5000+n.
+ */
+public class PatientImportServiceTestHelper {
+
+    private final PatientImportService importService;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PasswordEncoder passwordEncoder;
+    private final UserUniquenessService userUniquenessService;
+    private final JsonMapper jsonMapper;
+
+    public PatientImportServiceTestHelper(PatientImportService importService,
+                                          UserRepository userRepository,
+                                          JdbcTemplate jdbcTemplate,
+                                          NamedParameterJdbcTemplate namedJdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          PasswordEncoder passwordEncoder,
+                                          UserUniquenessService userUniquenessService,
+                                          JsonMapper jsonMapper) {
+        this.importService = importService;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.passwordEncoder = passwordEncoder;
+        this.userUniquenessService = userUniquenessService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    // ==================== CSV ====================
+
+    public void csv_mixedRows_reportsEachRow() throws IOException {
+        stubIdLookups();
+        String csv = """
+                name,username,email,password,dateOfBirth,phone,address
+                "Doe, John",jdoe,jdoe@example.com,secret,1990-05-15,555-0100,"12 ""Main"" St"
+                Ann Lee,alee,alee@example.com,secret,15/05/1990,,
+
+                Jay Doe,JDOE,other@example.com,secret,1991-01-01,,
+                Kim Park,kpark,not-an-email,secret,1992-02-02,,
+                """;
+
+        List<ImportRowResultResponse> results = importCsv(csv);
+
+        assertEquals(List.of(ImportRowStatus.CREATED, ImportRowStatus.INVALID, ImportRowStatus.DUPLICATE,
+                ImportRowStatus.INVALID), statuses(results));
+        // Row numbers are file line numbers: the header is line 1 and the blank line 4 is skipped
+        assertEquals(List.of(2, 3, 5, 6), results.stream().map(ImportRowResultResponse::getRow).toList());
+        assertEquals(5000L, results.get(0).getPatientId());
+        assertEquals("Invalid dateOfBirth, expected yyyy-MM-dd", results.get(1).getMessage());
+        assertEquals("Username repeated earlier in the file", results.get(2).getMessage());
+        assertTrue(results.get(3).getMessage().startsWith("email:"));
+        verify(userUniquenessService).record("jdoe", "jdoe@example.com");
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    // Nothing may reach the response before the header is accepted, or the client gets a truncated 200
+    public void csv_missingColumn_throwsBeforeOpeningOutput() {
+        AtomicBoolean opened = new AtomicBoolean();
+        String csv = "username,password,name,dateOfBirth\njdoe,secret,John Doe,1990-05-15\n";
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> importService.importPatients(
+                input(csv), PatientImportService.Format.CSV, () -> {
+                    opened.set(true);
+                    return new ByteArrayOutputStream();
+                }));
+
+        assertTrue(ex.getMessage().contains("'email'"));
+        assertFalse(opened.get());
+        verifyNoInteractions(userRepository, jdbcTemplate, transactionManager);
+    }
+
+    // ==================== NDJSON ====================
+
+    public void ndjson_malformedAndExistingRows_reportedPerRow() throws IOException {
+        stubIdLookups();
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("Taken@Example.com"));
+        String ndjson = """
+                {"username":"jdoe","email":"jdoe@example.com","password":"secret","name":"John Doe","dateOfBirth":"1990-05-15"}
+                {"username":"broken",
+                {"username":"alee","email":"taken@example.com","password":"secret","name":"Ann Lee","dateOfBirth":"1991-01-01"}
+                """;
+
+        List<ImportRowResultResponse> results = importNdjson(ndjson);
+
+        assertEquals(List.of(ImportRowStatus.CREATED, ImportRowStatus.INVALID, ImportRowStatus.DUPLICATE), statuses(results));
+        assertTrue(results.get(1).getMessage().startsWith("Malformed JSON"));
+        assertEquals("Email already exists", results.get(2).getMessage());
+    }
+
+    public void ndjson_commitsEachBatchSeparately() throws IOException {
+        stubIdLookups();
+        String ndjson = """
+                {"username":"p1","email":"p1@example.com","password":"secret","name":"Patient One","dateOfBirth":"1990-01-01"}
+                {"username":"p2","email":"p2@example.com","password":"secret","name":"Patient Two","dateOfBirth":"1990-01-02"}
+                {"username":"p3","email":"p3@example.com","password":"secret","name":"Patient Three","dateOfBirth":"1990-01-03"}
+                """;
+
+        List<ImportRowResultResponse> results = importNdjson(ndjson);
+
+        // Batch size 2: rows 1-2 commit together, row 3 on its own
+        assertEquals(List.of(ImportRowStatus.CREATED, ImportRowStatus.CREATED, ImportRowStatus.CREATED), statuses(results));
+        verify(transactionManager, times(2)).commit(any());
+        verify(jdbcTemplate, times(4)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    public void ndjson_concurrentRegistration_failsBatch() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'jdoe' for key 'users.username'"));
+        String ndjson = """
+                {"username":"jdoe","email":"jdoe@example.com","password":"secret","name":"John Doe","dateOfBirth":"1990-05-15"}
+                """;
+
+        List<ImportRowResultResponse> results = importNdjson(ndjson);
+
+        assertEquals(List.of(ImportRowStatus.FAILED), statuses(results));
+        assertNull(results.get(0).getPatientId());
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(userUniquenessService);
+    }
+
+    public void ndjson_hashFailure_failsOnlyThatRow() throws IOException {
+        stubIdLookups();
+        when(passwordEncoder.encode("secret")).thenReturn("hash");
+        when(passwordEncoder.encode("boom")).thenThrow(new IllegalStateException("encoder failure"));
+        String ndjson = """
+                {"username":"p1","email":"p1@example.com","password":"secret","name":"Patient One","dateOfBirth":"1990-01-01"}
+                {"username":"p2","email":"p2@example.com","password":"boom","name":"Patient Two","dateOfBirth":"1990-01-02"}
+                """;
+
+        List<ImportRowResultResponse> results = importNdjson(ndjson);
+
+        assertEquals(List.of(ImportRowStatus.CREATED, ImportRowStatus.FAILED), statuses(results));
+        assertEquals("Password hashing failed", results.get(1).getMessage());
+        verify(userUniquenessService).record("p1", "p1@example.com");
+        verify(userUniquenessService, never()).record("p2", "p2@example.com");
+        verify(transactionManager).commit(any());
+    }
+
+    // ==================== HELPERS ====================
+
+    private void stubIdLookups() {
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            SqlParameterSource params = invocation.getArgument(1);
+            RowCallbackHandler handler = invocation.getArgument(2);
+            if (sql.contains("FROM users")) {
+                List<?> usernames = (List<?>) params.getValue("usernames");
+                for (int i = 0; i < usernames.size(); i++) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getString("username")).thenReturn((String) usernames.get(i));
+                    when(rs.getLong("id")).thenReturn(1000L + i);
+                    handler.processRow(rs);
+                }
+            } else {
+                List<?> userIds = (List<?>) params.getValue("userIds");
+                for (Object userId : userIds) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong("user_id")).thenReturn((Long) userId);
+                    when(rs.getLong("id")).thenReturn((Long) userId + 4000);
+                    handler.processRow(rs);
+                }
+            }
+            return null;
+        }).when(namedJdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    private List<ImportRowResultResponse> importCsv(String csv) throws IOException {
+        return run(csv, PatientImportService.Format.CSV);
+    }
+
+    private List<ImportRowResultResponse> importNdjson(String ndjson) throws IOException {
+        return run(ndjson, PatientImportService.Format.NDJSON);
+    }
+
+    private List<ImportRowResultResponse> run(String body, PatientImportService.Format format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importService.importPatients(input(body), format, () -> output);
+        return Arrays.stream(output.toString(StandardCharsets.UTF_8).split("\n"))
+                .filter(line -> !line.isBlank())
+                .map(line -> jsonMapper.readValue(line, ImportRowResultResponse.class))
+                .toList();
+    }
+
+    private static ByteArrayInputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<ImportRowStatus> statuses(List<ImportRowResultResponse> results) {
+        return results.stream().map(ImportRowResultResponse::getStatus).toList();
+    }
+}
@@ -1,14 +1,17 @@
 package org.example.healthcare.helpers;
 
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.dto.request.PatientRequest;
 import org.example.healthcare.dto.response.PatientResponse;
 import org.example.healthcare.exception.ResourceNotFoundException;
 import org.example.healthcare.mapper.PatientMapper;
+import org.example.healthcare.models.enums.NameSubjectType;
 import org.example.healthcare.models.sql.Patient;
 import org.example.healthcare.repository.sql.AppointmentRepository;
 import org.example.healthcare.repository.sql.PatientRepository;
 import org.example.healthcare.security.CallerGuard;
 import org.example.healthcare.repository.sql.UserRepository;
+import org.example.healthcare.service.NamePropagationService;
 import org.example.healthcare.service.PatientService;
 
 import java.time.LocalDate;
@@ -26,15 +29,19 @@ public class PatientServiceTestHelper {
     private final PatientService patientService;
     private final PatientRepository patientRepository;
     private final UserRepository userRepository;
+    private final NamePropagationService namePropagationService;
 
     public PatientServiceTestHelper(PatientRepository patientRepository,
                                     AppointmentRepository appointmentRepository,
                                     UserRepository userRepository,
                                     CallerGuard callerGuard,
-                                    PatientMapper patientMapper) {
+                                    PatientMapper patientMapper,
+                                    NamePropagationService namePropagationService,
+                                    PatientHistoryCache historyCache) {
         this.patientRepository = patientRepository;
         this.userRepository = userRepository;
-        this.patientService = new PatientService(patientRepository, appointmentRepository, userRepository, callerGuard, patientMapper);
+        this.namePropagationService = namePropagationService;
+        this.patientService = new PatientService(patientRepository, appointmentRepository, userRepository, callerGuard, patientMapper, namePropagationService, historyCache);
     }
 
     // ── GET ALL ───────────────────────────────────────────────
@@ -96,6 +103,7 @@ public class PatientServiceTestHelper {
         PatientResponse result = patientService.updatePatient(1L, request);
 
         verify(patientRepository, times(1)).save(any(Patient.class));
+        verify(namePropagationService, times(1)).enqueue(NameSubjectType.PATIENT, 1L, "John Updated");
     }
 
     /** Verify updatePatient throws when not found */
@@ -0,0 +1,129 @@
+package org.example.healthcare.helpers;
+
+import org.bson.Document;
+import org.example.healthcare.dto.response.MedicineCountResponse;
+import org.example.healthcare.dto.response.MedicineRankingResponse;
+import org.example.healthcare.exception.DatabaseOperationException;
+import org.example.healthcare.models.enums.AnalyticsGrouping;
+import org.example.healthcare.service.PrescriptionAnalyticsService;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Helper for PrescriptionAnalyticsService tests.
+ * Focuses on the pipeline handed to Mongo ($match bounds, grouping key, top-N slice) and on
+ * mapping the ranked result. MongoTemplate is mocked; the pipeline is inspected as documents.
+ */
+public class PrescriptionAnalyticsServiceTestHelper {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 31);
+
+    private final PrescriptionAnalyticsService analyticsService;
+    private final MongoTemplate mongoTemplate;
+
+    public PrescriptionAnalyticsServiceTestHelper(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.analyticsService = new PrescriptionAnalyticsService(mongoTemplate);
+    }
+
+    // ==================== PIPELINE ====================
+
+    public void topMedicines_dateRange_boundsBothEnds() {
+        stubResults(List.of());
+
+        analyticsService.topMedicines(null, 7L, FROM, TO, 5);
+
+        Document match = pipeline().get(0).get("$match", Document.class);
+        assertEquals(7L, match.get("doctorId"));
+        assertEquals(new Document("$gte", FROM).append("$lte", TO), match.get("prescriptionDate"));
+        assertEquals(new Document("$exists", true), match.get("medicines.0"));
+    }
+
+    public void topMedicines_upperBoundOnly() {
+        stubResults(List.of());
+
+        analyticsService.topMedicines(null, null, null, TO, 5);
+
+        Document match = pipeline().get(0).get("$match", Document.class);
+        assertEquals(new Document("$lte", TO), match.get("prescriptionDate"));
+        assertFalse(match.containsKey("doctorId"));
+    }
+
+    public void topMedicines_groupsAndSlicesTopN() {
+        stubResults(List.of());
+
+        analyticsService.topMedicines(AnalyticsGrouping.DOCTOR, null, null, null, 3);
+
+        List<Document> stages = pipeline();
+        Document firstGroup = stages.get(2).get("$group", Document.class);
+        assertEquals("$doctorId", firstGroup.get("_id", Document.class).get("group"));
+        Document project = stages.get(5).get("$project", Document.class);
+        assertEquals(List.of("$medicines", 3), project.get("medicines", Document.class).get("$slice"));
+        assertTrue(captured().getOptions().isAllowDiskUse());
+    }
+
+    // ==================== RESULT ====================
+
+    public void topMedicines_mapsRankedGroups() {
+        stubResults(List.of(new Document("group", "7")
+                .append("groupName", "Dr. Smith")
+                .append("medicines", List.of(
+                        new Document("medicine", "Amoxicillin").append("count", 4),
+                        new Document("medicine", "Ibuprofen").append("count", 2L)))));
+
+        List<MedicineRankingResponse> rankings = analyticsService.topMedicines(AnalyticsGrouping.DOCTOR, null, null, null, 10);
+
+        assertEquals(1, rankings.size());
+        assertEquals("7", rankings.get(0).getGroup());
+        assertEquals("Dr. Smith", rankings.get(0).getGroupName());
+        assertEquals(List.of("Amoxicillin", "Ibuprofen"),
+                rankings.get(0).getMedicines().stream().map(MedicineCountResponse::getMedicine).toList());
+        assertEquals(4L, rankings.get(0).getMedicines().get(0).getCount());
+    }
+
+    // ==================== VALIDATION ====================
+
+    public void topMedicines_invalidArguments_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.topMedicines(null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.topMedicines(null, null, null, null, 51));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.topMedicines(null, null, TO, FROM, 5));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    public void topMedicines_databaseFailure_wrapped() {
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        assertThrows(DatabaseOperationException.class, () -> analyticsService.topMedicines(null, null, null, null, 5));
+    }
+
+    // ==================== HELPERS ====================
+
+    private void stubResults(List<Document> results) {
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(results, new Document()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypedAggregation<?> captured() {
+        ArgumentCaptor<TypedAggregation<?>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Document.class));
+        return aggregation.getValue();
+    }
+
+    private List<Document> pipeline() {
+        return captured().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.healthcare.helpers;
+
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.dto.request.BatchPrescriptionRequest;
+import org.example.healthcare.dto.request.PrescriptionRequest;
+import org.example.healthcare.dto.response.BatchItemResultResponse;
+import org.example.healthcare.dto.response.PrescriptionResponse;
+import org.example.healthcare.dto.response.PrescriptionSummaryResponse;
+import org.example.healthcare.exception.ForbiddenOperationException;
+import org.example.healthcare.exception.ResourceNotFoundException;
+import org.example.healthcare.mapper.PrescriptionMapper;
+import org.example.healthcare.models.enums.AppointmentStatus;
+import org.example.healthcare.models.enums.BatchItemStatus;
+import org.example.healthcare.models.nosql.Prescription;
+import org.example.healthcare.models.sql.Appointment;
+import org.example.healthcare.models.sql.Doctor;
+import org.example.healthcare.models.sql.Patient;
+import org.example.healthcare.repository.nosql.PrescriptionRepository;
+import org.example.healthcare.repository.sql.AppointmentRepository;
+import org.example.healthcare.security.CallerGuard;
+import org.example.healthcare.service.PrescriptionService;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Helper for PrescriptionService tests.
+ * Focuses on insert-first creation guarded by the unique appointmentId index.
+ */
+public class PrescriptionServiceTestHelper {
+
+    private final PrescriptionService prescriptionService;
+    private final PrescriptionRepository prescriptionRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final CallerGuard callerGuard;
+    private final MongoTemplate mongoTemplate;
+    private final PatientHistoryCache historyCache;
+
+    // Shared test data
+    private final Doctor doctor = TestDataHelper.createDoctor(1L, "Dr. Smith", "Cardiology");
+    private final Patient patient = TestDataHelper.createPatient(1L, "John Doe");
+
+    public PrescriptionServiceTestHelper(PrescriptionRepository prescriptionRepository,
+                                         AppointmentRepository appointmentRepository,
+                                         PrescriptionMapper prescriptionMapper,
+                                         CallerGuard callerGuard,
+                                         MongoTemplate mongoTemplate,
+                                         PatientHistoryCache historyCache) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.callerGuard = callerGuard;
+        this.mongoTemplate = mongoTemplate;
+        this.historyCache = historyCache;
+        this.prescriptionService = new PrescriptionService(
+                prescriptionRepository, appointmentRepository, prescriptionMapper, callerGuard, mongoTemplate, historyCache);
+    }
+
+    // ── CREATE SUCCESS ────────────────────────────────────────
+
+    /** Completed appointment gets its prescription with a single insert — no lookup first */
+    public void createPrescription_success() {
+        Appointment appointment = completedAppointment();
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
+        when(prescriptionRepository.insert(any(Prescription.class)))
+                .thenReturn(TestDataHelper.createPrescription("rx-1", appointment));
+
+        PrescriptionResponse result = prescriptionService.createPrescription(createRequest());
+
+        assertEquals("rx-1", result.getId());
+        assertEquals(1L, result.getAppointmentId());
+        assertEquals("John Doe", result.getPatientName());
+        verify(prescriptionRepository, times(1)).insert(any(Prescription.class));
+        verify(prescriptionRepository, never()).findByAppointmentId(any());
+        verify(prescriptionRepository, never()).save(any());
+        verify(historyCache, times(1)).patientChanged(1L);
+    }
+
+    // ── DUPLICATE ─────────────────────────────────────────────
+
+    /** Duplicate-key error from the unique index surfaces as the existing "already has" error */
+    public void createPrescription_duplicate_throwsException() {
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(completedAppointment()));
+        when(prescriptionRepository.insert(any(Prescription.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error index: appointmentId_1"));
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> prescriptionService.createPrescription(createRequest())
+        );
+
+        assertEquals("This appointment already has a prescription", exception.getMessage());
+    }
+
+    // ── APPOINTMENT NOT COMPLETED ─────────────────────────────
+
+    /** Prescriptions are only written for completed appointments */
+    public void createPrescription_notCompleted_throwsException() {
+        Appointment appointment = completedAppointment();
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> prescriptionService.createPrescription(createRequest()));
+
+        verify(prescriptionRepository, never()).insert(any(Prescription.class));
+    }
+
+    // ── APPOINTMENT NOT FOUND ─────────────────────────────────
+
+    /** Creation fails when the appointment doesn't exist */
+    public void createPrescription_appointmentNotFound_throwsException() {
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> prescriptionService.createPrescription(createRequest()));
+
+        verify(prescriptionRepository, never()).insert(any(Prescription.class));
+    }
+
+    // ── CREATE BATCH ──────────────────────────────────────────
+
+    /** Batch checks every item in memory and writes the valid ones with one bulk insert */
+    @SuppressWarnings("unchecked")
+    public void createPrescriptions_mixedBatch_returnsPerItemResults() {
+        Appointment completed = completedAppointment();
+        Appointment scheduled = TestDataHelper.createAppointment(
+                2L, patient, doctor, LocalDate.of(2026, 2, 11), LocalTime.of(10, 0), LocalTime.of(10, 30));
+        Appointment otherDoctors = TestDataHelper.createAppointment(
+                3L, patient, TestDataHelper.createDoctor(2L, "Dr. Jones", "Neurology"),
+                LocalDate.of(2026, 2, 11), LocalTime.of(11, 0), LocalTime.of(11, 30));
+        otherDoctors.setStatus(AppointmentStatus.COMPLETED);
+
+        when(callerGuard.currentDoctorId()).thenReturn(1L);
+        when(appointmentRepository.findWithParticipantsByIdIn(anyCollection()))
+                .thenReturn(List.of(completed, scheduled, otherDoctors));
+        BulkOperations bulkOps = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Prescription.class)).thenReturn(bulkOps);
+        when(bulkOps.insert(anyList())).thenReturn(bulkOps);
+
+        List<BatchItemResultResponse> results = prescriptionService.createPrescriptions(
+                BatchPrescriptionRequest.builder()
+                        .prescriptions(List.of(createRequest(1L), createRequest(2L), createRequest(3L),
+                                createRequest(1L), createRequest(99L)))
+                        .build());
+
+        assertEquals(5, results.size());
+        assertEquals(BatchItemStatus.CREATED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getPrescription().getId());
+        assertEquals(BatchItemStatus.REJECTED, results.get(1).getStatus());   // not completed
+        assertEquals(BatchItemStatus.REJECTED, results.get(2).getStatus());   // another doctor's appointment
+        assertEquals(BatchItemStatus.DUPLICATE, results.get(3).getStatus());  // repeated in the batch
+        assertEquals(BatchItemStatus.REJECTED, results.get(4).getStatus());   // unknown appointment
+
+        ArgumentCaptor<List<Prescription>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOps, times(1)).insert(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        verify(bulkOps, times(1)).execute();
+        verify(appointmentRepository, times(1)).findWithParticipantsByIdIn(anyCollection());
+        verify(prescriptionRepository, never()).insert(any(Prescription.class));
+    }
+
+    // ── SUMMARY LIST ──────────────────────────────────────────
+
+    /** Summary list reads through the projected query and never loads full documents */
+    public void getPatientPrescriptionSummaries_usesProjection() {
+        Prescription projected = TestDataHelper.createPrescription("rx-1", completedAppointment());
+        projected.setMedicines(null);
+        projected.setInstructions(null);
+        when(prescriptionRepository.findSummariesByPatientId(1L)).thenReturn(List.of(projected));
+
+        List<PrescriptionSummaryResponse> result = prescriptionService.getPatientPrescriptionSummaries(1L);
+
+        assertEquals(1, result.size());
+        assertEquals("rx-1", result.get(0).getId());
+        assertEquals("Sinusitis", result.get(0).getDiagnosis());
+        assertEquals("Dr. Smith", result.get(0).getDoctorName());
+        verify(callerGuard, times(1)).assertPatientOwns(1L);
+        verify(prescriptionRepository, never()).findByPatientId(any());
+    }
+
+    public void getDoctorPrescriptionSummaries_usesProjection() {
+        Prescription projected = TestDataHelper.createPrescription("rx-2", completedAppointment());
+        projected.setMedicines(null);
+        projected.setInstructions(null);
+        when(prescriptionRepository.findSummariesByDoctorId(1L)).thenReturn(List.of(projected));
+
+        List<PrescriptionSummaryResponse> result = prescriptionService.getDoctorPrescriptionSummaries(1L);
+
+        assertEquals(List.of("rx-2"), result.stream().map(PrescriptionSummaryResponse::getId).toList());
+        verify(callerGuard, times(1)).assertDoctorOwns(1L);
+        verify(prescriptionRepository, never()).findByDoctorId(any());
+    }
+
+    public void getDoctorPrescriptionSummaries_notOwner_noQuery() {
+        doThrow(new ForbiddenOperationException("Access denied")).when(callerGuard).assertDoctorOwns(2L);
+
+        assertThrows(ForbiddenOperationException.class, () -> prescriptionService.getDoctorPrescriptionSummaries(2L));
+        verifyNoInteractions(prescriptionRepository);
+    }
+
+    // ── HELPERS ───────────────────────────────────────────────
+
+    private Appointment completedAppointment() {
+        Appointment appointment = TestDataHelper.createAppointment(
+                1L, patient, doctor, LocalDate.of(2026, 2, 11),
+                LocalTime.of(9, 0), LocalTime.of(9, 30));
+        appointment.setStatus(AppointmentStatus.COMPLETED);
+        return appointment;
+    }
+
+    private PrescriptionRequest createRequest() {
+        return createRequest(1L);
+    }
+
+    private PrescriptionRequest createRequest(Long appointmentId) {
+        return PrescriptionRequest.builder()
+                .appointmentId(appointmentId)
+                .medicines(List.of("Amoxicillin 500mg"))
+                .diagnosis("Sinusitis")
+                .instructions("Three times daily for 7 days")
+                .build();
+    }
+}
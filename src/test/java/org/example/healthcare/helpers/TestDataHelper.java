@@ -2,12 +2,14 @@ package org.example.healthcare.helpers;
 
 import org.example.healthcare.models.enums.AppointmentStatus;
 import org.example.healthcare.models.enums.Role;
+import org.example.healthcare.models.nosql.Prescription;
 import org.example.healthcare.models.sql.*;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Shared test data factory.
@@ -85,4 +87,22 @@ public class TestDataHelper {
                 .reason("Checkup")
                 .build();
     }
-}
\ No newline at end of file
+
+    // ==================== PRESCRIPTION ====================
+
+    public static Prescription createPrescription(String id, Appointment appointment) {
+        return Prescription.builder()
+                .id(id)
+                .appointmentId(appointment.getId())
+                .patientId(appointment.getPatient().getId())
+                .patientName(appointment.getPatient().getName())
+                .doctorId(appointment.getDoctor().getId())
+                .doctorName(appointment.getDoctor().getName())
+                .prescriptionDate(LocalDate.now())
+                .appointmentDate(appointment.getAppointmentDate())
+                .medicines(List.of("Amoxicillin 500mg"))
+                .diagnosis("Sinusitis")
+                .instructions("Three times daily for 7 days")
+                .build();
+    }
+}
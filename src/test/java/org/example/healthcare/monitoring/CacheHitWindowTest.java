@@ -0,0 +1,84 @@
+package org.example.healthcare.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.healthcare.dto.response.CacheHitRatioResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheHitWindowTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(TimeUnit.MINUTES.toMillis(1_000_000));
+
+    private final Counter doctorHits = gets("doctors", "hit");
+    private final Counter doctorMisses = gets("doctors", "miss");
+
+    @Test
+    @DisplayName("Ratios count only the gets since the snapshot at the start of the window")
+    void ratioSinceWindowStart() {
+        CacheHitWindow window = new CacheHitWindow(meterRegistry, 15, now::get);
+        doctorHits.increment(2);
+        doctorMisses.increment(2);
+        window.snapshot();
+        minutePasses();
+        doctorHits.increment(2);
+        window.snapshot();
+        minutePasses();
+        doctorHits.increment(6);
+        doctorMisses.increment(2);
+
+        CacheHitRatioResponse lastMinute = window.summarize(1).get(0);
+        assertEquals(6, lastMinute.getHits());
+        assertEquals(2, lastMinute.getMisses());
+        assertEquals(0.75, lastMinute.getHitRatio());
+
+        // Older than any snapshot: falls back to the oldest one
+        CacheHitRatioResponse all = window.summarize(15).get(0);
+        assertEquals(8, all.getHits());
+        assertEquals(2, all.getMisses());
+    }
+
+    @Test
+    @DisplayName("Only window + 1 snapshots are kept")
+    void keepsBoundedSnapshots() {
+        CacheHitWindow window = new CacheHitWindow(meterRegistry, 2, now::get);
+        for (int i = 0; i < 4; i++) {
+            doctorHits.increment();
+            window.snapshot();
+            minutePasses();
+        }
+
+        // The first snapshot (1 hit) was dropped, so the baseline is the second (2 hits)
+        assertEquals(2, window.summarize(60).get(0).getHits());
+    }
+
+    @Test
+    @DisplayName("An idle cache has no ratio; meters without cache and result tags are ignored")
+    void idleAndUntaggedMeters() {
+        CacheHitWindow window = new CacheHitWindow(meterRegistry, 15, now::get);
+        gets("appointments", "hit");
+        Counter.builder("cache.gets").register(meterRegistry).increment();
+        doctorHits.increment();
+
+        List<CacheHitRatioResponse> ratios = window.summarize(15);
+
+        assertEquals(List.of("appointments", "doctors"), ratios.stream().map(CacheHitRatioResponse::getCache).toList());
+        assertNull(ratios.get(0).getHitRatio());
+        assertEquals(1.0, ratios.get(1).getHitRatio());
+    }
+
+    private Counter gets(String cache, String result) {
+        return Counter.builder("cache.gets").tag("cache", cache).tag("result", result).register(meterRegistry);
+    }
+
+    private void minutePasses() {
+        now.addAndGet(TimeUnit.MINUTES.toMillis(1));
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.healthcare.monitoring;
+
+import org.example.healthcare.dto.response.EndpointLatencyResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointLatencyWindowTest {
+
+    private static final String BOOK = "POST /api/appointments/patient/{patientId}";
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.MINUTES.toMillis(1_000_000) + 30_000);
+    private final EndpointLatencyWindow window = new EndpointLatencyWindow(5, now::get);
+
+    @Test
+    @DisplayName("Percentiles, error rate and DB vs app time come from the recorded requests")
+    void summarizesEndpoint() {
+        for (int ms = 1; ms <= 100; ms++) {
+            window.record(BOOK, TimeUnit.MILLISECONDS.toNanos(ms), TimeUnit.MILLISECONDS.toNanos(ms) / 2, ms > 98);
+        }
+
+        EndpointLatencyResponse summary = window.summarize(5).get(0);
+
+        assertEquals(100, summary.getRequests());
+        assertEquals(0.02, summary.getErrorRate(), 1e-9);
+        assertEquals(50, summary.getP50Millis(), 1);
+        assertEquals(95, summary.getP95Millis(), 1);
+        assertEquals(99, summary.getP99Millis(), 1);
+        assertEquals(summary.getAvgDbMillis(), summary.getAvgAppMillis(), 0.01);
+        // 4 full minutes plus the 30 s elapsed in the current one
+        assertEquals(100 / 270.0, summary.getRequestsPerSecond(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Minutes that fall out of the window, or get overwritten by the ring, are excluded")
+    void rollsOldMinutesOff() {
+        window.record(BOOK, TimeUnit.MILLISECONDS.toNanos(500), 0, false);
+        now.addAndGet(TimeUnit.MINUTES.toMillis(2));
+        window.record(BOOK, TimeUnit.MILLISECONDS.toNanos(10), 0, false);
+
+        assertEquals(1, window.summarize(1).get(0).getRequests());
+        assertEquals(2, window.summarize(5).get(0).getRequests());
+
+        now.addAndGet(TimeUnit.MINUTES.toMillis(5));
+        assertEquals(List.of(), window.summarize(5));
+    }
+
+    @Test
+    @DisplayName("A request that read the clock before the ring moved on does not replace the newer minute")
+    void lateRecordAfterRolloverIsDropped() {
+        long lateMinute = now.get();
+        // Five minutes later lands in the same slot of a five-slot ring
+        now.addAndGet(TimeUnit.MINUTES.toMillis(5));
+        window.record(BOOK, TimeUnit.MILLISECONDS.toNanos(10), 0, false);
+
+        now.set(lateMinute);
+        window.record(BOOK, TimeUnit.MILLISECONDS.toNanos(900), 0, true);
+        now.addAndGet(TimeUnit.MINUTES.toMillis(5));
+
+        EndpointLatencyResponse summary = window.summarize(1).get(0);
+        assertEquals(1, summary.getRequests());
+        assertEquals(0.0, summary.getErrorRate());
+        assertEquals(10, summary.getMaxMillis(), 1);
+    }
+}
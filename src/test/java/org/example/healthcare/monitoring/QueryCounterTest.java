@@ -0,0 +1,66 @@
+package org.example.healthcare.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCounterTest {
+
+    private final QueryExecutionListener sqlListener = new QueryCountingListeners().queryCountingListener();
+
+    @Test
+    @DisplayName("Statements are counted only inside an open scope")
+    void countsWithinScope() {
+        runSql("SELECT 1");
+
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            runSql("SELECT * FROM doctors WHERE id = ?");
+            runSql("SELECT * FROM patients WHERE id = ?");
+            QueryCounter.current().recordMongo();
+
+            assertEquals(2, scope.sqlCount());
+            assertEquals(1, scope.mongoCount());
+        }
+        assertNull(QueryCounter.current());
+    }
+
+    @Test
+    @DisplayName("The same statement repeated past the threshold is reported")
+    void reportsRepeatedStatements() {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            for (int i = 0; i < 6; i++) {
+                runSql("SELECT * FROM doctors WHERE id = ?");
+            }
+            runSql("SELECT * FROM patients WHERE id = ?");
+
+            assertEquals(Map.of("SELECT * FROM doctors WHERE id = ?", 6), scope.repeatedStatements(5));
+        }
+    }
+
+    @Test
+    @DisplayName("Work on the history executor counts towards the submitting request")
+    void propagatesToExecutorThreads() throws Exception {
+        ExecutorService executor = new QueryCountingExecutorService(Executors.newSingleThreadExecutor());
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            executor.submit(() -> runSql("SELECT * FROM appointments WHERE patient_id = ?")).get();
+
+            assertEquals(1, scope.sqlCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void runSql(String sql) {
+        QueryInfo query = new QueryInfo(sql);
+        sqlListener.afterQuery(new ExecutionInfo(), List.of(query));
+    }
+}
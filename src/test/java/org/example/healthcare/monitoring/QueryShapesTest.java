@@ -0,0 +1,30 @@
+package org.example.healthcare.monitoring;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryShapesTest {
+
+    @Test
+    @DisplayName("SQL literals and IN lists fold to placeholders, whitespace collapses")
+    void normalizesSql() {
+        assertEquals("select * from patients p where p.name = ? and p.id in (?) and p.age > ?",
+                QueryShapes.sql("select *\n  from patients p where p.name = 'O''Brien'   and p.id in (?, ?, ?) and p.age > 40"));
+        assertEquals(QueryShapes.sql("select * from t1_0 where id in (?)"),
+                QueryShapes.sql("select * from t1_0 where id IN (?,?)"));
+    }
+
+    @Test
+    @DisplayName("Mongo shape keeps command, collection, fields and operators but no values")
+    void normalizesMongo() {
+        BsonDocument find = BsonDocument.parse("""
+                {find: "medical_records", filter: {patientId: 42, $or: [{visitDate: {$gte: "2026-01-01"}}, {doctorId: 7}]},
+                 sort: {visitDate: -1}, limit: 20}""");
+
+        assertEquals("find medical_records {patientId: ?, $or: [{visitDate: {$gte: ?}}, {doctorId: ?}]} sort {visitDate: ?}",
+                QueryShapes.mongo("find", find));
+    }
+}
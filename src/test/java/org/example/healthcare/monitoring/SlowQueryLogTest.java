@@ -0,0 +1,93 @@
+package org.example.healthcare.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.healthcare.dto.response.SlowQueryResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+
+    private static final long MS = 1_000_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Only statements at or over their database's threshold are slow")
+    void thresholdsPerDatabase() {
+        SlowQueryLog log = log(10);
+
+        assertTrue(log.isSlow(SlowQueryLog.SQL, 100 * MS));
+        assertFalse(log.isSlow(SlowQueryLog.SQL, 99 * MS));
+        assertTrue(log.isSlow(SlowQueryLog.MONGO, 200 * MS));
+        assertFalse(log.isSlow(SlowQueryLog.MONGO, 150 * MS));
+    }
+
+    @Test
+    @DisplayName("Top shapes are ordered by worst execution and cut at the limit")
+    void topShapesByWorstExecution() {
+        SlowQueryLog log = log(10);
+        log.record(SlowQueryLog.SQL, "select a", 120 * MS, 0);
+        log.record(SlowQueryLog.SQL, "select a", 180 * MS, 0);
+        log.record(SlowQueryLog.SQL, "select b", 300 * MS, 0);
+        log.record(SlowQueryLog.MONGO, "find c", 150 * MS, 0);
+        // Same shape text on the other database is a different entry
+        log.record(SlowQueryLog.MONGO, "select a", 110 * MS, 0);
+
+        List<SlowQueryResponse> top = log.top(2);
+
+        assertEquals(2, top.size());
+        assertEquals("select b", top.get(0).getShape());
+        assertEquals("select a", top.get(1).getShape());
+        assertEquals(SlowQueryLog.SQL, top.get(1).getDatabase());
+        assertEquals(2, top.get(1).getCount());
+        assertEquals(180.0, top.get(1).getMaxMillis());
+        assertEquals(150.0, top.get(1).getAvgMillis());
+        assertEquals(4, log.top(10).size());
+    }
+
+    @Test
+    @DisplayName("A full ring overwrites its oldest entries")
+    void evictsOldest() {
+        SlowQueryLog log = log(3);
+        log.record(SlowQueryLog.SQL, "select old", 900 * MS, 0);
+        log.record(SlowQueryLog.SQL, "select a", 100 * MS, 0);
+        log.record(SlowQueryLog.SQL, "select b", 100 * MS, 0);
+        log.record(SlowQueryLog.SQL, "select c", 100 * MS, 0);
+
+        List<SlowQueryResponse> top = log.top(10);
+
+        assertEquals(3, top.size());
+        assertTrue(top.stream().noneMatch(shape -> shape.getShape().equals("select old")));
+        assertEquals(4.0, meterRegistry.get("db.slow_queries").tag("db", SlowQueryLog.SQL).counter().count());
+    }
+
+    @Test
+    @DisplayName("Rows start from the affected count, grow as a result set is read, and report the maximum")
+    void countsRows() {
+        SlowQueryLog log = log(10);
+        log.record(SlowQueryLog.SQL, "update a", 100 * MS, 7);
+        SlowQueryLog.Entry select = log.record(SlowQueryLog.SQL, "select b", 100 * MS, 0);
+        log.record(SlowQueryLog.SQL, "select b", 100 * MS, 2);
+        for (int i = 0; i < 5; i++) {
+            select.addRow();
+        }
+
+        List<SlowQueryResponse> top = log.top(10);
+
+        assertEquals(7, rowsOf(top, "update a"));
+        assertEquals(5, rowsOf(top, "select b"));
+    }
+
+    private SlowQueryLog log(int capacity) {
+        return new SlowQueryLog(meterRegistry, capacity, Duration.ofMillis(100), Duration.ofMillis(200));
+    }
+
+    private static long rowsOf(List<SlowQueryResponse> top, String shape) {
+        return top.stream().filter(response -> response.getShape().equals(shape)).findFirst().orElseThrow().getMaxRows();
+    }
+}
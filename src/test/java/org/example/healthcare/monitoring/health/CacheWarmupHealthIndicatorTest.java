@@ -0,0 +1,76 @@
+package org.example.healthcare.monitoring.health;
+
+import org.example.healthcare.security.TokenRevocationService;
+import org.example.healthcare.service.UserUniquenessService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupHealthIndicatorTest {
+
+    @Mock private TokenRevocationService tokenRevocationService;
+    @Mock private UserUniquenessService userUniquenessService;
+
+    @InjectMocks private CacheWarmupHealthIndicator indicator;
+
+    @Test
+    @DisplayName("UP once revocations are loaded and the uniqueness filter is seeded")
+    void upWhenWarm() {
+        when(tokenRevocationService.isLoaded()).thenReturn(true);
+        when(userUniquenessService.isSeedFinished()).thenReturn(true);
+        when(userUniquenessService.isFilterActive()).thenReturn(true);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("loaded", health.getDetails().get("revokedTokens"));
+        assertEquals("active", health.getDetails().get("uniquenessFilter"));
+    }
+
+    @Test
+    @DisplayName("Out of service while revoked tokens are loading, since a revoked token would pass")
+    void outOfServiceWhileRevocationsLoad() {
+        when(tokenRevocationService.isLoaded()).thenReturn(false);
+        when(userUniquenessService.isSeedFinished()).thenReturn(true);
+        when(userUniquenessService.isFilterActive()).thenReturn(true);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("loading", health.getDetails().get("revokedTokens"));
+    }
+
+    @Test
+    @DisplayName("Out of service while the uniqueness filter is seeding")
+    void outOfServiceWhileSeeding() {
+        when(tokenRevocationService.isLoaded()).thenReturn(true);
+        when(userUniquenessService.isSeedFinished()).thenReturn(false);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("seeding", health.getDetails().get("uniquenessFilter"));
+    }
+
+    @Test
+    @DisplayName("A failed seed still counts as warm: registration falls back to database checks")
+    void upAfterFailedSeed() {
+        when(tokenRevocationService.isLoaded()).thenReturn(true);
+        when(userUniquenessService.isSeedFinished()).thenReturn(true);
+        when(userUniquenessService.isFilterActive()).thenReturn(false);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("unavailable (database checks)", health.getDetails().get("uniquenessFilter"));
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.healthcare.monitoring.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.example.healthcare.monitoring.MongoPoolMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPoolsHealthIndicatorTest {
+
+    private static final int MAX_PENDING = 5;
+
+    @Mock private DataSource dataSource;
+    @Mock private HikariDataSource hikariDataSource;
+    @Mock private HikariPoolMXBean hikari;
+    @Mock private MongoPoolMetrics mongoPool;
+
+    private ConnectionPoolsHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikariDataSource);
+        indicator = new ConnectionPoolsHealthIndicator(dataSource, mongoPool, MAX_PENDING, 100);
+    }
+
+    @Test
+    @DisplayName("Both pools under the pending limit are UP, with each pool's state in the details")
+    void upWithPoolDetails() {
+        mysqlPool(4, 6, 10, 2);
+        when(mongoPool.waiting()).thenReturn(MAX_PENDING);
+        when(mongoPool.checkedOut()).thenReturn(30);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(Map.of("active", 4, "idle", 6, "total", 10, "pending", 2), health.getDetails().get("mysql"));
+        assertEquals(Map.of("checkedOut", 30, "maxSize", 100, "pending", MAX_PENDING), health.getDetails().get("mongo"));
+    }
+
+    @Test
+    @DisplayName("Too many callers waiting on MySQL takes the node out of service")
+    void outOfServiceOnMysqlQueue() {
+        mysqlPool(10, 0, 10, MAX_PENDING + 1);
+
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Too many callers waiting on Mongo takes the node out of service")
+    void outOfServiceOnMongoQueue() {
+        mysqlPool(1, 9, 10, 0);
+        when(mongoPool.waiting()).thenReturn(MAX_PENDING + 1);
+
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Before Hikari has started its pool, only Mongo is reported")
+    void hikariNotStarted() {
+        when(hikariDataSource.getHikariPoolMXBean()).thenReturn(null);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertFalse(health.getDetails().containsKey("mysql"));
+        assertTrue(health.getDetails().containsKey("mongo"));
+    }
+
+    private void mysqlPool(int active, int idle, int total, int pending) {
+        when(hikariDataSource.getHikariPoolMXBean()).thenReturn(hikari);
+        when(hikari.getActiveConnections()).thenReturn(active);
+        when(hikari.getIdleConnections()).thenReturn(idle);
+        when(hikari.getTotalConnections()).thenReturn(total);
+        when(hikari.getThreadsAwaitingConnection()).thenReturn(pending);
+    }
+}
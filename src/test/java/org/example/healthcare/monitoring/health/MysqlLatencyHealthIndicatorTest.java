@@ -0,0 +1,75 @@
+package org.example.healthcare.monitoring.health;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MysqlLatencyHealthIndicatorTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Fast round trip is UP with the measured latency")
+    void upUnderThreshold() {
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+
+        Health health = new MysqlLatencyHealthIndicator(jdbcTemplate, Duration.ofSeconds(5), TIMEOUT).health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertTrue(health.getDetails().containsKey("latencyMs"));
+    }
+
+    @Test
+    @DisplayName("Round trip over the threshold takes the node out of service")
+    void outOfServiceOverThreshold() {
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return 1;
+        });
+
+        Health health = new MysqlLatencyHealthIndicator(jdbcTemplate, Duration.ofMillis(1), TIMEOUT).health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+    }
+
+    @Test
+    @DisplayName("Failed round trip is DOWN")
+    void downOnFailure() {
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class))
+                .thenThrow(new DataAccessResourceFailureException("Communications link failure"));
+
+        Health health = new MysqlLatencyHealthIndicator(jdbcTemplate, Duration.ofSeconds(5), TIMEOUT).health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+    }
+
+    @Test
+    @DisplayName("Round trip with no reply within the timeout is DOWN without waiting for the driver")
+    void downOnTimeout() {
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return 1;
+        });
+
+        long start = System.nanoTime();
+        Health health = new MysqlLatencyHealthIndicator(jdbcTemplate, Duration.ofMillis(1), Duration.ofMillis(50)).health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(50L, health.getDetails().get("timeoutMs"));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+}
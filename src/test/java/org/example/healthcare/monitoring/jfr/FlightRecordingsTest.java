@@ -0,0 +1,78 @@
+package org.example.healthcare.monitoring.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.healthcare.dto.response.FlightRecordingResponse;
+import org.example.healthcare.exception.DuplicateResourceException;
+import org.example.healthcare.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingsTest {
+
+    private final FlightRecordings recordings = new FlightRecordings(Duration.ofMinutes(1), 50);
+
+    @AfterEach
+    void tearDown() {
+        recordings.discard();
+    }
+
+    @Test
+    @DisplayName("Booking events emitted while recording end up in the downloaded file")
+    void recordsHealthcareEvents() throws Exception {
+        recordings.start("default");
+
+        BookingEvent event = new BookingEvent();
+        event.begin();
+        event.doctorBucket = "b07";
+        event.outcome = "booked";
+        event.commit();
+
+        recordings.stop();
+        Path file = recordings.download();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> bookings = events.stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("healthcare.Booking"))
+                .toList();
+        assertEquals(1, bookings.size());
+        assertEquals("b07", bookings.get(0).getString("doctorBucket"));
+        assertEquals("booked", bookings.get(0).getString("outcome"));
+        assertTrue(events.stream().map(recorded -> recorded.getEventType().getName())
+                .noneMatch(name -> name.equals("jdk.InitialEnvironmentVariable") || name.equals("jdk.InitialSystemProperty")));
+
+        FlightRecordingResponse status = recordings.status();
+        assertEquals("STOPPED", status.getState());
+        assertTrue(status.getSizeBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Only one recording runs at a time; status before any recording is not found")
+    void oneRecordingAtATime() {
+        assertThrows(ResourceNotFoundException.class, recordings::status);
+
+        recordings.start("default");
+
+        assertThrows(DuplicateResourceException.class, () -> recordings.start("profile"));
+        assertThrows(IllegalArgumentException.class, () -> new FlightRecordings(Duration.ofMinutes(1), 50).start("nope"));
+    }
+
+    @Test
+    @DisplayName("Downloading a running recording is refused and leaves it running")
+    void downloadWhileRunningIsRefused() {
+        recordings.start("default");
+
+        assertThrows(DuplicateResourceException.class, recordings::download);
+
+        FlightRecordingResponse status = recordings.status();
+        assertEquals("RUNNING", status.getState());
+        assertNull(status.getSizeBytes());
+    }
+}
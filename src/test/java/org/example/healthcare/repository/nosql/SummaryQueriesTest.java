@@ -0,0 +1,51 @@
+package org.example.healthcare.repository.nosql;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The summary lists are declared as @Query strings; pin their sort and projection
+class SummaryQueriesTest {
+
+    @Test
+    @DisplayName("Patient record summaries: newest first with an _id tiebreak, no description")
+    void patientRecordSummaries() throws NoSuchMethodException {
+        assertSummaryQuery(MedicalRecordRepository.class, "findSummariesByPatientId", "recordDate", List.of("description"));
+    }
+
+    @Test
+    @DisplayName("Doctor record summaries: newest first with an _id tiebreak, no description")
+    void doctorRecordSummaries() throws NoSuchMethodException {
+        assertSummaryQuery(MedicalRecordRepository.class, "findSummariesByDoctorId", "recordDate", List.of("description"));
+    }
+
+    @Test
+    @DisplayName("Patient prescription summaries: newest first with an _id tiebreak, no medicines or instructions")
+    void patientPrescriptionSummaries() throws NoSuchMethodException {
+        assertSummaryQuery(PrescriptionRepository.class, "findSummariesByPatientId", "prescriptionDate",
+                List.of("medicines", "instructions"));
+    }
+
+    @Test
+    @DisplayName("Doctor prescription summaries: newest first with an _id tiebreak, no medicines or instructions")
+    void doctorPrescriptionSummaries() throws NoSuchMethodException {
+        assertSummaryQuery(PrescriptionRepository.class, "findSummariesByDoctorId", "prescriptionDate",
+                List.of("medicines", "instructions"));
+    }
+
+    // Rows sharing a date keep a stable order between calls only with the _id tiebreak
+    private static void assertSummaryQuery(Class<?> repository, String method, String dateField, List<String> omitted)
+            throws NoSuchMethodException {
+        Query query = repository.getMethod(method, Long.class).getAnnotation(Query.class);
+
+        assertEquals(new Document(dateField, -1).append("_id", -1), Document.parse(query.sort()));
+        Document fields = Document.parse(query.fields());
+        assertTrue(fields.containsKey(dateField));
+        omitted.forEach(field -> assertFalse(fields.containsKey(field), field));
+    }
+}
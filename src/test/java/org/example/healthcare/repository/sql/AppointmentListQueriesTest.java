@@ -0,0 +1,103 @@
+package org.example.healthcare.repository.sql;
+
+import jakarta.persistence.EntityManager;
+import org.example.healthcare.mapper.AppointmentMapper;
+import org.example.healthcare.models.enums.Role;
+import org.example.healthcare.models.sql.Appointment;
+import org.example.healthcare.models.sql.Doctor;
+import org.example.healthcare.models.sql.Patient;
+import org.example.healthcare.models.sql.User;
+import org.example.healthcare.monitoring.DataSourceMonitoringConfig;
+import org.example.healthcare.monitoring.QueryCounter;
+import org.example.healthcare.monitoring.QueryCountingListeners;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statement counts for the appointment list endpoints, through the same datasource-proxy listener
+// production uses. The second-level cache is off so every association load reaches the database.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({DataSourceMonitoringConfig.class, QueryCountingListeners.class})
+class AppointmentListQueriesTest {
+
+    private static final int PATIENTS = 5;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final AppointmentMapper appointmentMapper = new AppointmentMapper();
+
+    private Doctor doctor;
+    private Patient patient;
+
+    @BeforeEach
+    void seed() {
+        doctor = doctorRepository.save(Doctor.builder()
+                .user(user("doctor", Role.DOCTOR)).name("Dr. Smith").specialty("Cardiology").build());
+        for (int i = 0; i < PATIENTS; i++) {
+            patient = patientRepository.save(Patient.builder()
+                    .user(user("patient" + i, Role.PATIENT)).name("Patient " + i)
+                    .dateOfBirth(LocalDate.of(1990, 1, 1)).build());
+            appointmentRepository.save(Appointment.builder()
+                    .doctor(doctor).patient(patient)
+                    .appointmentDate(LocalDate.of(2026, 3, 2)).startTime(LocalTime.of(9 + i, 0))
+                    .endTime(LocalTime.of(9 + i, 30)).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Doctor's appointment list maps in one statement however many patients it spans")
+    void doctorListIsOneStatement() {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            int mapped = appointmentRepository.findWithParticipantsByDoctorId(doctor.getId()).stream()
+                    .map(appointmentMapper::toResponse)
+                    .toList().size();
+
+            assertEquals(PATIENTS, mapped);
+            assertEquals(1, scope.sqlCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Patient's appointment list maps in one statement")
+    void patientListIsOneStatement() {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            int mapped = appointmentRepository.findWithParticipantsByPatientId(patient.getId()).stream()
+                    .map(appointmentMapper::toResponse)
+                    .toList().size();
+
+            assertEquals(1, mapped);
+            assertEquals(1, scope.sqlCount());
+        }
+    }
+
+    private User user(String username, Role role) {
+        return userRepository.save(User.builder()
+                .username(username).password("hash").email(username + "@example.com").role(role).build());
+    }
+}
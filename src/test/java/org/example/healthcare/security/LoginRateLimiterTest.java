@@ -0,0 +1,80 @@
+package org.example.healthcare.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.healthcare.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 3 attempts per account, 5 per address, one token back every 20s / 12s
+        limiter = new LoginRateLimiter(meterRegistry,
+                new LoginRateLimiter.Policy(3, 3),
+                new LoginRateLimiter.Policy(5, 5),
+                100, clock::get);
+    }
+
+    @Test
+    @DisplayName("Attempts beyond the username burst are rejected and counted")
+    void usernameBurstExhausted() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkAllowed("john", "10.0.0." + i);
+        }
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> limiter.checkAllowed("JOHN", "10.0.0.9"));
+
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1.0, meterRegistry.get("auth.login.rejected").tag("limit", "username").counter().count());
+    }
+
+    @Test
+    @DisplayName("One address spraying usernames is stopped by the IP bucket")
+    void ipBurstExhausted() {
+        for (int i = 0; i < 5; i++) {
+            limiter.checkAllowed("user" + i, "10.0.0.1");
+        }
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.checkAllowed("user9", "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("auth.login.rejected").tag("limit", "ip").counter().count());
+    }
+
+    @Test
+    @DisplayName("Tokens refill over time")
+    void refillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkAllowed("john", "10.0.0.1");
+        }
+        assertThrows(RateLimitExceededException.class, () -> limiter.checkAllowed("john", "10.0.0.1"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(21));
+
+        assertDoesNotThrow(() -> limiter.checkAllowed("john", "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Fully refilled buckets are evicted")
+    void evictsIdleBuckets() {
+        limiter.checkAllowed("john", "10.0.0.1");
+        assertEquals(1.0, meterRegistry.get("auth.login.rate_limiter.entries").tag("limit", "username").gauge().value());
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        limiter.evictIdle();
+
+        assertEquals(0.0, meterRegistry.get("auth.login.rate_limiter.entries").tag("limit", "username").gauge().value());
+        assertEquals(0.0, meterRegistry.get("auth.login.rate_limiter.entries").tag("limit", "ip").gauge().value());
+    }
+}
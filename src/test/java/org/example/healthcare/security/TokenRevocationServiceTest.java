@@ -0,0 +1,94 @@
+package org.example.healthcare.security;
+
+import org.example.healthcare.models.sql.RevokedToken;
+import org.example.healthcare.repository.sql.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenRevocationService(revokedTokenRepository, 1000, 0.01, Duration.ofSeconds(60));
+    }
+
+    @Test
+    @DisplayName("A failed startup load is retried by the next sync, not the hourly purge")
+    void failedLoadRetriedBySync() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(token("jti-1")));
+
+        service.loadRevokedTokens();
+        assertFalse(service.isLoaded());
+
+        service.syncRevocations();
+
+        assertTrue(service.isLoaded());
+        assertTrue(service.isRevoked("jti-1"));
+        verify(revokedTokenRepository, never()).findByRevokedAtAfterAndExpiresAtAfter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Sync picks up tokens revoked on other nodes, looking back by the overlap")
+    void syncPicksUpOtherNodes() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        when(revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(token("jti-2")));
+        service.loadRevokedTokens();
+        assertFalse(service.isRevoked("jti-2"));
+
+        service.syncRevocations();
+
+        assertTrue(service.isRevoked("jti-2"));
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(revokedTokenRepository).findByRevokedAtAfterAndExpiresAtAfter(since.capture(), now.capture());
+        assertFalse(since.getValue().isAfter(now.getValue().minusSeconds(60)));
+    }
+
+    @Test
+    @DisplayName("A failed sync keeps its start point, so the next one covers the gap")
+    void failedSyncKeepsStartPoint() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        when(revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of());
+        service.loadRevokedTokens();
+
+        service.syncRevocations();
+        service.syncRevocations();
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(revokedTokenRepository, times(2)).findByRevokedAtAfterAndExpiresAtAfter(since.capture(), any());
+        assertEquals(since.getAllValues().get(0), since.getAllValues().get(1));
+        assertTrue(service.isLoaded());
+    }
+
+    private static RevokedToken token(String tokenId) {
+        return RevokedToken.builder()
+                .tokenId(tokenId).username("john")
+                .expiresAt(LocalDateTime.now().plusHours(1)).revokedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.healthcare.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.helpers.AdminServiceTestHelper;
+import org.example.healthcare.mapper.AdminMapper;
+import org.example.healthcare.repository.nosql.MedicalRecordRepository;
+import org.example.healthcare.repository.nosql.PrescriptionRepository;
+import org.example.healthcare.repository.sql.AdminRepository;
+import org.example.healthcare.repository.sql.AppointmentRepository;
+import org.example.healthcare.repository.sql.DoctorAvailabilityRepository;
+import org.example.healthcare.repository.sql.DoctorRepository;
+import org.example.healthcare.repository.sql.NameChangeEventRepository;
+import org.example.healthcare.repository.sql.PatientRepository;
+import org.example.healthcare.repository.sql.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class AdminServiceTest {
+
+    @Mock private AppointmentRepository appointmentRepository;
+    @Mock private DoctorAvailabilityRepository availabilityRepository;
+    @Mock private DoctorRepository doctorRepository;
+    @Mock private PatientRepository patientRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private PrescriptionRepository prescriptionRepository;
+    @Mock private MedicalRecordRepository medicalRecordRepository;
+    @Mock private AdminRepository adminRepository;
+    @Mock private NameChangeEventRepository nameChangeEventRepository;
+    @Mock private PatientHistoryCache historyCache;
+
+    @Mock // the reset flushes, then restarts the AUTO_INCREMENT counters with native ALTER TABLEs
+    private EntityManager entityManager;
+
+    private AdminServiceTestHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        AdminService adminService = new AdminService(appointmentRepository, availabilityRepository, doctorRepository,
+                patientRepository, userRepository, prescriptionRepository, medicalRecordRepository, adminRepository,
+                nameChangeEventRepository, new AdminMapper(), historyCache);
+        ReflectionTestUtils.setField(adminService, "entityManager", entityManager);
+        helper = new AdminServiceTestHelper(adminService, appointmentRepository, doctorRepository, userRepository,
+                nameChangeEventRepository, historyCache, entityManager);
+    }
+
+    @Test
+    @DisplayName("Reset clears every cached patient history, since patient ids are reused afterwards")
+    void reset_clearsHistoryCache() {
+        helper.reset_clearsPatientHistoryCache();
+    }
+
+    @Test
+    @DisplayName("Reset empties the name change outbox before the rows its events point at")
+    void reset_clearsOutbox() {
+        helper.reset_clearsNameChangeOutbox();
+    }
+
+    @Test
+    @DisplayName("A failed reset is wrapped and never reaches the counter reset")
+    void reset_failure() {
+        helper.reset_failure_wrapped();
+    }
+}
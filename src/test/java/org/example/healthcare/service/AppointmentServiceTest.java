@@ -1,5 +1,6 @@
 package org.example.healthcare.service;
 
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.helpers.AppointmentServiceTestHelper;
 import org.example.healthcare.mapper.AppointmentMapper;
 import org.example.healthcare.repository.sql.AppointmentRepository;
@@ -23,6 +24,7 @@ class AppointmentServiceTest {
     @Mock private DoctorRepository doctorRepository;
     @Mock private DoctorAvailabilityRepository availabilityRepository;
     @Mock private CallerGuard callerGuard;
+    @Mock private PatientHistoryCache historyCache;
 
     private AppointmentServiceTestHelper helper;
 
@@ -30,7 +32,7 @@ class AppointmentServiceTest {
     void setUp() {
         helper = new AppointmentServiceTestHelper(
                 appointmentRepository, patientRepository, doctorRepository,
-                availabilityRepository, new AppointmentMapper(), callerGuard);
+                availabilityRepository, new AppointmentMapper(), callerGuard, historyCache);
     }
 
     // ── Group related tests with @Nested for readability ──
@@ -0,0 +1,91 @@
+package org.example.healthcare.service;
+
+import org.example.healthcare.cache.DoctorCacheUpdater;
+import org.example.healthcare.helpers.AuthServiceTestHelper;
+import org.example.healthcare.mapper.DoctorMapper;
+import org.example.healthcare.repository.sql.AdminRepository;
+import org.example.healthcare.repository.sql.DoctorRepository;
+import org.example.healthcare.repository.sql.PatientRepository;
+import org.example.healthcare.repository.sql.UserRepository;
+import org.example.healthcare.security.JwtTokenProvider;
+import org.example.healthcare.security.LoginRateLimiter;
+import org.example.healthcare.security.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    // Base64 of a 256-bit test key
+    private static final String TEST_SECRET = "dGVzdC1zZWNyZXQtZm9yLWF1dGgtc2VydmljZS10ZXN0cy0yNTYtYml0cw==";
+
+    @Mock private AuthenticationManager authenticationManager;
+    @Mock private UserRepository userRepository;
+    @Mock private AdminRepository adminRepository;
+    @Mock private DoctorRepository doctorRepository;
+    @Mock private PatientRepository patientRepository;
+    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private TokenRevocationService tokenRevocationService;
+    @Mock private LoginRateLimiter loginRateLimiter;
+    @Mock private UserUniquenessService userUniquenessService;
+    @Mock private DoctorCacheUpdater doctorCacheUpdater;
+
+    private AuthServiceTestHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", TEST_SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationMs", 900_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpirationMs", 604_800_000L);
+
+        AuthService authService = new AuthService(authenticationManager, userRepository, adminRepository,
+                doctorRepository, patientRepository, passwordEncoder, jwtTokenProvider, tokenRevocationService,
+                loginRateLimiter, userUniquenessService, new DoctorMapper(), doctorCacheUpdater);
+        helper = new AuthServiceTestHelper(authService, userRepository, patientRepository,
+                jwtTokenProvider, tokenRevocationService);
+    }
+
+    @Test
+    @DisplayName("Refresh revokes the presented token and issues a new pair")
+    void refresh_rotates() {
+        helper.refresh_rotatesToken();
+    }
+
+    @Test
+    @DisplayName("Refresh rejects a revoked token")
+    void refresh_revoked() {
+        helper.refresh_revokedToken_throwsException();
+    }
+
+    @Test
+    @DisplayName("Concurrent reuse of one refresh token issues tokens only once")
+    void refresh_concurrentReuse() {
+        helper.refresh_concurrentReuse_onlyOneSucceeds();
+    }
+
+    @Test
+    @DisplayName("Refresh rejects an access token")
+    void refresh_accessToken() {
+        helper.refresh_accessToken_throwsException();
+    }
+
+    @Test
+    @DisplayName("Logout revokes both the access and the refresh token")
+    void logout_revokesBoth() {
+        helper.logout_revokesBothTokens();
+    }
+
+    @Test
+    @DisplayName("Logout ignores a refresh token belonging to another user")
+    void logout_foreignRefresh() {
+        helper.logout_foreignRefreshToken_revokesAccessOnly();
+    }
+}
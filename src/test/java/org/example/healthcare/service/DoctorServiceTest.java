@@ -1,5 +1,7 @@
 package org.example.healthcare.service;
 
+import org.example.healthcare.cache.DoctorCacheUpdater;
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.helpers.DoctorServiceTestHelper;
 import org.example.healthcare.mapper.DoctorMapper;
 import org.example.healthcare.repository.sql.AppointmentRepository;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 
 @ExtendWith(MockitoExtension.class) // Enables Mockito annotations (@Mock, etc.)
 class DoctorServiceTest {
@@ -28,12 +31,21 @@ class DoctorServiceTest {
     @Mock // deleteDoctor(s) clears the doctor's appointments first
     private AppointmentRepository appointmentRepository;
 
+    @Mock // updateDoctor queues renames for the Mongo copies of the name
+    private NamePropagationService namePropagationService;
+
+    @Mock // deleteDoctor(s) invalidates cached patient histories
+    private PatientHistoryCache historyCache;
+
+    @Mock // No caches configured: list reads go straight to the repository
+    private CacheManager cacheManager;
+
     private DoctorServiceTestHelper helper;
 
     @BeforeEach
     void setUp() {
         // Real mapper (no logic to mock), fake repository
-        helper = new DoctorServiceTestHelper(doctorRepository, doctorAvailabilityRepository, appointmentRepository, userRepository, new DoctorMapper());
+        helper = new DoctorServiceTestHelper(doctorRepository, doctorAvailabilityRepository, appointmentRepository, userRepository, new DoctorMapper(), namePropagationService, historyCache, new DoctorCacheUpdater(cacheManager));
     }
 
     @Test
@@ -66,6 +78,12 @@ class DoctorServiceTest {
         helper.updateDoctor_success();
     }
 
+    @Test
+    @DisplayName("Update doctor without a rename does not queue name propagation")
+    void updateDoctor_sameName() {
+        helper.updateDoctor_sameName_doesNotEnqueue();
+    }
+
     @Test
     @DisplayName("Update doctor throws exception when not found")
     void updateDoctor_notFound() {
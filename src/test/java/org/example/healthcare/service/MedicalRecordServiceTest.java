@@ -0,0 +1,121 @@
+package org.example.healthcare.service;
+
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.helpers.MedicalRecordServiceTestHelper;
+import org.example.healthcare.mapper.AppointmentMapper;
+import org.example.healthcare.mapper.MedicalRecordMapper;
+import org.example.healthcare.mapper.PrescriptionMapper;
+import org.example.healthcare.repository.nosql.MedicalRecordRepository;
+import org.example.healthcare.repository.sql.AppointmentRepository;
+import org.example.healthcare.repository.sql.DoctorRepository;
+import org.example.healthcare.repository.sql.PatientRepository;
+import org.example.healthcare.security.CallerGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@ExtendWith(MockitoExtension.class)
+class MedicalRecordServiceTest {
+
+    @Mock private MedicalRecordRepository medicalRecordRepository;
+    @Mock private AppointmentRepository appointmentRepository;
+    @Mock private PatientRepository patientRepository;
+    @Mock private DoctorRepository doctorRepository;
+    @Mock private CallerGuard callerGuard;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private PatientHistoryCache historyCache;
+
+    private ExecutorService historyExecutor;
+    private MedicalRecordServiceTestHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        historyExecutor = Executors.newFixedThreadPool(3);
+        MedicalRecordService medicalRecordService = new MedicalRecordService(medicalRecordRepository,
+                appointmentRepository, patientRepository, doctorRepository, new MedicalRecordMapper(),
+                new PrescriptionMapper(), new AppointmentMapper(), callerGuard, historyExecutor,
+                transactionManager, mongoTemplate, historyCache);
+        ReflectionTestUtils.setField(medicalRecordService, "recordsTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(medicalRecordService, "appointmentsTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(medicalRecordService, "prescriptionsTimeout", Duration.ofSeconds(2));
+        helper = new MedicalRecordServiceTestHelper(medicalRecordService, medicalRecordRepository, patientRepository,
+                appointmentRepository, mongoTemplate, transactionManager, historyCache, callerGuard);
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("History assembles the records, appointments and prescriptions fetched concurrently")
+    void history_assemblesSections() {
+        helper.history_assemblesAllSections();
+    }
+
+    @Test
+    @DisplayName("History queries carry their section timeout: Mongo maxTime and a JDBC transaction timeout")
+    void history_queriesCarryTimeouts() {
+        helper.history_queriesCarrySectionTimeouts();
+    }
+
+    @Test
+    @DisplayName("Keyset page queries carry their section timeout; unrequested sections are not fetched")
+    void historyPage_queriesCarryTimeouts() {
+        helper.historyPage_keysetQueriesCarrySectionTimeouts();
+    }
+
+    @Test
+    @DisplayName("A section slower than its timeout fails the history and nothing is cached")
+    void history_slowSection_timesOut() {
+        helper.history_slowSection_timesOut();
+    }
+
+    @Test
+    @DisplayName("A failed section fails the whole history and nothing is cached")
+    void history_failedSection_fails() {
+        helper.history_failedSection_failsHistory();
+    }
+
+    @Test
+    @DisplayName("A cached history is returned without querying")
+    void history_cached_skipsQueries() {
+        helper.history_cached_skipsQueries();
+    }
+
+    @Test
+    @DisplayName("History reads project the fields the responses map")
+    void history_projection() {
+        helper.history_projectsMappedFields();
+    }
+
+    @Test
+    @DisplayName("Doctor record summaries read through the projected query")
+    void doctorRecordSummaries() {
+        helper.doctorRecordSummaries_useProjection();
+    }
+
+    @Test
+    @DisplayName("Doctor record summaries are refused to other doctors before any query")
+    void doctorRecordSummaries_notOwner() {
+        helper.doctorRecordSummaries_notOwner_noQuery();
+    }
+
+    @Test
+    @DisplayName("A database failure reading doctor record summaries is wrapped")
+    void doctorRecordSummaries_databaseFailure() {
+        helper.doctorRecordSummaries_databaseFailure_wrapped();
+    }
+}
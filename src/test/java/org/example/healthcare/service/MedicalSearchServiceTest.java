@@ -0,0 +1,67 @@
+package org.example.healthcare.service;
+
+import org.example.healthcare.helpers.MedicalSearchServiceTestHelper;
+import org.example.healthcare.security.CallerGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class MedicalSearchServiceTest {
+
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private CallerGuard callerGuard;
+
+    private MedicalSearchServiceTestHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        helper = new MedicalSearchServiceTestHelper(mongoTemplate, callerGuard);
+    }
+
+    @Test
+    @DisplayName("Patient search puts the patient scope in the same filter as $text, in both collections")
+    void searchPatient_scope() {
+        helper.searchPatient_scopeInTextQuery();
+    }
+
+    @Test
+    @DisplayName("Doctor search is scoped to the doctor")
+    void searchDoctor_scope() {
+        helper.searchDoctor_scopeInTextQuery();
+    }
+
+    @Test
+    @DisplayName("Search by a caller who may not see the patient runs no query")
+    void searchPatient_notOwner() {
+        helper.searchPatient_notOwner_noQuery();
+    }
+
+    @Test
+    @DisplayName("Hits from both collections merge by score relative to each collection's best hit")
+    void search_relativeScores() {
+        helper.search_mergesByRelativeScore();
+    }
+
+    @Test
+    @DisplayName("The merged hits are capped at the limit")
+    void search_limit() {
+        helper.search_limitsMergedHits();
+    }
+
+    @Test
+    @DisplayName("Blank terms and out-of-range limits are rejected")
+    void search_invalidArguments() {
+        helper.search_invalidArguments_rejected();
+    }
+
+    @Test
+    @DisplayName("A database failure is wrapped")
+    void search_databaseFailure() {
+        helper.search_databaseFailure_wrapped();
+    }
+}
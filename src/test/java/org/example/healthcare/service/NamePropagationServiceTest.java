@@ -0,0 +1,72 @@
+package org.example.healthcare.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.helpers.NamePropagationServiceTestHelper;
+import org.example.healthcare.repository.sql.DoctorRepository;
+import org.example.healthcare.repository.sql.NameChangeEventRepository;
+import org.example.healthcare.repository.sql.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.example.healthcare.helpers.NamePropagationServiceTestHelper.*;
+
+@ExtendWith(MockitoExtension.class)
+class NamePropagationServiceTest {
+
+    @Mock private NameChangeEventRepository eventRepository;
+    @Mock private DoctorRepository doctorRepository;
+    @Mock private PatientRepository patientRepository;
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private PatientHistoryCache historyCache;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private NamePropagationServiceTestHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        NamePropagationService propagationService = new NamePropagationService(eventRepository, doctorRepository,
+                patientRepository, mongoTemplate, historyCache, transactionManager, meterRegistry,
+                BATCH_SIZE, MAX_ATTEMPTS, INITIAL_BACKOFF);
+        helper = new NamePropagationServiceTestHelper(propagationService, eventRepository, doctorRepository,
+                patientRepository, mongoTemplate, historyCache, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("A doctor rename is applied to both collections, marked done and clears every cached history")
+    void drain_doctorRename() {
+        helper.drain_doctorRename_appliedAndMarkedDone();
+    }
+
+    @Test
+    @DisplayName("A patient rename clears only that patient's cached history")
+    void drain_patientRename() {
+        helper.drain_patientRename_invalidatesOnlyThatPatient();
+    }
+
+    @Test
+    @DisplayName("A full batch makes the worker claim again")
+    void drain_fullBatch() {
+        helper.drain_fullBatch_claimsAgain();
+    }
+
+    @Test
+    @DisplayName("A failed batch is rescheduled with a doubling backoff")
+    void drain_failure_backoff() {
+        helper.drain_failure_retriesWithGrowingBackoff();
+    }
+
+    @Test
+    @DisplayName("A batch failing at max attempts is marked failed and not retried")
+    void drain_failure_terminal() {
+        helper.drain_failureAtMaxAttempts_markedFailed();
+    }
+}
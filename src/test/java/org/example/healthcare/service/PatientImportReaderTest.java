@@ -0,0 +1,71 @@
+package org.example.healthcare.service;
+
+import org.example.healthcare.dto.request.RegisterPatientRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientImportReaderTest {
+
+    private static PatientImportReader csv(String body) {
+        return reader(body, PatientImportService.Format.CSV);
+    }
+
+    private static PatientImportReader ndjson(String body) {
+        return reader(body, PatientImportService.Format.NDJSON);
+    }
+
+    private static PatientImportReader reader(String body, PatientImportService.Format format) {
+        return new PatientImportReader(new BufferedReader(new StringReader(body)), format,
+                JsonMapper.builder().build().readerFor(RegisterPatientRequest.class));
+    }
+
+    @Test
+    @DisplayName("CSV columns are matched by header name, with quoted commas and doubled quotes")
+    void csv_quotedFields() throws IOException {
+        PatientImportReader reader = csv("""
+                Address,Name,Username,Email,Password,DateOfBirth
+                "12 ""Main"" St, Apt 4","Doe, John",jdoe,jdoe@example.com,secret,1990-05-15
+                """);
+
+        PatientImportReader.Row row = reader.next();
+
+        assertNull(row.error());
+        assertEquals(2, row.number());
+        assertEquals("12 \"Main\" St, Apt 4", row.request().getAddress());
+        assertEquals("Doe, John", row.request().getName());
+        assertEquals(LocalDate.of(1990, 5, 15), row.request().getDateOfBirth());
+        assertNull(row.request().getPhone());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Empty CSV input is rejected as a missing header")
+    void csv_empty() {
+        assertThrows(IllegalArgumentException.class, () -> csv("\n\n").readHeader());
+    }
+
+    @Test
+    @DisplayName("An NDJSON line that is the literal null is a row error, not a request")
+    void ndjson_nullLine() throws IOException {
+        PatientImportReader reader = ndjson("""
+                null
+                {"username":"jdoe","email":"jdoe@example.com"}
+                """);
+
+        PatientImportReader.Row row = reader.next();
+        assertEquals(1, row.number());
+        assertNull(row.request());
+        assertEquals("Expected a JSON object", row.error());
+
+        assertEquals("jdoe", reader.next().request().getUsername());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.healthcare.service;
+
+import jakarta.validation.Validation;
+import org.example.healthcare.helpers.PatientImportServiceTestHelper;
+import org.example.healthcare.repository.sql.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@ExtendWith(MockitoExtension.class)
+class PatientImportServiceTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private UserUniquenessService userUniquenessService;
+
+    private final ExecutorService hashingExecutor = Executors.newFixedThreadPool(2);
+
+    private PatientImportService importService;
+    private PatientImportServiceTestHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        importService = new PatientImportService(userRepository, jdbcTemplate, namedJdbcTemplate, transactionManager,
+                passwordEncoder, Validation.buildDefaultValidatorFactory().getValidator(), jsonMapper, userUniquenessService,
+                hashingExecutor);
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+        helper = new PatientImportServiceTestHelper(importService, userRepository, jdbcTemplate, namedJdbcTemplate,
+                transactionManager, passwordEncoder, userUniquenessService, jsonMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("CSV rows are created, rejected as invalid or flagged as duplicates row by row")
+    void csv_mixedRows() throws IOException {
+        helper.csv_mixedRows_reportsEachRow();
+    }
+
+    @Test
+    @DisplayName("CSV with a missing column fails before the report is opened")
+    void csv_missingColumn() {
+        helper.csv_missingColumn_throwsBeforeOpeningOutput();
+    }
+
+    @Test
+    @DisplayName("Malformed NDJSON lines and existing emails are reported per row")
+    void ndjson_malformedAndExisting() throws IOException {
+        helper.ndjson_malformedAndExistingRows_reportedPerRow();
+    }
+
+    @Test
+    @DisplayName("Each batch commits in its own transaction")
+    void ndjson_batches() throws IOException {
+        helper.ndjson_commitsEachBatchSeparately();
+    }
+
+    @Test
+    @DisplayName("A concurrent registration rolls the batch back and marks its rows failed")
+    void ndjson_concurrentRegistration() throws IOException {
+        helper.ndjson_concurrentRegistration_failsBatch();
+    }
+
+    @Test
+    @DisplayName("A failed password hash fails only its row; the rest of the batch is inserted")
+    void ndjson_hashFailure() throws IOException {
+        helper.ndjson_hashFailure_failsOnlyThatRow();
+    }
+}
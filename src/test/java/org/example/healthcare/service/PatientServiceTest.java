@@ -1,5 +1,6 @@
 package org.example.healthcare.service;
 
+import org.example.healthcare.cache.PatientHistoryCache;
 import org.example.healthcare.helpers.PatientServiceTestHelper;
 import org.example.healthcare.mapper.PatientMapper;
 import org.example.healthcare.repository.sql.AppointmentRepository;
@@ -28,11 +29,17 @@ class PatientServiceTest {
     @Mock // updatePatient checks the caller owns the record
     private CallerGuard callerGuard;
 
+    @Mock // updatePatient queues renames for the Mongo copies of the name
+    private NamePropagationService namePropagationService;
+
+    @Mock // deletePatient(s) drops the patient's cached history
+    private PatientHistoryCache historyCache;
+
     private PatientServiceTestHelper helper;
 
     @BeforeEach
     void setUp() {
-        helper = new PatientServiceTestHelper(patientRepository, appointmentRepository, userRepository, callerGuard, new PatientMapper());
+        helper = new PatientServiceTestHelper(patientRepository, appointmentRepository, userRepository, callerGuard, new PatientMapper(), namePropagationService, historyCache);
     }
 
     @Test
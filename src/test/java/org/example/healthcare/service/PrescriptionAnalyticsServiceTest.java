@@ -0,0 +1,59 @@
+package org.example.healthcare.service;
+
+import org.example.healthcare.helpers.PrescriptionAnalyticsServiceTestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class PrescriptionAnalyticsServiceTest {
+
+    @Mock private MongoTemplate mongoTemplate;
+
+    private PrescriptionAnalyticsServiceTestHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        helper = new PrescriptionAnalyticsServiceTestHelper(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("A from/to range bounds prescriptionDate at both ends")
+    void topMedicines_dateRange() {
+        helper.topMedicines_dateRange_boundsBothEnds();
+    }
+
+    @Test
+    @DisplayName("A 'to' without 'from' still bounds prescriptionDate")
+    void topMedicines_upperBoundOnly() {
+        helper.topMedicines_upperBoundOnly();
+    }
+
+    @Test
+    @DisplayName("Grouping picks the group key and each group is sliced to the top N")
+    void topMedicines_groupAndSlice() {
+        helper.topMedicines_groupsAndSlicesTopN();
+    }
+
+    @Test
+    @DisplayName("Ranked groups map to responses in pipeline order")
+    void topMedicines_mapsResult() {
+        helper.topMedicines_mapsRankedGroups();
+    }
+
+    @Test
+    @DisplayName("Out-of-range top and a reversed date range are rejected")
+    void topMedicines_invalidArguments() {
+        helper.topMedicines_invalidArguments_rejected();
+    }
+
+    @Test
+    @DisplayName("A database failure is wrapped")
+    void topMedicines_databaseFailure() {
+        helper.topMedicines_databaseFailure_wrapped();
+    }
+}
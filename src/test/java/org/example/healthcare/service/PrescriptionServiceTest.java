@@ -0,0 +1,81 @@
+package org.example.healthcare.service;
+
+import org.example.healthcare.cache.PatientHistoryCache;
+import org.example.healthcare.helpers.PrescriptionServiceTestHelper;
+import org.example.healthcare.mapper.PrescriptionMapper;
+import org.example.healthcare.repository.nosql.PrescriptionRepository;
+import org.example.healthcare.repository.sql.AppointmentRepository;
+import org.example.healthcare.security.CallerGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class PrescriptionServiceTest {
+
+    @Mock private PrescriptionRepository prescriptionRepository;
+    @Mock private AppointmentRepository appointmentRepository;
+    @Mock private CallerGuard callerGuard;
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private PatientHistoryCache historyCache;
+
+    private PrescriptionServiceTestHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        helper = new PrescriptionServiceTestHelper(
+                prescriptionRepository, appointmentRepository, new PrescriptionMapper(), callerGuard, mongoTemplate, historyCache);
+    }
+
+    @Test
+    @DisplayName("Create prescription inserts once without a prior lookup")
+    void createPrescription_success() {
+        helper.createPrescription_success();
+    }
+
+    @Test
+    @DisplayName("Second prescription for an appointment is rejected by the unique index")
+    void createPrescription_duplicate() {
+        helper.createPrescription_duplicate_throwsException();
+    }
+
+    @Test
+    @DisplayName("Create prescription rejects appointments that are not completed")
+    void createPrescription_notCompleted() {
+        helper.createPrescription_notCompleted_throwsException();
+    }
+
+    @Test
+    @DisplayName("Create prescription throws when appointment not found")
+    void createPrescription_appointmentNotFound() {
+        helper.createPrescription_appointmentNotFound_throwsException();
+    }
+
+    @Test
+    @DisplayName("Batch create validates in memory and bulk-inserts the valid items")
+    void createPrescriptions_mixedBatch() {
+        helper.createPrescriptions_mixedBatch_returnsPerItemResults();
+    }
+
+    @Test
+    @DisplayName("Patient prescription summaries use the projected query")
+    void getPatientPrescriptionSummaries() {
+        helper.getPatientPrescriptionSummaries_usesProjection();
+    }
+
+    @Test
+    @DisplayName("Doctor prescription summaries read through the projected query")
+    void getDoctorPrescriptionSummaries() {
+        helper.getDoctorPrescriptionSummaries_usesProjection();
+    }
+
+    @Test
+    @DisplayName("Doctor prescription summaries are refused to other doctors before any query")
+    void getDoctorPrescriptionSummaries_notOwner() {
+        helper.getDoctorPrescriptionSummaries_notOwner_noQuery();
+    }
+}
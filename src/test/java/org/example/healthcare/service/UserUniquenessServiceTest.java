@@ -0,0 +1,161 @@
+package org.example.healthcare.service;
+
+import org.example.healthcare.exception.DuplicateResourceException;
+import org.example.healthcare.helpers.TestDataHelper;
+import org.example.healthcare.models.enums.Role;
+import org.example.healthcare.repository.sql.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserUniquenessServiceTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private UserUniquenessService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserUniquenessService(userRepository, jdbcTemplate, 1_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Before seeding finishes every check goes to the database")
+    void unseeded_checksDatabase() {
+        when(userRepository.findByUsernameOrEmail("newuser", "new@example.com")).thenReturn(List.of());
+
+        service.assertAvailable("newuser", "new@example.com");
+
+        verify(userRepository).findByUsernameOrEmail("newuser", "new@example.com");
+        assertFalse(service.isFilterActive());
+    }
+
+    @Test
+    @DisplayName("Once seeded, an unseen username and email skip the database")
+    void seeded_unseenName_skipsDatabase() throws InterruptedException {
+        seedWith("jdoe", "jdoe@example.com");
+
+        service.assertAvailable("newuser", "new@example.com");
+
+        assertTrue(service.isFilterActive());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("A seeded username in different case is confirmed taken by the database")
+    void seeded_takenUsername_throws() throws InterruptedException {
+        seedWith("jdoe", "jdoe@example.com");
+        when(userRepository.findByUsernameOrEmail("JDoe", "other@example.com"))
+                .thenReturn(List.of(TestDataHelper.createUser(1L, "jdoe", Role.PATIENT)));
+
+        DuplicateResourceException ex = assertThrows(DuplicateResourceException.class,
+                () -> service.assertAvailable("JDoe", "other@example.com"));
+
+        assertEquals("Username already exists", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("A match on email only is reported as a taken email")
+    void takenEmail_throws() {
+        when(userRepository.findByUsernameOrEmail("newuser", "jdoe@healthcare.com"))
+                .thenReturn(List.of(TestDataHelper.createUser(1L, "jdoe", Role.PATIENT)));
+
+        DuplicateResourceException ex = assertThrows(DuplicateResourceException.class,
+                () -> service.assertAvailable("newuser", "jdoe@healthcare.com"));
+
+        assertEquals("Email already exists", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Registrations recorded after seeding are checked against the database")
+    void recorded_goesToDatabase() throws InterruptedException {
+        seedWith("jdoe", "jdoe@example.com");
+        service.record("alee", "alee@example.com");
+        when(userRepository.findByUsernameOrEmail("alee", "fresh@example.com")).thenReturn(List.of());
+
+        service.assertAvailable("alee", "fresh@example.com");
+
+        verify(userRepository).findByUsernameOrEmail("alee", "fresh@example.com");
+    }
+
+    @Test
+    @DisplayName("A failed seed finishes without activating the filter")
+    void seedFailure_keepsDatabaseChecks() throws InterruptedException {
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+        when(userRepository.findByUsernameOrEmail("newuser", "new@example.com")).thenReturn(List.of());
+
+        service.seed();
+        awaitSeed();
+        service.assertAvailable("newuser", "new@example.com");
+
+        assertFalse(service.isFilterActive());
+        verify(userRepository).findByUsernameOrEmail("newuser", "new@example.com");
+    }
+
+    @Test
+    @DisplayName("Seeding reads the users table in id pages until a short page")
+    void seed_pagesById() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        long[] id = {0};
+        when(rs.getString("username")).thenAnswer(invocation -> "user" + id[0]);
+        when(rs.getString("email")).thenAnswer(invocation -> "user" + id[0] + "@example.com");
+        when(rs.getLong("id")).thenAnswer(invocation -> id[0]);
+        // A full first page, then one row after it
+        doAnswer(invocation -> {
+            long after = invocation.getArgument(2);
+            int rows = after == 0 ? 5000 : 1;
+            for (int i = 0; i < rows; i++) {
+                id[0] = after + i + 1;
+                invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+        service.seed();
+        awaitSeed();
+        service.assertAvailable("newuser", "new@example.com");
+
+        assertTrue(service.isFilterActive());
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(0L), eq(5000));
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(5000L), eq(5000));
+        verifyNoMoreInteractions(jdbcTemplate);
+        verifyNoInteractions(userRepository);
+    }
+
+    private void seedWith(String username, String email) throws InterruptedException {
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("username")).thenReturn(username);
+            when(rs.getString("email")).thenReturn(email);
+            when(rs.getLong("id")).thenReturn(1L);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+        service.seed();
+        awaitSeed();
+    }
+
+    // Seeding runs on its own virtual thread
+    private void awaitSeed() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!service.isSeedFinished()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Seeding did not finish");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.healthcare.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryCursorTest {
+
+    @Test
+    @DisplayName("Appointment cursor survives an encode/decode round trip")
+    void roundTripWithTime() {
+        HistoryCursor cursor = new HistoryCursor(LocalDate.of(2026, 3, 14), LocalTime.of(9, 30), "42");
+
+        assertEquals(cursor, HistoryCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    @DisplayName("Document cursor without a time survives an encode/decode round trip")
+    void roundTripWithoutTime() {
+        HistoryCursor cursor = new HistoryCursor(LocalDate.of(2025, 12, 1), null, "65f1c0a2e4b0a1b2c3d4e5f6");
+
+        HistoryCursor decoded = HistoryCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertNull(decoded.time());
+    }
+
+    @Test
+    @DisplayName("Encoded cursor is URL-safe")
+    void encodedIsUrlSafe() {
+        String encoded = new HistoryCursor(LocalDate.of(2026, 1, 1), LocalTime.of(23, 59), "9999999").encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    @DisplayName("Missing cursor means the first page")
+    void blankIsFirstPage() {
+        assertNull(HistoryCursor.decode(null));
+        assertNull(HistoryCursor.decode(""));
+    }
+
+    @Test
+    @DisplayName("Tampered cursor is rejected as a bad request")
+    void tamperedCursorRejected() {
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("not*base64"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("Zm9vYmFy"));
+    }
+}
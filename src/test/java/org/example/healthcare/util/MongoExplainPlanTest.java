@@ -0,0 +1,85 @@
+package org.example.healthcare.util;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Plans captured from explain() on findByPatientIdOrderByRecordDateDesc before and after the compound index
+class MongoExplainPlanTest {
+
+    private static final String SINGLE_FIELD_INDEX_PLAN = """
+            {"queryPlanner": {"namespace": "healthcare_db.medical_records",
+              "winningPlan": {"stage": "SORT", "sortPattern": {"recordDate": -1},
+                "inputStage": {"stage": "FETCH",
+                  "inputStage": {"stage": "IXSCAN", "keyPattern": {"patientId": 1}, "indexName": "patientId"}}}}}
+            """;
+
+    private static final String COMPOUND_INDEX_PLAN = """
+            {"queryPlanner": {"namespace": "healthcare_db.medical_records",
+              "winningPlan": {"stage": "FETCH",
+                "inputStage": {"stage": "IXSCAN",
+                  "keyPattern": {"patientId": 1, "recordDate": -1, "_id": -1},
+                  "indexName": "patient_recordDate_id", "direction": "forward"}}}}
+            """;
+
+    // Slot-based engine output wraps the classic tree in "queryPlan"
+    private static final String SBE_COMPOUND_INDEX_PLAN = """
+            {"queryPlanner": {"namespace": "healthcare_db.prescriptions",
+              "winningPlan": {"queryPlan": {"stage": "FETCH",
+                "inputStage": {"stage": "IXSCAN", "indexName": "doctor_prescriptionDate"}},
+                "slotBasedPlan": {"slots": "..."}}}}
+            """;
+
+    private static final String COLLECTION_SCAN_PLAN = """
+            {"queryPlanner": {"winningPlan": {"stage": "SORT",
+              "inputStage": {"stage": "COLLSCAN", "filter": {"doctorId": {"$eq": 7}}}}}}
+            """;
+
+    @Test
+    @DisplayName("Single-field index leaves an in-memory SORT stage")
+    void singleFieldIndexSortsInMemory() {
+        MongoExplainPlan plan = MongoExplainPlan.of(Document.parse(SINGLE_FIELD_INDEX_PLAN));
+
+        assertTrue(plan.hasBlockingSort());
+        assertEquals(List.of("patientId"), plan.indexNames());
+    }
+
+    @Test
+    @DisplayName("Compound index serves the sort with no SORT stage")
+    void compoundIndexAvoidsSort() {
+        MongoExplainPlan plan = MongoExplainPlan.of(Document.parse(COMPOUND_INDEX_PLAN));
+
+        assertFalse(plan.hasBlockingSort());
+        assertFalse(plan.hasCollectionScan());
+        assertEquals(List.of("patient_recordDate_id"), plan.indexNames());
+    }
+
+    @Test
+    @DisplayName("Slot-based engine plans are read through the queryPlan wrapper")
+    void slotBasedEnginePlan() {
+        MongoExplainPlan plan = MongoExplainPlan.of(Document.parse(SBE_COMPOUND_INDEX_PLAN));
+
+        assertFalse(plan.hasBlockingSort());
+        assertEquals(List.of("doctor_prescriptionDate"), plan.indexNames());
+    }
+
+    @Test
+    @DisplayName("Collection scan is detected")
+    void collectionScan() {
+        MongoExplainPlan plan = MongoExplainPlan.of(Document.parse(COLLECTION_SCAN_PLAN));
+
+        assertTrue(plan.hasCollectionScan());
+        assertTrue(plan.hasBlockingSort());
+        assertTrue(plan.indexNames().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Output without a winning plan is rejected")
+    void missingWinningPlan() {
+        assertThrows(IllegalArgumentException.class, () -> MongoExplainPlan.of(Document.parse("{\"ok\": 1}")));
+    }
+}